@@ -0,0 +1,286 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen.bench;
+
+import avtas.lmcp.lmcpgen.JavaMethods;
+import avtas.lmcp.lmcpgen.LmcpGen;
+import avtas.lmcp.lmcpgen.MDMCorpusGenerator;
+import avtas.lmcp.lmcpgen.MDMInfo;
+import avtas.lmcp.lmcpgen.MDMReader;
+import avtas.lmcp.lmcpgen.StructInfo;
+import avtas.lmcp.lmcpgen.TemplateListing;
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A self-contained benchmark of the generator pipeline: reading and checking MDMs, expanding and splitting
+ * templates, and generating a full package for each of the bundled targets, over synthetic MDM sets of different
+ * sizes.  Each benchmark is run for a number of warmup iterations that are not recorded, then for the measured
+ * iterations, and a table of the mean, minimum and maximum times is printed.  Run it with "ant bench".
+ * <p>
+ * Options:
+ * <pre>
+ *  -sizes 10,1000,10000        total struct counts of the synthetic MDM sets
+ *  -targets java,cpp,...       targets for the makePackage benchmark
+ *  -benchmarks readMDM,...     benchmarks to run: readMDM, checkMDMs, replaceTags, splitString, makePackage
+ *  -warmup 1                   unmeasured iterations
+ *  -iterations 3               measured iterations
+ *  -seed 1                     seed for the synthetic MDMs
+ *  -csv file                   also writes the results as CSV
+ * </pre>
+ *
+ * @author default
+ */
+public class GeneratorBenchmark {
+
+    /** the bundled targets: name, template listing and methods class */
+    static final String[][] TARGETS = {
+        {"java", "/templates/java.tl", "avtas.lmcp.lmcpgen.JavaMethods"},
+        {"cpp", "/templates/cpp.tl", "avtas.lmcp.lmcpgen.CppMethods"},
+        {"cs", "/templates/cs.tl", "avtas.lmcp.lmcpgen.CsMethods"},
+        {"py", "/templates/python.tl", "avtas.lmcp.lmcpgen.PythonMethods"},
+        {"rs", "/templates/rust.tl", "avtas.lmcp.lmcpgen.RustMethods"},
+        {"xsd", "/templates/xsd.tl", "avtas.lmcp.lmcpgen.XsdMethods"},
+        {"doc", "/templates/doc.tl", "avtas.lmcp.lmcpgen.DocMethods"},
+        {"aadl", "/templates/aadl.tl", "avtas.lmcp.lmcpgen.AadlMethods"},
+    };
+
+    /** one timed piece of work.  setUp is not timed. */
+    static abstract class Task {
+
+        void setUp() throws Exception {
+        }
+
+        abstract void run() throws Exception;
+    }
+
+    int[] sizes = {10, 1000, 10000};
+    List<String> targets = new ArrayList<String>();
+    List<String> benchmarks = Arrays.asList("readMDM", "checkMDMs", "replaceTags", "splitString", "makePackage");
+    int warmup = 1;
+    int iterations = 3;
+    long seed = 1;
+    File csv;
+    File workDir;
+
+    final StringBuilder results = new StringBuilder("benchmark,structs,target,iterations,mean_ms,min_ms,max_ms\n");
+
+    public static void main(String[] args) throws Exception {
+        GeneratorBenchmark bench = new GeneratorBenchmark();
+        for (String[] target : TARGETS) {
+            bench.targets.add(target[0]);
+        }
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equalsIgnoreCase("-sizes")) {
+                String[] splits = args[i + 1].split(",");
+                bench.sizes = new int[splits.length];
+                for (int j = 0; j < splits.length; j++) {
+                    bench.sizes[j] = Integer.parseInt(splits[j].trim());
+                }
+            }
+            else if (args[i].equalsIgnoreCase("-targets")) {
+                bench.targets = Arrays.asList(args[i + 1].split(","));
+            }
+            else if (args[i].equalsIgnoreCase("-benchmarks")) {
+                bench.benchmarks = Arrays.asList(args[i + 1].split(","));
+            }
+            else if (args[i].equalsIgnoreCase("-warmup")) {
+                bench.warmup = Integer.parseInt(args[i + 1]);
+            }
+            else if (args[i].equalsIgnoreCase("-iterations")) {
+                bench.iterations = Integer.parseInt(args[i + 1]);
+            }
+            else if (args[i].equalsIgnoreCase("-seed")) {
+                bench.seed = Long.parseLong(args[i + 1]);
+            }
+            else if (args[i].equalsIgnoreCase("-csv")) {
+                bench.csv = new File(args[i + 1]);
+            }
+        }
+        bench.workDir = Files.createTempDirectory("lmcpgen-bench").toFile();
+        try {
+            bench.runAll();
+        } finally {
+            delete(bench.workDir);
+        }
+        if (bench.csv != null) {
+            LmcpGen.writeFile(bench.csv, bench.results.toString());
+        }
+    }
+
+    void runAll() throws Exception {
+        System.out.println(String.format(Locale.ROOT, "%-12s %8s %-6s %5s %12s %12s %12s",
+                "benchmark", "structs", "target", "iter", "mean (ms)", "min (ms)", "max (ms)"));
+        for (int size : sizes) {
+            final File[] mdms = getCorpus(size).write(new File(workDir, "mdm" + size));
+
+            if (benchmarks.contains("readMDM")) {
+                measure("readMDM", size, "", new Task() {
+                    void run() throws Exception {
+                        read(mdms);
+                    }
+                });
+            }
+
+            if (benchmarks.contains("checkMDMs")) {
+                measure("checkMDMs", size, "", new Task() {
+                    MDMInfo[] infos;
+
+                    void setUp() throws Exception {
+                        // checkMDMs annotates the model, so every iteration checks a freshly read one
+                        infos = read(mdms);
+                    }
+
+                    void run() throws Exception {
+                        MDMReader.checkMDMs(infos);
+                    }
+                });
+            }
+
+            final MDMInfo[] infos = read(mdms);
+            MDMReader.checkMDMs(infos);
+            final String template = getStructTemplate();
+
+            if (benchmarks.contains("replaceTags")) {
+                measure("replaceTags", size, "java", new Task() {
+                    void run() throws Exception {
+                        File outfile = new File(workDir, "Struct.java");
+                        for (MDMInfo info : infos) {
+                            for (StructInfo st : info.structs) {
+                                LmcpGen.replaceTags(template, outfile, JavaMethods.class, infos, info, st, null);
+                            }
+                        }
+                    }
+                });
+            }
+
+            if (benchmarks.contains("splitString")) {
+                measure("splitString", size, "java", new Task() {
+                    void run() throws Exception {
+                        // splits the template at every tag, once per struct
+                        for (MDMInfo info : infos) {
+                            for (int i = 0; i < info.structs.length; i++) {
+                                String rest = template;
+                                while (true) {
+                                    String[] splits = LmcpGen.splitString(rest);
+                                    if (splits[1].isEmpty()) {
+                                        break;
+                                    }
+                                    rest = splits[2];
+                                }
+                            }
+                        }
+                    }
+                });
+            }
+
+            if (benchmarks.contains("makePackage")) {
+                for (String[] target : TARGETS) {
+                    if (!targets.contains(target[0])) {
+                        continue;
+                    }
+                    final URL listing = LmcpGen.class.getResource(target[1]);
+                    final Class<?> methodClass = Class.forName(target[2]);
+                    final File outputDir = new File(workDir, "out");
+                    measure("makePackage", size, target[0], new Task() {
+                        MDMInfo[] fresh;
+
+                        void setUp() throws Exception {
+                            delete(outputDir);
+                            fresh = read(mdms);
+                        }
+
+                        void run() throws Exception {
+                            LmcpGen.makePackage(fresh, outputDir, listing, methodClass,
+                                    Runtime.getRuntime().availableProcessors(), false);
+                        }
+                    });
+                }
+                delete(new File(workDir, "out"));
+            }
+        }
+    }
+
+    void measure(String name, int size, String target, Task task) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            task.setUp();
+            task.run();
+        }
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long total = 0;
+        for (int i = 0; i < iterations; i++) {
+            task.setUp();
+            long start = System.nanoTime();
+            task.run();
+            long nanos = System.nanoTime() - start;
+            min = Math.min(min, nanos);
+            max = Math.max(max, nanos);
+            total += nanos;
+        }
+        int n = Math.max(iterations, 1);
+        String line = String.format(Locale.ROOT, "%-12s %8d %-6s %5d %12.3f %12.3f %12.3f",
+                name, size, target, iterations, total / 1e6 / n, min == Long.MAX_VALUE ? 0 : min / 1e6, max / 1e6);
+        System.out.println(line);
+        results.append(String.format(Locale.ROOT, "%s,%d,%s,%d,%.3f,%.3f,%.3f\n",
+                name, size, target, iterations, total / 1e6 / n, min == Long.MAX_VALUE ? 0 : min / 1e6, max / 1e6));
+    }
+
+    /**
+     * returns the generator for a synthetic MDM set.  int16 and LmcpObject fields are left out, since not every
+     * target supports them.
+     */
+    MDMCorpusGenerator getCorpus(int size) {
+        MDMCorpusGenerator gen = new MDMCorpusGenerator();
+        gen.seed = seed;
+        gen.structCount = size;
+        gen.seriesCount = 2;
+        gen.shape = MDMCorpusGenerator.Shape.CHAIN;
+        gen.minFields = 3;
+        gen.maxFields = 8;
+        gen.objectWeight = 0;
+        gen.primitives.remove("int16");
+        return gen;
+    }
+
+    static MDMInfo[] read(File[] files) throws Exception {
+        MDMInfo[] infos = new MDMInfo[files.length];
+        for (int i = 0; i < files.length; i++) {
+            infos[i] = MDMReader.readMDM(files[i]);
+        }
+        return infos;
+    }
+
+    /** returns the Java template that is expanded once per struct */
+    static String getStructTemplate() throws Exception {
+        TemplateListing listing = TemplateListing.read(LmcpGen.class.getResource("/templates/java.tl"));
+        for (TemplateListing.Entry entry : listing.getEntries()) {
+            if (entry.kind == TemplateListing.Kind.PER_STRUCT) {
+                return entry.template.getSource();
+            }
+        }
+        throw new Exception("java.tl has no PER_STRUCT template");
+    }
+
+    static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,405 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dependencies among the structs and MDMs of a checked set of MDMs.  A struct depends on the struct it extends and
+ * on the structs and enums its fields use; an MDM depends on every other MDM that one of its structs depends on.
+ * Strongly connected components are found with Tarjan's algorithm, so cycles are found in linear time and the
+ * structs and MDMs can be listed with their dependencies first.
+ * <p>
+ * Structs may depend on each other in a cycle, such as a struct with a list of its own type, but MDMs may not.
+ * {@link #describeMDMCycles()} reports such a cycle along with the structs and fields that cause it.
+ *
+ * @author default
+ */
+public final class DependencyGraph {
+
+    /** one reason that a struct depends on another type: a field of that type, or extending it */
+    public static class Edge {
+
+        /** the struct that has the dependency */
+        public final StructInfo from;
+        /** the field that uses the type, or null if the struct extends it */
+        public final FieldInfo field;
+        /** the series of the type depended on */
+        public final String toSeries;
+        /** the name of the type depended on */
+        public final String toName;
+
+        Edge(StructInfo from, FieldInfo field, String toSeries, String toName) {
+            this.from = from;
+            this.field = field;
+            this.toSeries = toSeries;
+            this.toName = toName;
+        }
+
+        @Override
+        public String toString() {
+            if (field == null) {
+                return from.seriesName + "/" + from.name + " extends " + toSeries + "/" + toName;
+            }
+            return from.seriesName + "/" + from.name + "." + field.name + " uses " + toSeries + "/" + toName;
+        }
+    }
+
+    private final MDMInfo[] infos;
+    private final StructInfo[] structs;
+    private final Map<StructInfo, Integer> structIndex = new IdentityHashMap<StructInfo, Integer>();
+    private final Map<String, Integer> mdmIndex = new HashMap<String, Integer>();
+    /** the structs each struct depends on, by index */
+    private final int[][] structEdges;
+    /** the MDMs each MDM depends on, by index */
+    private final int[][] mdmEdges;
+    /** for each pair of MDMs with a dependency, the struct-level edges that cause it */
+    private final Map<Long, List<Edge>> causes = new HashMap<Long, List<Edge>>();
+
+    private final List<StructInfo> structOrder = new ArrayList<StructInfo>();
+    private final List<MDMInfo> mdmOrder = new ArrayList<MDMInfo>();
+    private final List<int[]> mdmComponents;
+    private final List<List<StructInfo>> structComponents = new ArrayList<List<StructInfo>>();
+
+    /**
+     * builds the graph of a set of MDMs whose field types have been resolved by MDMReader.checkMDMs.  Types that are
+     * not in the MDMs are ignored.
+     */
+    public DependencyGraph(MDMInfo[] infos) {
+        this.infos = infos;
+        ArrayList<StructInfo> all = new ArrayList<StructInfo>();
+        for (int i = 0; i < infos.length; i++) {
+            if (!mdmIndex.containsKey(infos[i].seriesName)) {
+                mdmIndex.put(infos[i].seriesName, i);
+            }
+            for (StructInfo st : infos[i].structs) {
+                structIndex.put(st, all.size());
+                all.add(st);
+            }
+        }
+        structs = all.toArray(new StructInfo[all.size()]);
+
+        Map<String, StructInfo> byName = new HashMap<String, StructInfo>();
+        for (StructInfo st : structs) {
+            String key = st.seriesName + "/" + st.name;
+            if (!byName.containsKey(key)) {
+                byName.put(key, st);
+            }
+        }
+
+        ArrayList<LinkedHashSet<Integer>> structDeps = new ArrayList<LinkedHashSet<Integer>>();
+        ArrayList<LinkedHashSet<Integer>> mdmDeps = new ArrayList<LinkedHashSet<Integer>>();
+        for (int i = 0; i < infos.length; i++) {
+            mdmDeps.add(new LinkedHashSet<Integer>());
+        }
+        for (int i = 0; i < structs.length; i++) {
+            StructInfo st = structs[i];
+            LinkedHashSet<Integer> deps = new LinkedHashSet<Integer>();
+            structDeps.add(deps);
+            ArrayList<Edge> edges = new ArrayList<Edge>();
+            if (!st.extends_name.isEmpty()) {
+                edges.add(new Edge(st, null, st.extends_series, st.extends_name));
+            }
+            for (FieldInfo f : st.fields) {
+                TypeKind kind = TypeKind.of(f);
+                if (kind == TypeKind.STRUCT || kind == TypeKind.ENUM) {
+                    edges.add(new Edge(st, f, f.seriesName, f.type));
+                }
+            }
+            Integer from = mdmIndex.get(st.seriesName);
+            for (Edge e : edges) {
+                StructInfo target = byName.get(e.toSeries + "/" + e.toName);
+                if (target != null) {
+                    deps.add(structIndex.get(target));
+                }
+                Integer to = mdmIndex.get(e.toSeries);
+                if (from != null && to != null && !from.equals(to)) {
+                    mdmDeps.get(from).add(to);
+                    Long pair = pairKey(from, to);
+                    List<Edge> list = causes.get(pair);
+                    if (list == null) {
+                        list = new ArrayList<Edge>();
+                        causes.put(pair, list);
+                    }
+                    list.add(e);
+                }
+            }
+        }
+        structEdges = toArrays(structDeps);
+        mdmEdges = toArrays(mdmDeps);
+
+        for (int[] component : new Tarjan(structEdges).components) {
+            ArrayList<StructInfo> list = new ArrayList<StructInfo>();
+            for (int i : component) {
+                list.add(structs[i]);
+                structOrder.add(structs[i]);
+            }
+            structComponents.add(Collections.unmodifiableList(list));
+        }
+        mdmComponents = new Tarjan(mdmEdges).components;
+        for (int[] component : mdmComponents) {
+            for (int i : component) {
+                mdmOrder.add(infos[i]);
+            }
+        }
+    }
+
+    /** returns the names of the other series that the MDM depends on directly */
+    public Set<String> getMDMDependencies(MDMInfo info) {
+        LinkedHashSet<String> set = new LinkedHashSet<String>();
+        Integer index = mdmIndex.get(info.seriesName);
+        if (index != null) {
+            for (int dep : mdmEdges[index]) {
+                set.add(infos[dep].seriesName);
+            }
+        }
+        return set;
+    }
+
+    /** returns the MDM and every MDM it depends on, directly or not, with each listed after its dependencies */
+    public List<MDMInfo> getDependencyClosure(MDMInfo info) {
+        ArrayList<MDMInfo> list = new ArrayList<MDMInfo>();
+        Integer index = mdmIndex.get(info.seriesName);
+        if (index == null) {
+            list.add(info);
+            return list;
+        }
+        boolean[] reached = new boolean[infos.length];
+        ArrayList<Integer> stack = new ArrayList<Integer>();
+        stack.add(index);
+        reached[index] = true;
+        while (!stack.isEmpty()) {
+            for (int dep : mdmEdges[stack.remove(stack.size() - 1)]) {
+                if (!reached[dep]) {
+                    reached[dep] = true;
+                    stack.add(dep);
+                }
+            }
+        }
+        for (int[] component : mdmComponents) {
+            for (int i : component) {
+                if (reached[i]) {
+                    list.add(infos[i]);
+                }
+            }
+        }
+        return list;
+    }
+
+    /** returns the MDMs with each one after the MDMs it depends on */
+    public List<MDMInfo> getMDMOrder() {
+        return Collections.unmodifiableList(mdmOrder);
+    }
+
+    /**
+     * returns the structs with each one after the structs it depends on.  Structs that depend on each other in a cycle
+     * are listed together, in the order they are declared.
+     */
+    public List<StructInfo> getStructOrder() {
+        return Collections.unmodifiableList(structOrder);
+    }
+
+    /** returns the groups of structs that depend on each other, in the same order as {@link #getStructOrder()} */
+    public List<List<StructInfo>> getStructComponents() {
+        return Collections.unmodifiableList(structComponents);
+    }
+
+    /** returns the MDMs of a cycle of MDM dependencies, or an empty list if there is none */
+    public List<MDMInfo> getMDMCycle() {
+        List<MDMInfo> cycle = new ArrayList<MDMInfo>();
+        for (int[] path : findMDMCycles()) {
+            for (int i : path) {
+                cycle.add(infos[i]);
+            }
+            break;
+        }
+        return cycle;
+    }
+
+    /** returns the struct-level edges that make one MDM depend on another */
+    public List<Edge> getCauses(MDMInfo from, MDMInfo to) {
+        Integer i = mdmIndex.get(from.seriesName);
+        Integer j = mdmIndex.get(to.seriesName);
+        List<Edge> list = i == null || j == null ? null : causes.get(pairKey(i, j));
+        return list == null ? Collections.<Edge>emptyList() : Collections.unmodifiableList(list);
+    }
+
+    /**
+     * returns a description of every cycle among the MDMs, giving the whole cycle and the structs and fields that
+     * cause each step, or null if there are none
+     */
+    public String describeMDMCycles() {
+        List<int[]> cycles = findMDMCycles();
+        if (cycles.isEmpty()) {
+            return null;
+        }
+        StringBuilder buf = new StringBuilder();
+        for (int[] path : cycles) {
+            if (buf.length() > 0) {
+                buf.append("\n");
+            }
+            buf.append("circular dependency among MDMs: ");
+            for (int i : path) {
+                buf.append(infos[i].seriesName).append(" -> ");
+            }
+            buf.append(infos[path[0]].seriesName);
+            for (int k = 0; k < path.length; k++) {
+                int from = path[k];
+                int to = path[(k + 1) % path.length];
+                buf.append("\n    ").append(infos[from].seriesName).append(" depends on ")
+                        .append(infos[to].seriesName).append(" because:");
+                for (Edge e : causes.get(pairKey(from, to))) {
+                    buf.append("\n        ").append(e);
+                }
+            }
+        }
+        return buf.toString();
+    }
+
+    /** returns one cycle through each group of MDMs that depend on each other */
+    private List<int[]> findMDMCycles() {
+        List<int[]> cycles = new ArrayList<int[]>();
+        for (int[] component : mdmComponents) {
+            if (component.length < 2) {
+                continue;
+            }
+            boolean[] inComponent = new boolean[infos.length];
+            for (int i : component) {
+                inComponent[i] = true;
+            }
+            // a breadth-first search from the first MDM back to itself gives a shortest cycle through it
+            int start = component[0];
+            int[] previous = new int[infos.length];
+            Arrays.fill(previous, -1);
+            ArrayList<Integer> queue = new ArrayList<Integer>();
+            queue.add(start);
+            int last = -1;
+            for (int q = 0; q < queue.size() && last < 0; q++) {
+                int next = queue.get(q);
+                for (int dep : mdmEdges[next]) {
+                    if (dep == start) {
+                        last = next;
+                        break;
+                    }
+                    if (inComponent[dep] && previous[dep] < 0) {
+                        previous[dep] = next;
+                        queue.add(dep);
+                    }
+                }
+            }
+            ArrayList<Integer> path = new ArrayList<Integer>();
+            for (int i = last; i != start; i = previous[i]) {
+                path.add(0, i);
+            }
+            path.add(0, start);
+            int[] array = new int[path.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = path.get(i);
+            }
+            cycles.add(array);
+        }
+        return cycles;
+    }
+
+    private static long pairKey(int from, int to) {
+        return ((long) from << 32) | to;
+    }
+
+    private static int[][] toArrays(List<LinkedHashSet<Integer>> sets) {
+        int[][] arrays = new int[sets.size()][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = new int[sets.get(i).size()];
+            int j = 0;
+            for (int dep : sets.get(i)) {
+                arrays[i][j++] = dep;
+            }
+        }
+        return arrays;
+    }
+
+    /**
+     * Tarjan's strongly connected components, without recursion so that long chains of structs do not overflow the
+     * stack.  Components are found with every component listed after the components it has edges to, which for a
+     * dependency graph puts dependencies first.
+     */
+    static class Tarjan {
+
+        /** the components, each with its nodes in ascending order */
+        final List<int[]> components = new ArrayList<int[]>();
+
+        Tarjan(int[][] edges) {
+            int n = edges.length;
+            int[] index = new int[n];
+            int[] low = new int[n];
+            boolean[] onStack = new boolean[n];
+            Arrays.fill(index, -1);
+            int[] stack = new int[n];
+            int stackSize = 0;
+            int[] callNode = new int[n];
+            int[] callEdge = new int[n];
+            int counter = 0;
+
+            for (int root = 0; root < n; root++) {
+                if (index[root] >= 0) {
+                    continue;
+                }
+                int depth = 0;
+                callNode[0] = root;
+                callEdge[0] = 0;
+                index[root] = low[root] = counter++;
+                stack[stackSize++] = root;
+                onStack[root] = true;
+
+                while (depth >= 0) {
+                    int v = callNode[depth];
+                    if (callEdge[depth] < edges[v].length) {
+                        int w = edges[v][callEdge[depth]++];
+                        if (index[w] < 0) {
+                            index[w] = low[w] = counter++;
+                            stack[stackSize++] = w;
+                            onStack[w] = true;
+                            depth++;
+                            callNode[depth] = w;
+                            callEdge[depth] = 0;
+                        }
+                        else if (onStack[w]) {
+                            low[v] = Math.min(low[v], index[w]);
+                        }
+                        continue;
+                    }
+                    if (low[v] == index[v]) {
+                        int start = stackSize;
+                        do {
+                            start--;
+                            onStack[stack[start]] = false;
+                        } while (stack[start] != v);
+                        int[] component = Arrays.copyOfRange(stack, start, stackSize);
+                        Arrays.sort(component);
+                        components.add(component);
+                        stackSize = start;
+                    }
+                    depth--;
+                    if (depth >= 0) {
+                        int parent = callNode[depth];
+                        low[parent] = Math.min(low[parent], low[v]);
+                    }
+                }
+            }
+        }
+    }
+}
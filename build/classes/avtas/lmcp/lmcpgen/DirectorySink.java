@@ -0,0 +1,58 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes the files of a code package to a directory.  A file is only replaced if its contents change, so that build
+ * tools do not see unchanged files as new.  See {@link UpdatingFileOutputStream}.
+ *
+ * @author default
+ */
+public class DirectorySink extends OutputSink {
+
+    private final File dir;
+
+    public DirectorySink(File dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public Output open(String path) throws IOException {
+        File file = new File(dir, path);
+        file.getParentFile().mkdirs();
+        return new UpdatingFileOutputStream(file);
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return new File(dir, path).isFile();
+    }
+
+    @Override
+    public void delete(String path) throws IOException {
+        File file = new File(dir, path);
+        if (file.isFile() && !file.delete()) {
+            throw new IOException("Cannot delete " + file.getPath());
+        }
+    }
+
+    @Override
+    public File getDirectory() {
+        return dir;
+    }
+
+    @Override
+    public String toString() {
+        return dir.getPath();
+    }
+}
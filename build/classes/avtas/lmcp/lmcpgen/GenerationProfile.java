@@ -0,0 +1,277 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timing statistics for one run of the generator, collected while a profile is active: the calls, time, output and
+ * allocation of every tag method, the time and output of every generated file, and the total time of each phase.
+ * Phase, tag and file times from different threads are added together, so with several threads they can exceed the
+ * elapsed time.
+ * <p>
+ * While a profile is active, each file is expanded completely before it is written, so that the expand and write
+ * phases can be timed separately.  Allocation is only recorded on JVMs that can measure it per thread.
+ *
+ * @author default
+ */
+public class GenerationProfile {
+
+    /** the parts of a run that are timed */
+    public enum Phase {
+        PARSE, CHECK, TEMPLATES, EXPAND, WRITE
+    }
+
+    /** the totals for one tag method, file or phase */
+    static class Stats {
+
+        final String name;
+        long count;
+        long nanos;
+        long maxNanos;
+        long chars;
+        long allocated;
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        synchronized void add(long nanos, long chars, long allocated) {
+            this.count++;
+            this.nanos += nanos;
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+            this.chars += chars;
+            this.allocated += allocated;
+        }
+    }
+
+    private static volatile GenerationProfile active;
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final boolean allocationSupported = isAllocationSupported();
+
+    private final long startNanos = System.nanoTime();
+    private long endNanos;
+    private final ConcurrentHashMap<String, Stats> tags = new ConcurrentHashMap<String, Stats>();
+    private final ConcurrentHashMap<String, Stats> files = new ConcurrentHashMap<String, Stats>();
+    private final ConcurrentHashMap<String, Stats> phases = new ConcurrentHashMap<String, Stats>();
+
+    /** starts collecting a new profile */
+    public static GenerationProfile start() {
+        active = new GenerationProfile();
+        return active;
+    }
+
+    /** stops collecting and returns the profile, or null if none was active */
+    public static GenerationProfile stop() {
+        GenerationProfile profile = active;
+        active = null;
+        if (profile != null) {
+            profile.endNanos = System.nanoTime();
+        }
+        return profile;
+    }
+
+    /** returns the profile being collected, or null */
+    public static GenerationProfile getActive() {
+        return active;
+    }
+
+    /** returns the bytes allocated so far by the current thread, or 0 if that cannot be measured */
+    static long allocatedBytes() {
+        if (!allocationSupported) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public void addTag(String name, long nanos, long chars, long allocated) {
+        get(tags, name).add(nanos, chars, allocated);
+    }
+
+    public void addFile(String path, long nanos, long chars, long allocated) {
+        get(files, path).add(nanos, chars, allocated);
+    }
+
+    public void addPhase(Phase phase, long nanos) {
+        get(phases, phase.name().toLowerCase()).add(nanos, 0, 0);
+    }
+
+    /** writes the whole profile as JSON */
+    public void save(File file) throws Exception {
+        LmcpGen.writeFile(file, toJson());
+    }
+
+    public String toJson() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("{\n");
+        buf.append("  \"totalMillis\": ").append(millis(endNanos - startNanos)).append(",\n");
+        buf.append("  \"allocationMeasured\": ").append(allocationSupported).append(",\n");
+        buf.append("  \"phases\": {");
+        String sep = "\n";
+        for (Phase phase : Phase.values()) {
+            Stats s = phases.get(phase.name().toLowerCase());
+            buf.append(sep).append("    \"").append(phase.name().toLowerCase()).append("\": {\"count\": ")
+                    .append(s == null ? 0 : s.count).append(", \"totalMillis\": ")
+                    .append(s == null ? "0.000" : millis(s.nanos)).append("}");
+            sep = ",\n";
+        }
+        buf.append("\n  },\n");
+        buf.append("  \"tags\": [");
+        sep = "\n";
+        for (Stats s : sorted(tags)) {
+            buf.append(sep).append("    {\"name\": ").append(quote(s.name)).append(", \"calls\": ").append(s.count)
+                    .append(", \"totalMillis\": ").append(millis(s.nanos)).append(", \"maxMillis\": ")
+                    .append(millis(s.maxNanos)).append(", \"chars\": ").append(s.chars)
+                    .append(", \"allocatedBytes\": ").append(s.allocated).append("}");
+            sep = ",\n";
+        }
+        buf.append("\n  ],\n");
+        buf.append("  \"files\": [");
+        sep = "\n";
+        for (Stats s : sorted(files)) {
+            buf.append(sep).append("    {\"path\": ").append(quote(s.name)).append(", \"millis\": ")
+                    .append(millis(s.nanos)).append(", \"chars\": ").append(s.chars)
+                    .append(", \"allocatedBytes\": ").append(s.allocated).append("}");
+            sep = ",\n";
+        }
+        buf.append("\n  ]\n");
+        buf.append("}\n");
+        return buf.toString();
+    }
+
+    /** returns a table of the phases and of the tag methods and files that took the most time */
+    public String getSummary(int topN) {
+        StringBuilder buf = new StringBuilder();
+        buf.append(String.format(Locale.ROOT, "total %s ms%n", millis(endNanos - startNanos)));
+        buf.append(String.format(Locale.ROOT, "%n%-12s %12s%n", "phase", "time (ms)"));
+        for (Phase phase : Phase.values()) {
+            Stats s = phases.get(phase.name().toLowerCase());
+            buf.append(String.format(Locale.ROOT, "%-12s %12s%n", phase.name().toLowerCase(),
+                    s == null ? "0.000" : millis(s.nanos)));
+        }
+        buf.append(String.format(Locale.ROOT, "%n%-44s %8s %12s %10s %12s %14s%n",
+                "tag", "calls", "time (ms)", "max (ms)", "chars", "allocated"));
+        List<Stats> list = sorted(tags);
+        for (Stats s : list.subList(0, Math.min(topN, list.size()))) {
+            buf.append(String.format(Locale.ROOT, "%-44s %8d %12s %10s %12d %14d%n",
+                    s.name, s.count, millis(s.nanos), millis(s.maxNanos), s.chars, s.allocated));
+        }
+        buf.append(String.format(Locale.ROOT, "%n%-60s %12s %12s%n", "file", "time (ms)", "chars"));
+        list = sorted(files);
+        for (Stats s : list.subList(0, Math.min(topN, list.size()))) {
+            buf.append(String.format(Locale.ROOT, "%-60s %12s %12d%n", s.name, millis(s.nanos), s.chars));
+        }
+        return buf.toString();
+    }
+
+    private static Stats get(ConcurrentHashMap<String, Stats> map, String name) {
+        Stats s = map.get(name);
+        if (s == null) {
+            Stats added = new Stats(name);
+            s = map.putIfAbsent(name, added);
+            if (s == null) {
+                s = added;
+            }
+        }
+        return s;
+    }
+
+    /** returns the stats with the largest total time first */
+    private static List<Stats> sorted(Map<String, Stats> map) {
+        ArrayList<Stats> list = new ArrayList<Stats>(map.values());
+        Collections.sort(list, new Comparator<Stats>() {
+            public int compare(Stats a, Stats b) {
+                return a.nanos != b.nanos ? Long.compare(b.nanos, a.nanos) : a.name.compareTo(b.name);
+            }
+        });
+        return list;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static String quote(String str) {
+        StringBuilder buf = new StringBuilder("\"");
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                buf.append('\\').append(c);
+            }
+            else if (c < 0x20) {
+                buf.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                buf.append(c);
+            }
+        }
+        return buf.append('"').toString();
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            if (threadBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+                if (bean.isThreadAllocatedMemorySupported()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                    return true;
+                }
+            }
+        } catch (Throwable ex) {
+            // not a HotSpot JVM
+        }
+        return false;
+    }
+
+    /** counts the characters a tag method appends */
+    static class CountingAppendable implements Appendable {
+
+        private final Appendable out;
+        long count;
+
+        CountingAppendable(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            CharSequence s = csq == null ? "null" : csq;
+            count += s.length();
+            out.append(s);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            CharSequence s = csq == null ? "null" : csq;
+            count += end - start;
+            out.append(s, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            count++;
+            out.append(c);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the MDMs and compiled templates of a set of targets in memory and regenerates the targets whenever the MDM
+ * or template files change.  Only a changed MDM is read again, and only the files of its series, of the series that
+ * depend on it (through {@link MDMInfo#mdmDependencies}) and the files generated once for all series are generated
+ * again.  A changed template listing or template regenerates its whole target.  Each regeneration is logged with the
+ * time it took.
+ * <p>
+ * Templates are only watched if they are files; the built in templates inside the jar never change.
+ *
+ * @author default
+ */
+public class GenerationWatcher {
+
+    /** how long to wait for more changes once one arrives, since editors often write a file in several steps */
+    static final long SETTLE_MILLIS = 100;
+
+    private final List<File> mdmFiles;
+    private final List<File> mdmDirs;
+    private final List<LmcpGen.Target> targets;
+    private final int threads;
+    private final boolean incremental;
+
+    /** the MDMs, in the order they were first read */
+    private final LinkedHashMap<Path, MDMInfo> models = new LinkedHashMap<Path, MDMInfo>();
+    private final HashMap<LmcpGen.Target, TemplateListing> listings = new HashMap<LmcpGen.Target, TemplateListing>();
+    private final HashMap<LmcpGen.Target, TagTable> tagTables = new HashMap<LmcpGen.Target, TagTable>();
+    /** the series changed since the last successful regeneration */
+    private final Set<String> pendingSeries = new TreeSet<String>();
+    /** the targets whose templates changed since their last successful regeneration */
+    private final Set<LmcpGen.Target> pendingTargets = new HashSet<LmcpGen.Target>();
+
+    private WatchService watchService;
+    private final HashMap<WatchKey, Path> watchedDirs = new HashMap<WatchKey, Path>();
+
+    /**
+     * @param mdmFiles MDM files given one at a time
+     * @param mdmDirs directories whose .xml and .mdm files are MDMs, including files added later
+     * @param targets the targets to keep up to date
+     */
+    public GenerationWatcher(List<File> mdmFiles, List<File> mdmDirs, List<LmcpGen.Target> targets, int threads,
+            boolean incremental) {
+        this.mdmFiles = mdmFiles;
+        this.mdmDirs = mdmDirs;
+        this.targets = targets;
+        this.threads = threads;
+        this.incremental = incremental;
+    }
+
+    /** generates every target, then regenerates them as their inputs change until the thread is interrupted */
+    public void run() throws Exception {
+        watchService = FileSystems.getDefault().newWatchService();
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        try {
+            long start = System.nanoTime();
+            ArrayList<Path> paths = new ArrayList<Path>();
+            for (File file : mdmFiles) {
+                paths.add(normalize(file.toPath()));
+            }
+            for (File dir : mdmDirs) {
+                File[] files = dir.listFiles();
+                for (File file : files == null ? new File[0] : files) {
+                    if (isMDMFile(file.toPath()) && file.isFile()) {
+                        paths.add(normalize(file.toPath()));
+                    }
+                }
+            }
+            ArrayList<File> pathFiles = new ArrayList<File>();
+            for (Path path : paths) {
+                pathFiles.add(path.toFile());
+            }
+            MDMInfo[] read = MDMReader.readMDMs(pathFiles, threads);
+            for (int i = 0; i < read.length; i++) {
+                models.put(paths.get(i), read[i]);
+            }
+            for (LmcpGen.Target target : targets) {
+                loadTemplates(target);
+            }
+            pendingTargets.addAll(targets);
+            register();
+            regenerate(pool, start, "startup");
+
+            while (true) {
+                Set<Path> changed = new HashSet<Path>();
+                collect(watchService.take(), changed);
+                WatchKey key;
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                start = System.nanoTime();
+                if (update(changed)) {
+                    regenerate(pool, start, describe(changed));
+                }
+            }
+        } catch (InterruptedException ex) {
+            // stopped
+        } catch (ClosedWatchServiceException ex) {
+            // stopped
+        } finally {
+            watchService.close();
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /** stops a watcher that is running in another thread */
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /** reads the changed MDMs and templates.  Returns true if anything needs to be generated. */
+    private boolean update(Set<Path> changed) {
+        boolean failed = false;
+        for (Path path : changed) {
+            if (!isWatchedMDM(path)) {
+                continue;
+            }
+            MDMInfo old = models.get(path);
+            if (old != null) {
+                pendingSeries.add(old.seriesName);
+            }
+            File file = path.toFile();
+            if (!file.isFile()) {
+                models.remove(path);
+                continue;
+            }
+            try {
+                MDMInfo info = MDMReader.readMDM(file);
+                models.put(path, info);
+                pendingSeries.add(info.seriesName);
+            } catch (Exception ex) {
+                log("Error reading " + path + ": " + ex.getMessage());
+                failed = true;
+            }
+        }
+        for (LmcpGen.Target target : targets) {
+            if (!containsAny(changed, getTemplatePaths(target))) {
+                continue;
+            }
+            try {
+                loadTemplates(target);
+                pendingTargets.add(target);
+            } catch (Exception ex) {
+                log("Error reading the templates of " + target.name + ": " + ex.getMessage());
+                failed = true;
+            }
+        }
+        if (failed) {
+            log("Waiting for the next change.");
+            return false;
+        }
+        return !pendingSeries.isEmpty() || !pendingTargets.isEmpty();
+    }
+
+    /** checks the MDMs and generates the files that depend on the pending changes */
+    private void regenerate(ForkJoinPool pool, long start, String cause) {
+        MDMInfo[] infos = models.values().toArray(new MDMInfo[models.size()]);
+        try {
+            for (MDMInfo info : infos) {
+                // rebuilt by checkMDMs, which only ever adds to them
+                info.mdmDependencies.clear();
+            }
+            MDMReader.checkMDMs(infos);
+        } catch (Exception ex) {
+            log("Error checking the MDMs: " + ex.getMessage());
+            log("Waiting for the next change.");
+            return;
+        }
+
+        Set<String> series = getDependents(infos, pendingSeries);
+        StringBuilder summary = new StringBuilder();
+        boolean failed = false;
+        for (LmcpGen.Target target : targets) {
+            boolean all = pendingTargets.contains(target);
+            if (!all && series.isEmpty()) {
+                continue;
+            }
+            long targetStart = System.nanoTime();
+            try {
+                LmcpGen.generate(infos, target, listings.get(target), tagTables.get(target), all ? null : series,
+                        pool, incremental);
+                pendingTargets.remove(target);
+                summary.append(summary.length() == 0 ? "" : ", ").append(target.name).append(" (")
+                        .append(target.written).append(" of ").append(target.files).append(" files changed)");
+            } catch (Exception ex) {
+                log("Error generating " + target.name + ": " + ex.getMessage());
+                failed = true;
+            } finally {
+                target.millis = (System.nanoTime() - targetStart) / 1000000;
+            }
+        }
+        if (!failed) {
+            pendingSeries.clear();
+        }
+        long millis = (System.nanoTime() - start) / 1000000;
+        log("Regenerated " + summary + " after " + cause
+                + (series.isEmpty() ? "" : " for series " + series) + " in " + millis + " ms");
+    }
+
+    /** returns the series and every series that depends on them, directly or indirectly */
+    static Set<String> getDependents(MDMInfo[] infos, Set<String> series) {
+        TreeSet<String> dependents = new TreeSet<String>(series);
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            for (MDMInfo info : infos) {
+                if (!dependents.contains(info.seriesName) && containsAny(info.mdmDependencies, dependents)) {
+                    dependents.add(info.seriesName);
+                    grew = true;
+                }
+            }
+        }
+        return dependents;
+    }
+
+    private void loadTemplates(LmcpGen.Target target) throws Exception {
+        TemplateListing listing = TemplateListing.read(target.templateFile);
+        TagTable tags = TagTable.bind(target.methodClass, listing);
+        listings.put(target, listing);
+        tagTables.put(target, tags);
+        if (watchService != null) {
+            // a new template may be in a directory that is not watched yet
+            register();
+        }
+    }
+
+    /** watches the MDM directories and the directories of every template file */
+    private void register() throws IOException {
+        Set<Path> dirs = new HashSet<Path>(watchedDirs.values());
+        ArrayList<Path> wanted = new ArrayList<Path>();
+        for (File dir : mdmDirs) {
+            wanted.add(normalize(dir.toPath()));
+        }
+        for (File file : mdmFiles) {
+            wanted.add(normalize(file.toPath()).getParent());
+        }
+        for (LmcpGen.Target target : targets) {
+            for (Path path : getTemplatePaths(target)) {
+                wanted.add(path.getParent());
+            }
+        }
+        for (Path dir : wanted) {
+            if (dir != null && dirs.add(dir)) {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirs.put(key, dir);
+            }
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // some events were lost, so treat every file as changed
+                changed.addAll(models.keySet());
+                for (LmcpGen.Target target : targets) {
+                    changed.addAll(getTemplatePaths(target));
+                }
+            }
+            else if (dir != null) {
+                changed.add(normalize(dir.resolve((Path) event.context())));
+            }
+        }
+        key.reset();
+    }
+
+    /** returns the listing and template files of a target that are on the file system */
+    private Set<Path> getTemplatePaths(LmcpGen.Target target) {
+        HashSet<Path> paths = new HashSet<Path>();
+        addPath(paths, target.templateFile);
+        TemplateListing listing = listings.get(target);
+        if (listing != null) {
+            for (TemplateListing.Entry entry : listing.getEntries()) {
+                addPath(paths, entry.templateUrl);
+            }
+        }
+        return paths;
+    }
+
+    private static void addPath(Set<Path> paths, URL url) {
+        if (url != null && "file".equals(url.getProtocol())) {
+            try {
+                paths.add(normalize(Paths.get(url.toURI())));
+            } catch (Exception ex) {
+                // not a plain file
+            }
+        }
+    }
+
+    private boolean isWatchedMDM(Path path) {
+        if (models.containsKey(path)) {
+            return true;
+        }
+        for (File file : mdmFiles) {
+            if (normalize(file.toPath()).equals(path)) {
+                return true;
+            }
+        }
+        for (File dir : mdmDirs) {
+            if (normalize(dir.toPath()).equals(path.getParent()) && isMDMFile(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMDMFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase();
+        return name.endsWith(".xml") || name.endsWith(".mdm");
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static boolean containsAny(Set<?> set, Set<?> values) {
+        for (Object value : values) {
+            if (set.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String describe(Set<Path> changed) {
+        Set<Path> templates = new HashSet<Path>();
+        for (LmcpGen.Target target : targets) {
+            templates.addAll(getTemplatePaths(target));
+        }
+        ArrayList<String> names = new ArrayList<String>();
+        for (Path path : changed) {
+            if (isWatchedMDM(path) || templates.contains(path)) {
+                names.add(path.getFileName().toString());
+            }
+        }
+        return names.size() == 1 ? "change to " + names.get(0) : names.size() + " changes";
+    }
+
+    private static void log(String msg) {
+        System.out.println("[" + new SimpleDateFormat("HH:mm:ss").format(new Date()) + "] " + msg);
+    }
+}
@@ -0,0 +1,1259 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+// 
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import avtas.lmcp.lmcpgen.EnumInfo.EnumEntry;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class JavaMethods {
+
+    public static final String block_comment = "\n*";
+    public static final String NUMBER_MATCHER = "(byte)|(int16)|(uint16)|(int32)|(uint32)|(real32)|(real64)";
+
+    public static String package_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + "package " + info.namespace.replace('/', '.') + ";\n";
+    }
+
+    public static String namespace(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + info.namespace;
+    }
+
+    public static String package_path(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + info.namespace.replace('/', '.');
+    }
+
+    public static String datatype_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + st.name;
+    }
+    
+    public static String class_comment(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + "/**\n" + st.comment + "\n*/";
+    }
+
+    public static String make_field_constructor(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuffer buf = new StringBuffer();
+        if (st.fields.length == 0) {
+            return "";
+        }
+        List<FieldInfo> fieldList = new ArrayList<FieldInfo>();
+        StructInfo tmp = st;
+        int total = 0;
+        do {
+            List<FieldInfo> tmpList = new ArrayList<FieldInfo>();
+            for (int i = 0; i < tmp.fields.length; i++) {
+                if (tmp.fields[i].isScalar) {
+                    total ++;
+                    tmpList.add(tmp.fields[i]);
+                }
+            }
+            fieldList.addAll(0, tmpList);
+            tmp = MDMInfo.getParentType(infos, tmp);
+        } while(tmp != null);
+
+        if (fieldList.size() == 0) {
+            return "";
+        }
+
+        buf.append(ws).append("public ").append(st.name).append("(");
+        for (FieldInfo f : fieldList) {
+            buf.append(getJavaType(f, infos)).append(" ").append(f.name);
+            if (fieldList.indexOf(f) != fieldList.size() - 1) {
+                buf.append(", ");
+            } 
+        }
+        buf.append("){\n");
+        for (FieldInfo f : fieldList) {
+            buf.append(ws).append("    this.").append(f.name).append(" = ").append(f.name).append(";\n");
+        }
+        buf.append(ws).append("}\n");
+
+        return buf.toString();
+    }
+
+    public static String import_all_series(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuffer buf = new StringBuffer();
+        for (MDMInfo i : infos) {
+            if(i.seriesNameAsLong == 0)
+            {
+                continue;
+            }
+            if (info == null || !info.seriesName.equals(i.seriesName)) {
+                buf.append(ws + "import " + i.namespace.replace("/", ".") + ".*;\n");
+            }
+        }
+        return buf.toString();
+    }
+
+    public static String enum_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + en.name;
+    }
+
+    public static String enum_comment(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + "/** " + en.comment + "*/";
+    }
+
+    public static String gen_enum_fields(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuffer buf = new StringBuffer();
+        int len = en.entries.size();
+        for (int i = 0; i < len; i++) {
+            EnumEntry entry = en.entries.get(i);
+            buf.append(ws + "/** " + entry.comment + " */\n");
+            buf.append(ws + entry.name).append("(").append(entry.value).append(")");
+            if (i != len - 1) {
+                buf.append(",\n");
+            } else {
+                buf.append(";\n");
+            }
+        }
+        return buf.toString();
+    }
+
+    public static String enum_from_int(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuffer buf = new StringBuffer();
+        for (int i = 0; i < en.entries.size(); i++) {
+            buf.append(ws + "case " + en.entries.get(i).value + " : return " + en.entries.get(i).name + ";\n");
+        }
+        buf.append(ws + "default: return " + en.entries.get(0).name + ";\n");
+        return buf.toString();
+    }
+
+    public static String factory_add_series(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuffer buf = new StringBuffer();
+        for (MDMInfo in : infos) {
+            if(in.seriesNameAsLong == 0)
+            {
+                continue;
+            }
+            String seriesListClass = in.namespace.replaceAll("/", ".") + ".SeriesEnum";
+            buf.append(ws + "{ LMCPEnum e = new " + seriesListClass + "();\n");
+            buf.append(ws + "addSeries(e); } \n");
+        }
+        return buf.toString();
+    }
+
+    public static String list_all_types(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder buf = new StringBuilder();
+        StructInfo[] structs = info.getDeclaredStructs();
+        for (int i = 0; i < structs.length; i++) {
+            buf.append(ws).append("\"").append(structs[i].name).append("\"");
+            if (i != structs.length - 1)
+                buf.append(",\n");
+        }
+        return buf.toString();
+    }
+
+    public static String extends_object_type(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        if (st.extends_name.length() == 0) {
+            return ws + "extends avtas.lmcp.LMCPObject";
+        } else {
+            return ws + "extends " + getJavaClassName(infos, st.extends_name, st.extends_series);
+        }
+    }
+
+    public static String series_name_setup(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+
+        StringBuffer buf = new StringBuffer();
+        buf.append(ws + "public static final String SERIES_NAME = \"" + info.seriesName + "\";\n");
+        buf.append(ws + "/** Series Name turned into a long for quick comparisons. */\n");
+        buf.append(ws + "public static final long SERIES_NAME_ID = " + info.seriesNameAsLong + "L;\n");
+        buf.append(ws + "public static final int SERIES_VERSION = " + info.version + ";\n");
+        return buf.toString();
+    }
+
+    public static String member_gets_and_sets(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        String str = "";
+        FieldInfo[] list = st.fields;
+        for (int i = 0; i < list.length; i++) {
+            String type = getJavaType(list[i], infos);
+            String comment = list[i].comment.replaceAll("\\s+", " ");
+            comment = comment.replaceAll("<br", "\n" + ws + "*<br") + "(Units: " + list[i].units + ")";
+            String name = list[i].name;
+            String name2 = list[i].name.substring(0, 1).toUpperCase() + list[i].name.substring(1);
+            // scalar types
+            if (list[i].isScalar) {
+                str += ws + "/** " + comment + "*/\n";
+                str += ws + "public " + type + " get" + name2 + "() { return " + name + "; }\n\n";
+
+                str += ws + "/** " + comment + "*/\n";
+                str += ws + "public " + st.name + " set" + name2 + "( " + type + " val ) {\n";
+                str += ws + "    " + name + " = val;\n";
+                str += ws + "    return this;\n";
+                str += ws + "}\n\n";
+                //array types
+            } else if (list[i].isArray) {
+                String primitiveList = getPrimitiveList(info, list[i]);
+                if (primitiveList != null && info.boxedListGetters) {
+                    str += ws + "public java.util.List<" + getJavaObjectType(list[i], infos) + "> get" + name2 + "() {\n";
+                    str += ws + "    return " + name + ".asList();\n";
+                    str += ws + "}\n\n";
+
+                    str += ws + "public avtas.lmcp." + primitiveList + " get" + name2 + "List() {\n";
+                    str += ws + "    return " + name + ";\n";
+                    str += ws + "}\n\n";
+                } else if (primitiveList != null) {
+                    str += ws + "public avtas.lmcp." + primitiveList + " get" + name2 + "() {\n";
+                    str += ws + "    return " + name + ";\n";
+                    str += ws + "}\n\n";
+                } else if (list[i].length == -1) {
+                    str += ws + "public java.util.ArrayList<" + getJavaObjectType(list[i], infos) + "> get" + name2 + "() {\n";
+                    str += ws + "    return " + name + ";\n";
+                    str += ws + "}\n\n";
+
+                    // don't allow a set method with array lists or arrays (get the list and then perform operations)
+                    // fixed-length arrays
+                } else {
+                    str += ws + "public " + type + "[] get" + name2 + "() {\n";
+                    str += ws + "    return " + name + ";\n";
+                    str += ws + "}\n\n";
+                }
+            } else if (list[i].isMap) {
+                str += ws + "public java.util.HashMap<" + getJavaObjectType(list[i], infos) + "> get" + name2 + "() {\n";
+                str += ws + "    return " + name + ";\n";
+                str += ws + "}\n\n";
+            }
+        }
+        return str;
+    }
+
+    public static String member_declaration(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        String str = "";
+        FieldInfo[] list = st.fields;
+        for (int i = 0; i < list.length; i++) {
+            String name = list[i].name;
+            String defaultVal = list[i].defaultVal;
+            String type = list[i].type;
+
+            String comment = list[i].comment.replaceAll("\\s+", " ");
+            comment = comment.replaceAll("<br", "\n" + ws + "*<br") + "(Units: " + list[i].units + ")";
+            str += ws + "/** " + comment + "*/\n";
+            str += ws + "@LmcpType(\"" + type + "\")\n";
+
+            if (list[i].isEnum) {
+                EnumInfo enumInfo = MDMInfo.getEnumByName(infos, list[i]);
+                type = enumInfo.namespace.replaceAll("/", ".") + "." + type;
+            }
+
+            if (list[i].isScalar) {
+                str += ws + "protected " + getJavaType(list[i], infos) + " " + name;
+                String value = getDefaultValue(list[i], infos);
+                if (value == null) {
+                    str += ";\n";
+                    continue;
+                }
+                str += " = " + value + ";\n";
+                // arrays
+            } else if (list[i].isArray) {
+                String typeName = getJavaObjectType(list[i], infos);
+
+                String primitiveList = getPrimitiveList(info, list[i]);
+                if (primitiveList != null) {
+                    str += ws + "protected avtas.lmcp." + primitiveList + " " + name + " = new avtas.lmcp." + primitiveList + "();\n";
+                } else if (list[i].length == -1) {
+                    str += ws + "protected java.util.ArrayList<" + typeName + "> " + name
+                            + " = new java.util.ArrayList<" + typeName + ">();\n";
+                } else {
+                    // for primitive arrays, use the primitive type name
+                    if (!list[i].isStruct) {
+                        typeName = getJavaType(list[i], infos);
+                    }
+                    if (defaultVal.length() == 0) {
+                        // if no default val specified, use the natural defaults (0 for numbers, null for objects) and continue
+                        str += ws + "protected " + typeName + "[] " + name + " = new " + typeName + "[" + list[i].length + "];\n";
+                        continue;
+                    }
+                    str += ws + "protected " + typeName + "[] " + name + " = new " + typeName + "[]{ ";
+                    for (int j = 0; j < list[i].length; j++) {
+                        if (list[i].isStruct) {
+                            if (defaultVal.equalsIgnoreCase("null") || type.equalsIgnoreCase(MDMInfo.LMCP_OBJECT_NAME)) {
+                                str += "null, ";
+                            } else {
+                                str += "new " + typeName + "(), ";
+                            }
+                        } else if (type.equals("bool")) {
+                            str += (defaultVal.equalsIgnoreCase("TRUE") ? "true" : "false") + ", ";
+                        } else if (type.equals("byte")) {
+                            str += "(byte)" + defaultVal + ", ";
+                        } else if (type.equals("char")) {
+                            str += "'" + defaultVal + "', ";
+                        } else if (type.equals("int16")) {
+                            str += "(short) " + defaultVal + ", ";
+                        } else if (type.equals("real32")) {
+                            str += "(float) " + defaultVal + ", ";
+                        } else {
+                            str += defaultVal + ", ";
+                        }
+                    }
+                    str += "};\n";
+                }
+            }
+        }
+        return str;
+    }
+
+    /**
+     * returns the java expression of the MDM default of a scalar field, or null if the field keeps the natural
+     * default of its java type
+     */
+    private static String getDefaultValue(FieldInfo f, MDMInfo[] infos) throws Exception {
+        String defaultVal = f.defaultVal;
+        String type = f.type;
+        if (f.isEnum) {
+            EnumInfo enumInfo = MDMInfo.getEnumByName(infos, f);
+            type = enumInfo.namespace.replaceAll("/", ".") + "." + type;
+        }
+        if (f.isStruct) {
+            if (defaultVal.equalsIgnoreCase("null")) {
+                return "null";
+            } else {
+                return "new " + getJavaType(f, infos) + "()";
+            }
+        } else if (f.isEnum) {
+            if (defaultVal.isEmpty()) {
+                return type + ".getEnum(0)";
+            } else {
+                return type + "." + defaultVal;
+            }
+        } else if (defaultVal.length() == 0 && !type.equals("string")) {
+            return null;
+        } else if (type.equals("bool")) {
+            return String.valueOf(Boolean.valueOf(defaultVal));
+        } else if (type.equals("byte")) {
+            return "(byte)" + defaultVal;
+        } else if (type.equals("char")) {
+            return "'" + defaultVal + "'";
+        } else if (type.equals("int16")) {
+            return "(short)" + defaultVal;
+        } else if (type.equals("real32")) {
+            return "(float)" + defaultVal;
+        } else if (type.equals("string")) {
+            return "\"" + defaultVal + "\"";
+        } else if (type.equals("int64")) {
+            return defaultVal + "L";
+        } else if (type.equals("uint32")) {
+            return defaultVal + "L";
+        } else {
+            return defaultVal;
+        }
+    }
+
+    /**
+     * the body of reset(LMCPPool), which restores the MDM defaults.  Lists are cleared rather than replaced, nested
+     * objects of the declared type are reset in place, and the objects that are dropped go back to the pool, if any.
+     */
+    public static String member_reset(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder buf = new StringBuilder();
+        if (st.extends_name.length() != 0) {
+            buf.append(ws).append("super.reset(pool);\n");
+        }
+        for (FieldInfo f : st.fields) {
+            String name = f.name;
+            if (f.isScalar) {
+                String value = getDefaultValue(f, infos);
+                if (f.isStruct && !value.equals("null")) {
+                    String type = getJavaType(f, infos);
+                    buf.append(ws).append("if (").append(name).append(" != null && ").append(name).append(".getClass() == ")
+                            .append(type).append(".class) {\n");
+                    buf.append(ws).append("    ").append(name).append(".reset(pool);\n");
+                    buf.append(ws).append("} else {\n");
+                    buf.append(ws).append("    if (pool != null) pool.release(").append(name).append(");\n");
+                    buf.append(ws).append("    ").append(name).append(" = ").append(value).append(";\n");
+                    buf.append(ws).append("}\n");
+                } else if (f.isStruct) {
+                    buf.append(ws).append("if (pool != null) pool.release(").append(name).append(");\n");
+                    buf.append(ws).append(name).append(" = null;\n");
+                } else if (value != null) {
+                    buf.append(ws).append(name).append(" = ").append(value).append(";\n");
+                } else {
+                    buf.append(ws).append(name).append(" = ").append(getZeroValue(f, infos)).append(";\n");
+                }
+            } else if (f.isArray && f.length == -1) {
+                if (f.isStruct) {
+                    buf.append(ws).append("if (pool != null) pool.releaseAll(").append(name).append(");\n");
+                }
+                buf.append(ws).append(name).append(".clear();\n");
+            } else if (f.isArray) {
+                // fixed length arrays, filled as they are declared
+                String defaultVal = f.defaultVal;
+                if (f.isStruct) {
+                    boolean isNull = defaultVal.length() == 0 || defaultVal.equalsIgnoreCase("null")
+                            || f.type.equalsIgnoreCase(MDMInfo.LMCP_OBJECT_NAME);
+                    String type = getJavaType(f, infos);
+                    buf.append(ws).append("for (int i = 0; i < ").append(name).append(".length; i++) {\n");
+                    if (isNull) {
+                        buf.append(ws).append("    if (pool != null) pool.release(").append(name).append("[i]);\n");
+                        buf.append(ws).append("    ").append(name).append("[i] = null;\n");
+                    } else {
+                        buf.append(ws).append("    if (").append(name).append("[i] != null && ").append(name)
+                                .append("[i].getClass() == ").append(type).append(".class) {\n");
+                        buf.append(ws).append("        ").append(name).append("[i].reset(pool);\n");
+                        buf.append(ws).append("    } else {\n");
+                        buf.append(ws).append("        if (pool != null) pool.release(").append(name).append("[i]);\n");
+                        buf.append(ws).append("        ").append(name).append("[i] = new ").append(type).append("();\n");
+                        buf.append(ws).append("    }\n");
+                    }
+                    buf.append(ws).append("}\n");
+                } else {
+                    String value = defaultVal.length() == 0 ? getZeroValue(f, infos) : getDefaultValue(f, infos);
+                    if (f.isEnum && defaultVal.length() == 0) {
+                        value = "null";
+                    }
+                    buf.append(ws).append("java.util.Arrays.fill(").append(name).append(", ").append(value).append(");\n");
+                }
+            }
+        }
+        return buf.toString();
+    }
+
+    /** returns the natural default of the java type of a field that is not a struct */
+    private static String getZeroValue(FieldInfo f, MDMInfo[] infos) throws Exception {
+        String type = getJavaType(f, infos);
+        if (type.equals("boolean")) {
+            return "false";
+        } else if (type.equals("String")) {
+            return "null";
+        } else if (type.equals("int") || type.equals("long") || type.equals("double")) {
+            return "0";
+        }
+        return "(" + type + ") 0";
+    }
+
+    public static String member_equals(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuffer buf = new StringBuffer();
+        for (FieldInfo f : st.fields) {
+            if (f.isScalar) {
+                if (f.isStruct || f.type.equals("string")) {
+                    buf.append(ws + "if (" + f.name + " == null && o." + f.name + " != null) return false;\n");
+                    buf.append(ws + "if ( " + f.name + "!= null && !" + f.name + ".equals(o." + f.name + ")) return false;\n");
+                } else {
+                    buf.append(ws + "if (" + f.name + " != o." + f.name + ") return false;\n");
+                }
+            } else {
+                if (f.length == -1) {
+                    buf.append(ws + " if (!" + f.name + ".equals( o." + f.name + ")) return false;\n");
+                } else {
+                    buf.append(ws + " if (!java.util.Arrays.equals(" + f.name + ", o." + f.name + ")) return false;\n");
+                }
+            }
+        }
+        return buf.toString();
+    }
+
+    public static String member_hashcode(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuffer buf = new StringBuffer();
+        int counter = 0;
+        for (FieldInfo f : st.fields) {
+            counter++;
+            if (f.isScalar) {
+                // the kinds NUMBER_MATCHER matches
+                switch (TypeKind.of(f)) {
+                    case BYTE:
+                    case INT16:
+                    case UINT16:
+                    case INT32:
+                    case UINT32:
+                    case REAL32:
+                    case REAL64:
+                        buf.append(ws + "hash += 31 * (int)" + f.name + ";\n");
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (counter > 4) {
+                break;
+            }
+        }
+        return buf.toString();
+    }
+
+    public static String calc_size(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        int size = 0;
+        String str = "";
+        FieldInfo[] list = st.fields;
+
+        for (int i = 0; i < list.length; i++) {
+            String name = list[i].name;
+            //scalar
+            if (list[i].isScalar) {
+                if (list[i].isStruct) {
+                    str += ws + "size += LMCPUtil.sizeOf(" + name + ");\n";
+                } else if (list[i].type.equals("string")) {
+                    str += ws + "size += LMCPUtil.sizeOfString(" + name + ");\n";
+                } else {
+                    size += sizeOf(info, list[i]);
+                }
+            } else if (list[i].isArray) {
+                // arrays
+                if (list[i].length == -1) {
+                    if (list[i].isStruct) {
+                        str += ws + "size += " + (list[i].isLargeArray ? "4;\n" : "2;\n"); 
+                        str += ws + "size += LMCPUtil.sizeOfList(" + name + ");\n";
+
+                    } else if (list[i].type.equals("string")) {
+                        str += ws + "size += " + (list[i].isLargeArray ? "4;\n" : "2;\n");
+                        String tmpName = name + "_tmp";
+                        str += ws + "for (String " + tmpName + " : " + name + ") { size+= LMCPUtil.sizeOfString(" + tmpName + "); }\n";
+                    } else {
+                        int len_size = list[i].isLargeArray ? 4 : 2;
+                        str += ws + "\n" + ws + "size += " + len_size + " + " + String.valueOf(sizeOf(info, list[i])) + " * " + name + ".size();\n";
+                    }
+                } else {  // fixed length arrays
+                    if (list[i].isStruct) {
+                        str += ws + "size += LMCPUtil.sizeOfArray(" + name + ");\n";
+                    } else if (list[i].type.equals("string")) {
+                        String tmpName = name + "_tmp";
+                        str += ws + "for (String " + tmpName + " : " + name + ") { size+= LMCPUtil.sizeOfString(" + tmpName + "); }\n";
+                    } else {
+                        size += list[i].length * sizeOf(info, list[i]);
+                    }
+                }
+            }
+        }
+
+        String retStr = ws + "size += " + String.valueOf(size);
+        retStr += "; // accounts for primitive types\n";
+        retStr += str + "\n" + ws + "return ";
+        retStr += "size;";
+
+        return retStr;
+    }
+
+    public static void member_unpack(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendUnpack(infos, info, st, ws, "in", out);
+    }
+
+    /** the body of unpack(ByteBuffer), which calls the ByteBuffer overloads of the same LMCPUtil methods */
+    public static void member_unpack_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendUnpack(infos, info, st, ws, "buf", out);
+    }
+
+    private static void appendUnpack(MDMInfo[] infos, MDMInfo info, StructInfo st, String ws, String in, Appendable out) throws Exception {
+        if (st.extends_name.length() != 0) {
+            out.append(ws + "super.unpack(" + in + ");\n");
+        }
+        for (FieldInfo f : st.fields) {
+            appendUnpack(infos, info, f, ws, in, out);
+        }
+    }
+
+    /** unpacks one field from in, into the member or local variable named after it */
+    private static void appendUnpack(MDMInfo[] infos, MDMInfo info, FieldInfo f, String ws, String in, Appendable out) throws Exception {
+        String type = getJavaType(f, infos);
+        String name = f.name;
+        
+        if (!f.isStruct && !f.isEnum) {
+            type = f.type.substring(0,1).toUpperCase() + f.type.substring(1);
+        }
+
+        // Scalar Types
+        if (f.isScalar) {
+            if (f.isStruct && in.equals("buf")) {
+                // unpacks into the object already held while the thread unpacks into pooled objects
+                out.append(ws + "    " + name + " = (" + type + ") LMCPUtil.getObject(" + in + ", " + name + ");\n");
+            } else if (f.isStruct) {
+                out.append(ws + "    " + name + " = (" + type + ") LMCPUtil.getObject(" + in + ");\n");
+            } else if (f.isEnum) {
+                out.append(ws + name + " = " + type + ".unpack( " + in + " );\n\n");
+            } else {
+                out.append(ws + name + " = LMCPUtil.get" + type + "(" + in + ");\n\n");
+            }
+            // Array Types
+        } else if (f.isArray) {
+            // variable length arrays
+            if (f.length == -1) {
+                if (f.isStruct && in.equals("buf")) {
+                    out.append(ws + "LMCPUtil.clearObjects(" + name + ");\n");
+                } else {
+                    out.append(ws + name + ".clear();\n");
+                }
+                if (f.isLargeArray) {
+                    out.append(ws + "long " + name + "_len = LMCPUtil.getUint32(" + in + ");\n");
+                } else {
+                    out.append(ws + "int " + name + "_len = LMCPUtil.getUint16(" + in + ");\n");
+                }
+                if (in.equals("buf") && isBulkPacked(info, f)) {
+                    // reads the values straight from a view of the buffer
+                    out.append(ws + name + ".unpack(" + in + ", " + (f.isLargeArray ? "(int) " : "") + name + "_len);\n");
+                    return;
+                }
+                out.append(ws + "for(int i=0; i<" + name + "_len; i++){\n");
+                if (f.isStruct) {
+                    out.append(ws + name + ".add( (" + type + ") LMCPUtil.getObject(" + in + "));\n");
+                } else if (f.isEnum) {
+                    out.append(ws + name + ".add(" + type + ".unpack( " + in + " ));\n\n");
+                } else {
+                    out.append(ws + "    " + name + ".add(" + "LMCPUtil.get" + type + "(" + in + "));\n");
+                }
+                out.append(ws + "}\n");
+
+            } else {  // fixed length arrays
+                out.append(ws + "for(int i=0; i<" + name + ".length; i++){\n");
+                if (f.isStruct && in.equals("buf")) {
+                    out.append(ws + name + "[i] = (" + type + ") LMCPUtil.getObject(" + in + ", " + name + "[i]);\n");
+                } else if (f.isStruct) {
+                    out.append(ws + name + "[i] = (" + type + ") LMCPUtil.getObject(" + in + ");\n");
+                } else if (f.isEnum) {
+                    out.append(ws + name + "[i] = " + type + ".unpack(" + in + ");\n\n");
+                } else {
+                    out.append(ws + "    " + name + "[i] = " + "LMCPUtil.get" + type + "(" + in + ");\n");
+                }
+                out.append(ws + "}\n");
+            }
+        }
+    }
+
+    /** the body of skip(ByteBuffer) */
+    public static void member_skip_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendSkip(st, ws, "buf", out);
+    }
+
+    /** the body of skip(InputStream) */
+    public static void member_skip(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendSkip(st, ws, "in", out);
+    }
+
+    /**
+     * skips the fields of a struct and the structs it extends.  Each run of fixed size fields is skipped as one
+     * block, strings and arrays by their lengths, and objects through LMCPUtil.skipObject, which reads their header.
+     */
+    private static void appendSkip(StructInfo st, String ws, String in, Appendable out) throws Exception {
+        WireLayout layout = st.layout;
+        int run = 0;
+        for (int i = 0; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            if (layout.fixedSizes[i] >= 0) {
+                run += layout.fixedSizes[i];
+                continue;
+            }
+            if (f.isMap) {
+                continue;
+            }
+            if (run > 0) {
+                out.append(ws + "LMCPUtil.skipBytes(" + in + ", " + run + ");\n");
+                run = 0;
+            }
+            TypeKind kind = TypeKind.of(f);
+            String count;
+            if (f.isScalar) {
+                count = null;
+            } else if (f.length != -1) {
+                count = String.valueOf(f.length);
+            } else {
+                count = f.isLargeArray ? "LMCPUtil.getUint32(" + in + ")" : "LMCPUtil.getUint16(" + in + ")";
+            }
+            out.append(ws + "// " + f.name + "\n");
+            if (kind == TypeKind.STRING) {
+                out.append(ws + (count == null ? "LMCPUtil.skipString(" + in + ");\n" : "LMCPUtil.skipStrings(" + in + ", " + count + ");\n"));
+            } else if (f.isStruct) {
+                out.append(ws + (count == null ? "LMCPUtil.skipObject(" + in + ");\n" : "LMCPUtil.skipObjects(" + in + ", " + count + ");\n"));
+            } else {
+                out.append(ws + "LMCPUtil.skipBytes(" + in + ", " + count + " * " + kind.wireSize + ");\n");
+            }
+        }
+        if (run > 0) {
+            out.append(ws + "LMCPUtil.skipBytes(" + in + ", " + run + ");\n");
+        }
+    }
+
+    public static void member_pack(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendPack(infos, info, st, ws, "out", out);
+    }
+
+    /** the body of pack(ByteBuffer), which calls the ByteBuffer overloads of the same LMCPUtil methods */
+    public static void member_pack_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendPack(infos, info, st, ws, "buf", out);
+    }
+
+    private static void appendPack(MDMInfo[] infos, MDMInfo info, StructInfo st, String ws, String stream, Appendable out) throws Exception {
+        FieldInfo[] list = st.fields;
+        if (st.extends_name.length() != 0) {
+            out.append(ws + "super.pack(" + stream + ");\n");
+        }
+
+        // for each field in the message
+        for (int i = 0; i < list.length; i++) {
+            String type = getJavaType(list[i], infos);
+            String name = list[i].name;
+            
+            if (!list[i].isStruct && !list[i].isEnum) {
+                type = list[i].type.substring(0,1).toUpperCase() + list[i].type.substring(1);
+            }
+
+            //scalar types
+            if (list[i].isScalar) {
+                if (list[i].isStruct) {
+                    out.append(ws + "LMCPUtil.putObject(" + stream + ", " + name + ");\n");
+                } else if (list[i].isEnum) {
+                    out.append(ws + name + ".pack(" + stream + ");\n");
+                } else {
+                    out.append(ws + "LMCPUtil.put" + type + "(" + stream + ", " + name + ");\n");
+                }
+                // array types
+            } else if (list[i].isArray) {
+                int length = list[i].length;
+                //variable length arrays
+                if (length == -1) {
+                    if ( list[i].isLargeArray) {
+                        out.append(ws + "LMCPUtil.putUint32(" + stream + ", " + name + ".size());\n");
+                    } else {
+                        out.append(ws + "LMCPUtil.putUint16(" + stream + ", " + name + ".size());\n");
+                    }
+                    if (stream.equals("buf") && isBulkPacked(info, list[i])) {
+                        out.append(ws + name + ".pack(" + stream + ");\n");
+                        continue;
+                    }
+                    
+                    out.append(ws + "for(int i=0; i<" + name + ".size(); i++){\n");
+                    if (list[i].isStruct) {
+                        out.append(ws + "    LMCPUtil.putObject(" + stream + ", " + name + ".get(i));\n");
+                    } else if (list[i].isEnum) {
+                        out.append(ws + "    " + name + ".get(i).pack(" + stream + ");\n");
+                    } else {
+                        
+                        out.append(ws + "    LMCPUtil.put" + type + "(" + stream + ", " + name + ".get(i));\n");
+                    }
+                    out.append(ws + "}\n");
+                } else {
+                    //fixed length arrays
+                    out.append(ws + "for(int i=0; i<" + name + ".length; i++){\n");
+                    if (list[i].isStruct) {
+                        out.append(ws + "    LMCPUtil.putObject(" + stream + ", " + name + "[i]);\n");
+                    } else if (list[i].isEnum) {
+                        out.append(ws + "    " + name + "[i].pack(" + stream + ");\n");
+                    } else {
+                        out.append(ws + "    LMCPUtil.put" + type + "(" + stream + ", " + name + "[i]);\n");
+                    }
+                    out.append(ws + "}\n");
+                }
+            }
+        }
+    }
+
+    public static String object_type_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + st.name;
+    }
+    
+    public static String full_object_type_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + st.namespace.replaceAll("/", ".") + "." + st.name;
+    }
+
+    public static String object_type_number(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + st.id;
+    }
+
+    public static void to_xml(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        StructInfo dt_tmp = st;
+        ArrayList<FieldInfo> fields = new ArrayList<FieldInfo>();
+        fields.addAll(Arrays.asList(dt_tmp.fields));
+        while (dt_tmp.extends_name.length() != 0) {
+            dt_tmp = MDMInfo.getParentType(infos, dt_tmp);
+            fields.addAll(Arrays.asList(dt_tmp.fields));
+        }
+
+        out.append(ws + "buf.append( ws + \"<" + st.name + " Series=\\\"" + st.seriesName + "\\\">\\n\");\n");
+        for (FieldInfo f : fields) {
+            String name = f.name;
+            if (f.isArray) {
+                out.append(ws + "buf.append( ws + \"  <" + name + ">\\n\");\n");
+                if (f.length == -1) {
+                    out.append(ws + "for (int i=0; i<" + name + ".size(); i++) {\n");
+                    if (f.isStruct) {
+                        out.append(ws + "    buf.append( " + name + ".get(i) == null ? ( ws + \"    <null/>\\n\") : (" + name + ".get(i).toXML(ws + \"    \")) + \"\\n\");\n");
+                    } else {
+                        out.append(ws + "buf.append( ws + \"  <" + f.type + ">\" + String.valueOf(" + name + ".get(i)) + \"</" + f.type + ">\\n\");\n");
+                    }
+                } else {
+                    out.append(ws + "for (int i=0; i<" + name + ".length; i++) {\n");
+                    if (f.isStruct) {
+                        out.append(ws + "    buf.append( " + name + "[i] == null ? ( ws + \"  <null/>\\n\") : (" + name + "[i].toXML(ws + \"  \")) + \"\\n\");\n");
+                    } else {
+                        out.append(ws + "buf.append( ws + \"  <" + f.type + ">\" + String.valueOf(" + name + "[i]) + \"</" + f.type + ">\\n\");\n");
+                    }
+                }
+                out.append(ws + "}\n");
+                out.append(ws + "buf.append( ws + \"  </" + f.name + ">\\n\");\n");
+            } else if (f.isStruct) {
+                out.append(ws + "if (" + name + "!= null){\n");
+                out.append(ws + "   buf.append( ws + \"  <" + f.name + ">\\n\");\n");
+                out.append(ws + "   buf.append( ( " + name + ".toXML(ws + \"    \")) + \"\\n\");\n");
+                out.append(ws + "   buf.append( ws + \"  </" + f.name + ">\\n\");\n");
+                out.append(ws + "}\n");
+            } else {
+                out.append(ws + "buf.append( ws + \"  <" + f.name + ">\" + String.valueOf(" + name + ") + \"</" + f.name + ">\\n\");\n");
+            }
+        }
+
+        out.append(ws + "buf.append( ws + \"</" + st.name + ">\");\n");
+    }
+
+    public static String send_all_messages(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuffer buf = new StringBuffer();
+        for (MDMInfo i : infos) {
+            if(i.seriesNameAsLong == 0)
+            {
+                continue;
+            }
+            String ns = i.namespace.replaceAll("/", ".");
+            for (StructInfo si : i.structs) {
+                buf.append(ws + " o = new " + ns + "." + si.name + "();\n");
+                buf.append(ws + " out.write(avtas.lmcp.LMCPFactory.packMessage(o, true));\n ");
+            }
+        }
+        return buf.toString();
+    }
+    
+    public static String series_enum_new_instance(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.structs) {
+            sb.append(ws).append("case ").append(si.id).append(": return new ").append(si.name).append("();\n");
+        }
+        return sb.toString();
+    }
+    
+    public static String series_enum_get_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.getDeclaredStructs()) {
+            sb.append(ws).append("case ").append(si.id).append(": return \"").append(si.name).append("\";\n");
+        }
+        return sb.toString();
+    }
+    
+    public static String series_enum_get_type(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.getDeclaredStructs()) {
+            sb.append(ws).append("if ( name.equals(\"").append(si.name).append("\")) return ").append(si.id).append(";\n");
+        }
+        return sb.toString();
+    }
+
+    public static String series_enum_new_view(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.structs) {
+            sb.append(ws).append("case ").append(si.id).append(": return new ").append(si.name).append("View();\n");
+        }
+        return sb.toString();
+    }
+
+    public static String series_enum_skip_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.structs) {
+            sb.append(ws).append("case ").append(si.id).append(": ").append(si.name).append(".skip(buf); return true;\n");
+        }
+        return sb.toString();
+    }
+
+    public static String series_enum_skip(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.structs) {
+            sb.append(ws).append("case ").append(si.id).append(": ").append(si.name).append(".skip(in); return true;\n");
+        }
+        return sb.toString();
+    }
+
+    /** the sizes of a view's fixed prefix and index, from the wire layout of its struct */
+    public static String view_layout(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        WireLayout layout = st.layout;
+        StringBuilder sb = new StringBuilder();
+        sb.append(ws).append("/** the size of the fields read at fixed offsets */\n");
+        sb.append(ws).append("private static final int PREFIX_SIZE = ").append(layout.fixedPrefix).append(";\n");
+        sb.append(ws).append("/** the number of fields after them, whose positions are indexed */\n");
+        sb.append(ws).append("private static final int INDEXED_FIELDS = ").append(getIndexedFields(layout)).append(";\n");
+        sb.append(ws).append("private static final int FIELD_COUNT = ").append(layout.fields.length).append(";\n");
+        return sb.toString();
+    }
+
+    /** the getters of a view, for the fields of its struct and the structs it extends */
+    public static String view_getters(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        WireLayout layout = st.layout;
+        MDMInfo[] owners = getFieldOwners(infos, layout);
+        int firstIndexed = layout.fields.length - getIndexedFields(layout);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            String type = getJavaType(f, infos);
+            String comment = f.comment.replaceAll("\\s+", " ");
+            comment = comment.replaceAll("<br", "\n" + ws + "*<br") + "(Units: " + f.units + ")";
+            String name2 = f.name.substring(0, 1).toUpperCase() + f.name.substring(1);
+            int k = i - firstIndexed;
+            String pos = k < 0 ? "fields + " + layout.offsets[i] : "offset(" + k + ")";
+
+            // numbers, bools, chars and enums are read from the buffer each time
+            if (f.isScalar && layout.fixedSizes[i] >= 0) {
+                sb.append(ws).append("/** ").append(comment).append("*/\n");
+                sb.append(ws).append("public ").append(type).append(" get").append(name2).append("() {\n");
+                sb.append(ws).append("    return ").append(getViewRead(f, type, pos)).append(";\n");
+                sb.append(ws).append("}\n\n");
+                continue;
+            }
+
+            // the rest are decoded once
+            String value = "field(" + i + ", " + pos + ")";
+            String primitiveList = getPrimitiveList(owners[i], f);
+            if (f.isScalar) {
+                sb.append(ws).append("/** ").append(comment).append("*/\n");
+                sb.append(ws).append("public ").append(type).append(" get").append(name2).append("() {\n");
+                sb.append(ws).append("    return (").append(type).append(") ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+            } else if (primitiveList != null && owners[i].boxedListGetters) {
+                sb.append(ws).append("public java.util.List<").append(getJavaObjectType(f, infos)).append("> get").append(name2).append("() {\n");
+                sb.append(ws).append("    return get").append(name2).append("List().asList();\n");
+                sb.append(ws).append("}\n\n");
+
+                sb.append(ws).append("public avtas.lmcp.").append(primitiveList).append(" get").append(name2).append("List() {\n");
+                sb.append(ws).append("    return (avtas.lmcp.").append(primitiveList).append(") ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+            } else if (primitiveList != null) {
+                sb.append(ws).append("public avtas.lmcp.").append(primitiveList).append(" get").append(name2).append("() {\n");
+                sb.append(ws).append("    return (avtas.lmcp.").append(primitiveList).append(") ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+            } else if (f.length == -1) {
+                String listType = "java.util.ArrayList<" + getJavaObjectType(f, infos) + ">";
+                sb.append(ws).append("@SuppressWarnings(\"unchecked\")\n");
+                sb.append(ws).append("public ").append(listType).append(" get").append(name2).append("() {\n");
+                sb.append(ws).append("    return (").append(listType).append(") ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+            } else {
+                sb.append(ws).append("public ").append(type).append("[] get").append(name2).append("() {\n");
+                sb.append(ws).append("    return (").append(type).append("[]) ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+                if (layout.fixedSizes[i] >= 0) {
+                    // fixed length arrays of numbers can be read an element at a time
+                    int size = TypeKind.of(f).wireSize;
+                    sb.append(ws).append("/** returns element i of ").append(f.name).append(", read from the buffer */\n");
+                    sb.append(ws).append("public ").append(type).append(" get").append(name2).append("(int i) {\n");
+                    sb.append(ws).append("    if (i < 0 || i >= ").append(f.length).append(") {\n");
+                    sb.append(ws).append("        throw new IndexOutOfBoundsException(\"Index: \" + i + \", Length: ").append(f.length).append("\");\n");
+                    sb.append(ws).append("    }\n");
+                    sb.append(ws).append("    return ").append(getViewRead(f, type, pos + " + i * " + size)).append(";\n");
+                    sb.append(ws).append("}\n\n");
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /** the cases of a view's skipField(), which return the position after each indexed field */
+    public static String view_skip_field(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        WireLayout layout = st.layout;
+        int firstIndexed = layout.fields.length - getIndexedFields(layout);
+        StringBuilder sb = new StringBuilder();
+        for (int i = firstIndexed; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            TypeKind kind = TypeKind.of(f);
+            sb.append(ws).append("case ").append(i - firstIndexed).append(": ");
+            if (layout.fixedSizes[i] >= 0) {
+                sb.append("return pos + ").append(layout.fixedSizes[i]).append(";");
+            } else if (f.isScalar) {
+                sb.append(f.isStruct ? "return skipObjects(pos, 1);" : "return skipStrings(pos, 1);");
+            } else if (f.length != -1) {
+                sb.append(f.isStruct ? "return skipObjects(pos, " : "return skipStrings(pos, ").append(f.length).append(");");
+            } else {
+                int prefix = f.isLargeArray ? 4 : 2;
+                String length = "arrayLength(pos, " + f.isLargeArray + ")";
+                if (f.isStruct) {
+                    sb.append("return skipObjects(pos + ").append(prefix).append(", ").append(length).append(");");
+                } else if (kind == TypeKind.STRING) {
+                    sb.append("return skipStrings(pos + ").append(prefix).append(", ").append(length).append(");");
+                } else {
+                    sb.append("return pos + ").append(prefix).append(" + ").append(length).append(" * ").append(kind.wireSize).append(";");
+                }
+            }
+            sb.append(" // ").append(f.name).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /** the cases of a view's decodeField(), which unpack strings, arrays and objects into a local variable */
+    public static void view_decode_field(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        WireLayout layout = st.layout;
+        MDMInfo[] owners = getFieldOwners(infos, layout);
+        for (int i = 0; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            if (f.isScalar && layout.fixedSizes[i] >= 0) {
+                continue;
+            }
+            String type = getJavaType(f, infos);
+            String name = f.name;
+            String primitiveList = getPrimitiveList(owners[i], f);
+            out.append(ws + "case " + i + ": {\n");
+            if (f.isScalar) {
+                out.append(ws + "    " + type + " " + name + " = null;\n");
+            } else if (primitiveList != null) {
+                out.append(ws + "    avtas.lmcp." + primitiveList + " " + name + " = new avtas.lmcp." + primitiveList + "();\n");
+            } else if (f.length == -1) {
+                String listType = "java.util.ArrayList<" + getJavaObjectType(f, infos) + ">";
+                out.append(ws + "    " + listType + " " + name + " = new " + listType + "();\n");
+            } else {
+                out.append(ws + "    " + type + "[] " + name + " = new " + type + "[" + f.length + "];\n");
+            }
+            appendUnpack(infos, owners[i], f, ws + "    ", "buf", out);
+            out.append(ws + "    return " + name + ";\n");
+            out.append(ws + "}\n");
+        }
+    }
+
+    /** the class name of a primitive list, such as DoubleList, from the name of its file */
+    public static String list_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + getListSpec(outfile)[0];
+    }
+
+    /** the java type of the values of a primitive list */
+    public static String list_type(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + getListSpec(outfile)[1];
+    }
+
+    public static String list_boxed_type(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + getListSpec(outfile)[2];
+    }
+
+    /** the java.nio buffer that views a ByteBuffer as values of a primitive list, such as DoubleBuffer */
+    public static String list_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        String name = getListSpec(outfile)[0];
+        return ws + name.substring(0, name.length() - "List".length()) + "Buffer";
+    }
+
+    public static String list_element_size(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + getListSpec(outfile)[3];
+    }
+
+    /******************* Utility Methods ******************************/
+
+    /** the class name, java type, boxed type and size in bytes of the values of each primitive list */
+    private static final String[][] PRIMITIVE_LISTS = {
+        {"ShortList", "short", "Short", "2"},
+        {"IntList", "int", "Integer", "4"},
+        {"LongList", "long", "Long", "8"},
+        {"FloatList", "float", "Float", "4"},
+        {"DoubleList", "double", "Double", "8"},};
+
+    private static String[] getListSpec(File outfile) throws Exception {
+        String name = outfile.getName().replaceFirst("\\.java$", "");
+        for (String[] spec : PRIMITIVE_LISTS) {
+            if (spec[0].equals(name)) {
+                return spec;
+            }
+        }
+        throw new Exception("No primitive list is named " + name);
+    }
+
+    /**
+     * returns the primitive list that holds a variable length array of numbers, such as DoubleList, or null if the
+     * MDM does not use primitive lists or the field is kept in an ArrayList.
+     */
+    public static String getPrimitiveList(MDMInfo info, FieldInfo f) throws Exception {
+        if (!info.primitiveLists || !f.isArray || f.length != -1 || f.isStruct || f.isEnum) {
+            return null;
+        }
+        switch (TypeKind.of(f)) {
+            case BYTE:
+            case INT16:
+                return "ShortList";
+            case UINT16:
+            case INT32:
+                return "IntList";
+            case UINT32:
+            case INT64:
+                return "LongList";
+            case REAL32:
+                return "FloatList";
+            case REAL64:
+                return "DoubleList";
+            default:
+                return null;
+        }
+    }
+
+    /** returns the number of fields from the first one that is not fixed size, which a view finds through its index */
+    private static int getIndexedFields(WireLayout layout) {
+        for (int i = 0; i < layout.fields.length; i++) {
+            if (layout.fixedSizes[i] < 0) {
+                return layout.fields.length - i;
+            }
+        }
+        return 0;
+    }
+
+    /** returns the MDM that declares each field of a layout, whose options, such as primitive lists, apply to it */
+    private static MDMInfo[] getFieldOwners(MDMInfo[] infos, WireLayout layout) throws Exception {
+        MDMInfo[] owners = new MDMInfo[layout.fields.length];
+        int i = 0;
+        for (StructInfo st : layout.chain) {
+            MDMInfo owner = null;
+            for (MDMInfo mdm : infos) {
+                if (mdm.seriesName.equals(st.seriesName)) {
+                    owner = mdm;
+                }
+            }
+            if (owner == null) {
+                throw new Exception("Unknown Series Name: " + st.seriesName);
+            }
+            for (int j = 0; j < st.fields.length; j++) {
+                owners[i++] = owner;
+            }
+        }
+        return owners;
+    }
+
+    /** returns the expression that reads a number, bool, char or enum at an absolute position of a view's buffer */
+    private static String getViewRead(FieldInfo f, String type, String pos) throws Exception {
+        switch (TypeKind.of(f)) {
+            case BOOL:
+                return "buf.get(" + pos + ") != 0";
+            case BYTE:
+                return "(short) (buf.get(" + pos + ") & 0xff)";
+            case CHAR:
+                return "(char) buf.get(" + pos + ")";
+            case INT16:
+                return "buf.getShort(" + pos + ")";
+            case UINT16:
+                return "buf.getShort(" + pos + ") & 0xFFFF";
+            case INT32:
+                return "buf.getInt(" + pos + ")";
+            case UINT32:
+                return "buf.getInt(" + pos + ") & 0xFFFFFFFFL";
+            case INT64:
+                return "buf.getLong(" + pos + ")";
+            case REAL32:
+                return "buf.getFloat(" + pos + ")";
+            case REAL64:
+                return "buf.getDouble(" + pos + ")";
+            case ENUM:
+                return type + ".getEnum(buf.getInt(" + pos + "))";
+            default:
+                throw new Exception("No fixed size read for " + f.type);
+        }
+    }
+
+    /** returns true if a primitive list is packed in bulk, because its values are as wide in Java as on the wire */
+    private static boolean isBulkPacked(MDMInfo info, FieldInfo f) throws Exception {
+        if (getPrimitiveList(info, f) == null) {
+            return false;
+        }
+        TypeKind kind = TypeKind.of(f);
+        return kind != TypeKind.BYTE && kind != TypeKind.UINT16 && kind != TypeKind.UINT32;
+    }
+    /** this returns the java type that is associated with the LMCP type */
+    public static String getJavaType(FieldInfo f, MDMInfo[] infos) throws Exception {
+        switch (TypeKind.of(f)) {
+            case UINT16:
+                return "int";
+            case UINT32:
+                return "long";
+            case BYTE:
+                return "short";
+            case BOOL:
+                return "boolean";
+            case INT16:
+                return "short";
+            case INT32:
+                return "int";
+            case INT64:
+                return "long";
+            case REAL32:
+                return "float";
+            case REAL64:
+                return "double";
+            case CHAR:
+                return "char";
+            case STRING:
+                return "String";
+            case OBJECT:
+                return "avtas.lmcp.LMCPObject";
+            default:
+                // otherwise, its a class, so return the full classname
+                return getPackageName(infos, f.seriesName) + "." + f.type.substring(0, 1).toUpperCase() + f.type.substring(1);
+        }
+    }
+
+    /** returns the Object type associated with the LMCP type passed */
+    public static String getJavaObjectType(FieldInfo f, MDMInfo[] infos) throws Exception {
+        switch (TypeKind.of(f)) {
+            case UINT16:
+                return "Integer";
+            case UINT32:
+                return "Long";
+            case BYTE:
+                return "Short";
+            case BOOL:
+                return "Boolean";
+            case CHAR:
+                return "Character";
+            case INT16:
+                return "Short";
+            case INT32:
+                return "Integer";
+            case INT64:
+                return "Long";
+            case REAL32:
+                return "Float";
+            case REAL64:
+                return "Double";
+            case STRING:
+                return "String";
+            case OBJECT:
+                return "avtas.lmcp.LMCPObject";
+            default:
+                // otherwise, its a class, so return the full classname
+                return getPackageName(infos, f.seriesName) + "." + f.type.substring(0, 1).toUpperCase() + f.type.substring(1);
+        }
+    }
+
+    /** returns the size in bytes of the LMCP type */
+    public static int sizeOf(MDMInfo info, FieldInfo field) throws Exception {
+        TypeKind kind = TypeKind.of(field);
+        if (!kind.isFixedSize()) {
+            throw new Exception("Invalid Struct");
+        }
+        return kind.wireSize;
+    }
+
+    /** returns the size in bytes of the LMCP type */
+    public static int sizeOf(String type) throws Exception {
+        if (type.toLowerCase().matches("(byte)|(char)|(bool)")) {
+            return 1;
+        }
+
+        if (type.toLowerCase().matches("(int16)|(uint16)")) {
+            return 2;
+        }
+
+        if (type.toLowerCase().matches("(int32)|(uint32)|(real32)")) {
+            return 4;
+        }
+
+        if (type.toLowerCase().matches("(int64)|(real64)")) {
+            return 8;
+        }
+
+        throw new Exception("Invalid Struct");
+    }
+
+    public static String getPackageName(MDMInfo[] infos, String seriesName) throws Exception {
+        for (MDMInfo i : infos) {
+            if(i.seriesNameAsLong == 0)
+            {
+                continue;
+            }
+            if (i.seriesName.equals(seriesName)) {
+                return i.namespace.replaceAll("/", ".");
+            }
+        }
+        throw new Exception("Unknown Series Name: " + seriesName);
+    }
+    
+    public static String getJavaClassName(MDMInfo[] infos, String structName, String seriesName) throws Exception {
+        String seriesPath = getPackageName(infos, seriesName);
+        return seriesPath + "." + structName;
+        
+    }
+}
@@ -0,0 +1,1014 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+// 
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+/*
+ * LmcpGen.java
+ *
+ * Created on July 28, 2007, 6:48 PM
+ *
+ * The LMCP generator is used to automatically produce code for the LMCP system.  In order to produce code, an MDM file must be
+ * specified as well as a template file (.tl file).  See the LMCP autocoder specification for details.
+ */
+package avtas.lmcp.lmcpgen;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+/**
+ *
+ * @author Matt Duquette AFRL/VACD
+ */
+public class LmcpGen {
+
+    static String ws = "    ";
+
+    /** makes a new code package based on the mdm passed.  The methodClass is any class on the classpath that implements the methods
+     *  specified in the template files
+     */
+    public static void makePackage(MDMInfo info, File outputDir, URL templateFile, Class methodClass) throws Exception {
+        makePackage(new MDMInfo[]{info}, outputDir, templateFile, methodClass);
+    }
+
+    public static void makePackage(MDMInfo[] infos, File outputDir, URL templateFile, Class methodClass) throws Exception {
+        makePackage(infos, outputDir, templateFile, methodClass, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** makes a new code package, expanding and writing the output files on the given number of threads */
+    public static void makePackage(MDMInfo[] infos, File outputDir, URL templateFile, Class<?> methodClass, int threads) throws Exception {
+        makePackage(infos, outputDir, templateFile, methodClass, threads, true);
+    }
+
+    /**
+     * makes a new code package.  If incremental is true, files whose inputs are unchanged since the last run (as
+     * recorded in the output directory's {@link GenerationManifest}) are skipped, and files that are no longer
+     * generated are deleted.
+     */
+    public static void makePackage(MDMInfo[] infos, File outputDir, URL templateFile, Class<?> methodClass, int threads,
+            boolean incremental) throws Exception {
+        makePackage(infos, new DirectorySink(outputDir), templateFile, methodClass, threads, incremental);
+    }
+
+    /**
+     * makes a new code package in the given sink, which may keep it in memory or write it to a zip stream.  Only a
+     * sink that writes to a directory is generated incrementally.  The sink is not closed.
+     */
+    public static void makePackage(MDMInfo[] infos, OutputSink sink, URL templateFile, Class<?> methodClass, int threads,
+            boolean incremental) throws Exception {
+
+        checkMDMs(infos);
+
+        ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        try {
+            generate(infos, new Target(methodClass.getSimpleName(), templateFile, methodClass, sink), pool, incremental);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * makes several code packages from one set of MDMs.  The MDMs are checked once, then the targets are generated
+     * at the same time, sharing one pool of threads for their files.  Every target is attempted; the failures are
+     * reported together once all of the targets are done.  Each target's file counts and time are recorded in it.
+     */
+    public static void makePackages(final MDMInfo[] infos, List<Target> targets, int threads,
+            final boolean incremental) throws Exception {
+
+        checkMDMs(infos);
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        ForkJoinPool pool = null;
+        ExecutorService executor = null;
+        ArrayList<String> failedTargets = new ArrayList<String>();
+        ArrayList<Throwable> failures = new ArrayList<Throwable>();
+        try {
+            if (threads > 1) {
+                pool = new ForkJoinPool(threads);
+            }
+            final ForkJoinPool filePool = pool;
+            // the targets only wait on their files, so each one gets its own thread
+            executor = Executors.newFixedThreadPool(pool == null ? 1 : targets.size());
+            ArrayList<Future<Void>> tasks = new ArrayList<Future<Void>>();
+            for (final Target target : targets) {
+                tasks.add(executor.submit(new Callable<Void>() {
+                    public Void call() throws Exception {
+                        generate(infos, target, filePool, incremental);
+                        return null;
+                    }
+                }));
+            }
+            for (int i = 0; i < targets.size(); i++) {
+                try {
+                    tasks.get(i).get();
+                } catch (ExecutionException ex) {
+                    failedTargets.add(targets.get(i).name);
+                    failures.add(ex.getCause());
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            StringBuilder msg = new StringBuilder();
+            msg.append("Error generating ").append(failures.size()).append(" target(s):");
+            for (int i = 0; i < failures.size(); i++) {
+                msg.append("\n  ").append(failedTargets.get(i)).append(": ").append(failures.get(i).getMessage());
+            }
+            Exception ex = new Exception(msg.toString(), failures.get(0));
+            for (int i = 1; i < failures.size(); i++) {
+                ex.addSuppressed(failures.get(i));
+            }
+            throw ex;
+        }
+    }
+
+    /** checks the MDMs, unless they came checked from the model cache, recording the time in the active profile */
+    static void checkMDMs(MDMInfo[] infos) throws Exception {
+        if (ModelCache.isChecked(infos)) {
+            return;
+        }
+        long start = System.nanoTime();
+        MDMReader.checkMDMs(infos);
+        GenerationProfile profile = GenerationProfile.getActive();
+        if (profile != null) {
+            profile.addPhase(GenerationProfile.Phase.CHECK, System.nanoTime() - start);
+        }
+    }
+
+    /** generates one target from MDMs that have already been checked.  A null pool generates the files in order. */
+    private static void generate(MDMInfo[] infos, Target target, ForkJoinPool pool, boolean incremental) throws Exception {
+        long start = System.nanoTime();
+        try {
+            // read all of the templates and bind their tags before anything is written
+            TemplateListing listing = TemplateListing.read(target.templateFile);
+            TagTable tags = TagTable.bind(target.methodClass, listing);
+            GenerationProfile profile = GenerationProfile.getActive();
+            if (profile != null) {
+                profile.addPhase(GenerationProfile.Phase.TEMPLATES, System.nanoTime() - start);
+            }
+            generate(infos, target, listing, tags, null, pool, incremental);
+        } finally {
+            target.millis = (System.nanoTime() - start) / 1000000;
+        }
+    }
+
+    /**
+     * generates one target from MDMs that have already been checked, using a listing whose tags are already bound.
+     * If series is not null, only the files generated once (or once per namespace directory) and the files of the
+     * named series are generated; the manifest entries of the other files are kept as they were.
+     */
+    static void generate(MDMInfo[] infos, Target target, TemplateListing listing, TagTable tags, Set<String> series,
+            ForkJoinPool pool, boolean incremental) throws Exception {
+
+        writeMDMs(infos, target.sink);
+
+        List<OutputFile> outputs = listOutputFiles(listing, tags, infos, target.sink);
+        target.files = outputs.size();
+        if (!incremental || target.outputDir == null) {
+            ArrayList<OutputFile> selected = new ArrayList<OutputFile>();
+            for (OutputFile output : outputs) {
+                if (isSelected(output, series)) {
+                    selected.add(output);
+                }
+            }
+            target.skipped = outputs.size() - selected.size();
+            target.written = generateFiles(selected, tags, infos, pool);
+            return;
+        }
+
+        GenerationManifest previous = GenerationManifest.load(target.outputDir, target.name);
+        GenerationManifest manifest = new GenerationManifest(target.outputDir, target.name);
+        GenerationManifest.InputHasher hasher = new GenerationManifest.InputHasher(infos, listing, target.methodClass);
+
+        ArrayList<OutputFile> changed = new ArrayList<OutputFile>();
+        HashMap<OutputFile, String> hashes = new HashMap<OutputFile, String>();
+        for (OutputFile output : outputs) {
+            if (!isSelected(output, series)) {
+                String hash = previous.get(output.file);
+                String outputHash = previous.getOutputHash(output.file);
+                manifest.put(output.file, hash == null ? "" : hash, outputHash == null ? "" : outputHash);
+                continue;
+            }
+            String hash = hasher.get(output);
+            if (previous.isCurrent(output.file, hash)) {
+                manifest.put(output.file, hash, previous.getOutputHash(output.file));
+            }
+            else {
+                // recorded without a hash until it has been written, so a failed run regenerates it next time
+                manifest.put(output.file, "", "");
+                hashes.put(output, hash);
+                changed.add(output);
+            }
+        }
+        target.skipped = outputs.size() - changed.size();
+
+        try {
+            target.written = generateFiles(changed, tags, infos, pool);
+            for (OutputFile output : changed) {
+                manifest.put(output.file, hashes.get(output), GenerationManifest.hashFile(output.file));
+            }
+        } finally {
+            previous.deleteStale(manifest);
+            manifest.save();
+        }
+    }
+
+    /** returns true if the output is generated when only the given series (or all series, if null) have changed */
+    private static boolean isSelected(OutputFile output, Set<String> series) {
+        if (series == null || output.entry.kind == TemplateListing.Kind.ONCE
+                || output.entry.kind == TemplateListing.Kind.PER_NS_SUBDIR) {
+            return true;
+        }
+        return series.contains(output.info.seriesName);
+    }
+
+    /** one code package to generate: a template listing, its methods class and where its files go */
+    public static class Target {
+
+        /** the name used in messages, such as "java" */
+        public final String name;
+        public final URL templateFile;
+        public final Class<?> methodClass;
+        /** where the files are written */
+        public final OutputSink sink;
+        /** the directory the files are written to, or null if the sink does not write to a directory */
+        public final File outputDir;
+
+        /** the number of output files in the package */
+        public int files;
+        /** the number of files skipped because their inputs had not changed */
+        public int skipped;
+        /** the number of files whose contents changed */
+        public int written;
+        /** the time spent generating the package */
+        public long millis;
+
+        public Target(String name, URL templateFile, Class<?> methodClass, File outputDir) {
+            this(name, templateFile, methodClass, new DirectorySink(outputDir));
+        }
+
+        public Target(String name, URL templateFile, Class<?> methodClass, OutputSink sink) {
+            this.name = name;
+            this.templateFile = templateFile;
+            this.methodClass = methodClass;
+            this.sink = sink;
+            this.outputDir = sink.getDirectory();
+        }
+
+        /** returns a built in target, such as "java" or "cpp", or null if there is none of that name */
+        public static Target getBuiltIn(String name, OutputSink sink) throws Exception {
+            String[] builtIn = getBuiltInTarget("-" + name);
+            if (builtIn == null) {
+                return null;
+            }
+            return new Target(builtIn[0], LmcpGen.class.getResource("/templates/" + builtIn[1]),
+                    Class.forName(builtIn[2]), sink);
+        }
+    }
+
+    /** an output file and the template, series, struct or enum it is generated from */
+    public static class OutputFile {
+
+        /** the sink the file is written to */
+        public final OutputSink sink;
+        /** the path of the file in the sink */
+        public final String path;
+        /** the file in the sink's directory, or the path as a relative file if the sink has no directory */
+        public final File file;
+        public final TemplateListing.Entry entry;
+        public final MDMInfo info;
+        public final StructInfo st;
+        public final EnumInfo en;
+
+        public OutputFile(OutputSink sink, String path, TemplateListing.Entry entry, MDMInfo info, StructInfo st,
+                EnumInfo en) {
+            this.sink = sink;
+            this.path = path;
+            this.file = sink.getDirectory() == null ? new File(path) : new File(sink.getDirectory(), path);
+            this.entry = entry;
+            this.info = info;
+            this.st = st;
+            this.en = en;
+        }
+    }
+
+    /** expands the file names of every output in the listing, in listing order */
+    public static List<OutputFile> listOutputFiles(TemplateListing listing, TagTable tags, MDMInfo[] infos, File outputDir) throws Exception {
+        return listOutputFiles(listing, tags, infos, new DirectorySink(outputDir));
+    }
+
+    /** expands the file names of every output in the listing, in listing order, as paths in the sink */
+    public static List<OutputFile> listOutputFiles(TemplateListing listing, TagTable tags, MDMInfo[] infos,
+            OutputSink sink) throws Exception {
+
+        ArrayList<OutputFile> outputs = new ArrayList<OutputFile>();
+
+        for (TemplateListing.Entry entry : listing.getEntries()) {
+
+            if (entry.kind == TemplateListing.Kind.ONCE) {
+                addOutputFile(outputs, sink, tags, infos, entry, null, null, null);
+            }
+            else if (entry.kind == TemplateListing.Kind.PER_MDM) {
+                for (MDMInfo info : infos) {
+                    if(info.seriesNameAsLong == 0)
+                    {
+                        continue;
+                    }
+                    addOutputFile(outputs, sink, tags, infos, entry, info, null, null);
+                }
+            }
+            else if (entry.kind == TemplateListing.Kind.PER_STRUCT) {
+                for (MDMInfo info : infos) {
+                    if(info.seriesNameAsLong == 0)
+                    {
+                        continue;
+                    }
+                    for (int i = 0; i < info.structs.length; i++) {
+                        addOutputFile(outputs, sink, tags, infos, entry, info, info.structs[i], null);
+                    }
+                }
+            }
+            else if (entry.kind == TemplateListing.Kind.PER_ENUM) {
+                for (MDMInfo info : infos) {
+                    if(info.seriesNameAsLong == 0)
+                    {
+                        continue;
+                    }
+                    for (int i = 0; i < info.enums.length; i++) {
+                        addOutputFile(outputs, sink, tags, infos, entry, info, null, info.enums[i]);
+                    }
+                }
+            }
+            else if (entry.kind == TemplateListing.Kind.PER_NS_SUBDIR) {
+                Set<String> subdirs = MDMInfo.getNamespaceSubdirs(infos);
+                for (String subdir : subdirs) {
+                    // make a fake MDMInfo for this part of the namespace
+                    MDMInfo dummyInfo = new MDMInfo();
+                    dummyInfo.namespace = subdir;
+                    addOutputFile(outputs, sink, tags, infos, entry, dummyInfo, null, null);
+                }
+            }
+        }
+        return outputs;
+    }
+
+    private static void addOutputFile(List<OutputFile> outputs, OutputSink sink, TagTable tags, MDMInfo[] infos,
+            TemplateListing.Entry entry, MDMInfo info, StructInfo st, EnumInfo en) throws Exception {
+        // call methods in the methods class to replace string tokens
+        String fname = entry.fileName.expand(tags, infos, info, null, st, en);
+        outputs.add(new OutputFile(sink, OutputSink.normalize(fname), entry, info, st, en));
+    }
+
+    /** the output file being expanded on each thread, for the methods that write files of their own */
+    private static final ThreadLocal<OutputFile> currentOutput = new ThreadLocal<OutputFile>();
+
+    /** returns the output file being expanded on this thread, or null */
+    public static OutputFile getCurrentOutput() {
+        return currentOutput.get();
+    }
+
+    /** expands and writes a single output file.  Returns true if the file's contents changed. */
+    public static boolean generateFile(OutputFile output, TagTable tags, MDMInfo[] infos) throws Exception {
+        OutputFile previous = currentOutput.get();
+        currentOutput.set(output);
+        try {
+            GenerationProfile profile = GenerationProfile.getActive();
+            if (profile != null) {
+                return profileFile(profile, output, tags, infos);
+            }
+            OutputSink.Output stream = output.sink.open(output.path);
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(stream), 1 << 16);
+                output.entry.template.expand(writer, tags, infos, output.info, output.file, output.st, output.en);
+                writer.close();
+                return stream.isChanged();
+            } finally {
+                // leaves the file untouched if the template could not be expanded
+                stream.abort();
+            }
+        } finally {
+            currentOutput.set(previous);
+        }
+    }
+
+    /** expands the whole file, then writes it, recording the time of each step in the profile */
+    private static boolean profileFile(GenerationProfile profile, OutputFile output, TagTable tags, MDMInfo[] infos) throws Exception {
+        long allocated = GenerationProfile.allocatedBytes();
+        long start = System.nanoTime();
+        String outString = output.entry.template.expand(tags, infos, output.info, output.file, output.st, output.en);
+        long expanded = System.nanoTime();
+        boolean changed = output.sink.write(output.path, outString);
+        long end = System.nanoTime();
+        profile.addPhase(GenerationProfile.Phase.EXPAND, expanded - start);
+        profile.addPhase(GenerationProfile.Phase.WRITE, end - expanded);
+        profile.addFile(output.file.getPath(), end - start, outString.length(), GenerationProfile.allocatedBytes() - allocated);
+        return changed;
+    }
+
+    /**
+     * expands and writes the output files in a fork-join pool.  Every file is attempted; the failures are
+     * reported together once all of the files are done.  Returns the number of files whose contents changed.
+     */
+    public static int generateFiles(List<OutputFile> outputs, TagTable tags, MDMInfo[] infos, int threads) throws Exception {
+        if (threads <= 1) {
+            return generateFiles(outputs, tags, infos, null);
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return generateFiles(outputs, tags, infos, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** expands and writes the output files in the given pool, or in order if the pool is null */
+    public static int generateFiles(List<OutputFile> outputs, final TagTable tags, final MDMInfo[] infos,
+            ForkJoinPool pool) throws Exception {
+
+        // outputs that land on the same file are generated in listing order by one task, so the last one still wins
+        LinkedHashMap<List<Object>, List<OutputFile>> byFile = new LinkedHashMap<List<Object>, List<OutputFile>>();
+        for (OutputFile output : outputs) {
+            List<Object> key = Arrays.<Object>asList(output.sink, output.path);
+            List<OutputFile> list = byFile.get(key);
+            if (list == null) {
+                list = new ArrayList<OutputFile>();
+                byFile.put(key, list);
+            }
+            list.add(output);
+        }
+
+        int written = 0;
+        ArrayList<String> failedFiles = new ArrayList<String>();
+        ArrayList<Throwable> failures = new ArrayList<Throwable>();
+
+        if (pool == null) {
+            for (List<OutputFile> list : byFile.values()) {
+                try {
+                    boolean changed = false;
+                    for (OutputFile output : list) {
+                        changed |= generateFile(output, tags, infos);
+                    }
+                    written += changed ? 1 : 0;
+                } catch (Exception ex) {
+                    failedFiles.add(list.get(0).file.getPath());
+                    failures.add(ex);
+                }
+            }
+        }
+        else {
+            ArrayList<ForkJoinTask<Boolean>> tasks = new ArrayList<ForkJoinTask<Boolean>>();
+            for (final List<OutputFile> list : byFile.values()) {
+                tasks.add(pool.submit(new Callable<Boolean>() {
+                    public Boolean call() throws Exception {
+                        boolean changed = false;
+                        for (OutputFile output : list) {
+                            changed |= generateFile(output, tags, infos);
+                        }
+                        return changed;
+                    }
+                }));
+            }
+            int i = 0;
+            for (List<OutputFile> list : byFile.values()) {
+                try {
+                    written += tasks.get(i++).get() ? 1 : 0;
+                } catch (ExecutionException ex) {
+                    failedFiles.add(list.get(0).file.getPath());
+                    failures.add(ex.getCause());
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            StringBuilder msg = new StringBuilder();
+            msg.append("Error writing ").append(failures.size()).append(" file(s):");
+            for (int i = 0; i < failures.size(); i++) {
+                msg.append("\n    ").append(failedFiles.get(i)).append(": ").append(failures.get(i).getMessage());
+            }
+            Exception ex = new Exception(msg.toString(), failures.get(0));
+            for (int i = 1; i < failures.size(); i++) {
+                ex.addSuppressed(failures.get(i));
+            }
+            throw ex;
+        }
+        return written;
+    }
+
+    /** writes each MDM file to the given directory */
+    public static void writeMDMs(MDMInfo[] mdms, File dir) throws Exception {
+        writeMDMs(mdms, new DirectorySink(dir));
+    }
+
+    /** writes each MDM file to the root of the given sink */
+    public static void writeMDMs(MDMInfo[] mdms, OutputSink sink) throws Exception {
+        for (MDMInfo info : mdms) {
+            if(info.seriesNameAsLong != 0)
+            {
+                sink.write(info.seriesName + ".xml", info.mdmString);
+            }
+        }
+    }
+
+    /** reads a file from a URL (useful when looking into jar files) and returns a String with that file's contents. */
+    public static String readFile(URL url) throws Exception {
+
+        StringBuffer buf = new StringBuffer();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()));
+        while (reader.ready()) {
+            buf.append(reader.readLine());
+            buf.append("\n");
+        }
+        reader.close();
+
+        return buf.toString();
+    }
+    
+    public static String FileIntoString(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()));
+    }
+
+
+
+    /** simply writes the contents of a string to a file if the existing file isn't already identical */
+    public static boolean writeFile(File file, String contents) throws Exception {
+        UpdatingFileOutputStream stream = new UpdatingFileOutputStream(file);
+        try {
+            Writer writer = new OutputStreamWriter(stream);
+            writer.write(contents);
+            writer.close();
+        } finally {
+            stream.abort();
+        }
+        return true;
+    }
+
+    /** calls the methodClass methods based on strings encountered in the file.  Each tag has a -{@literal <}\\w*{@literal >}- format */
+    public static String replaceTags(String input, File outfile, Class<?> methodClass,
+            MDMInfo[] infos, MDMInfo info, StructInfo st, EnumInfo en) throws Exception {
+        return CompiledTemplate.compile(input).expand(methodClass, infos, info, outfile, st, en);
+    }
+
+    /** splits a string up and returns an array of [ head, method name, tail, whitespace ] */
+    public static String[] splitString(String input) throws Exception {
+
+        String tailStr = "";
+        String headStr = "";
+        String ws = "";
+        String methodName = "";
+
+        String[] firstSplit = input.split("-<", 2);
+
+        if (firstSplit.length == 2) {
+            tailStr = firstSplit[1];
+            String[] tailSplit = tailStr.split(">-", 2);
+            methodName = tailSplit[0];
+            if (tailSplit.length < 2) {
+                throw new Exception(tailSplit[0]);
+            }
+            tailStr = tailSplit[1];
+
+            headStr = new StringBuffer(firstSplit[0]).reverse().toString();
+
+            String[] secSplit = headStr.split("[^ \\t]+", 2);
+            if (secSplit.length == 2) {
+                ws = secSplit[0];
+                headStr = headStr.replaceFirst(ws, "");
+            }
+            else {
+                headStr = secSplit[0];
+            }
+            headStr = new StringBuffer(headStr).reverse().toString();
+        }
+        else {
+            headStr = firstSplit[0];
+        }
+
+        return new String[]{headStr, methodName, tailStr, ws};
+    }
+
+    public static void main(String[] args) {
+
+        String outputDir = null;
+        Vector<String> mdmFiles = new Vector<String>();
+        String methodClassName = null;
+        URL template = null;
+        boolean listUnused = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean incremental = true;
+        String targetName = null;
+        boolean watch = false;
+        String profileFile = null;
+        String modelCache = null;
+        String sizeReport = null;
+        String roots = null;
+        boolean descendants = false;
+        String primitiveLists = null;
+        boolean boxedGetters = false;
+        String zipFile = null;
+        boolean diff = false;
+        long sizeLimit = SizeReport.DEFAULT_BUFFER_SIZE;
+        ArrayList<File> mdmDirs = new ArrayList<File>();
+        // name, template listing, methods class and output directory of each target given its own directory
+        ArrayList<String[]> targets = new ArrayList<String[]>();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (args[i].equalsIgnoreCase("-dir")) {
+                outputDir = args[i + 1];
+            }
+            else if(args[i].equalsIgnoreCase("-mdmdir")) {
+                String mdmDir = args[i+1];
+                mdmDirs.add(new File(mdmDir));
+                File[] files = new File(mdmDir).listFiles();
+                for (File file : files) {
+                    if (file.isFile() &&
+                            ( file.getName().toLowerCase().endsWith(".xml") ||
+                              file.getName().toLowerCase().endsWith(".mdm")))
+                    {
+                        mdmFiles.add(file.getAbsolutePath());
+                    }
+                }
+            }
+            else if (args[i].equalsIgnoreCase("-mdm")) {
+                mdmFiles.add(args[i + 1]);
+            }
+            else if (args[i].equalsIgnoreCase("-threads")) {
+                threads = Integer.parseInt(args[i + 1]);
+            }
+            else if (args[i].equalsIgnoreCase("-methods")) {
+                methodClassName = args[i + 1];
+            }
+            else if (args[i].equalsIgnoreCase("-template")) {
+                template = getURL(args[i + 1]);
+            }
+            else if (getBuiltInTarget(args[i]) != null) {
+                String[] builtIn = getBuiltInTarget(args[i]);
+                if (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+                    // a target with its own output directory
+                    targets.add(new String[]{builtIn[0], "/templates/" + builtIn[1], builtIn[2], args[i + 1]});
+                }
+                else {
+                    targetName = builtIn[0];
+                    template = LmcpGen.class.getResource("/templates/" + builtIn[1]);
+                    methodClassName = builtIn[2];
+                    i -= 1;
+                }
+            }
+            else if (args[i].equalsIgnoreCase("-full")) {
+                incremental = false;
+                i -= 1;
+            }
+            else if (args[i].equalsIgnoreCase("-profile")) {
+                profileFile = args[i + 1];
+            }
+            else if (args[i].equalsIgnoreCase("-modelcache")) {
+                modelCache = args[i + 1];
+            }
+            else if (args[i].equalsIgnoreCase("-sizereport")) {
+                sizeReport = args[i + 1];
+            }
+            else if (args[i].equalsIgnoreCase("-sizelimit")) {
+                sizeLimit = Long.parseLong(args[i + 1]);
+            }
+            else if (args[i].equalsIgnoreCase("-roots")) {
+                roots = args[i + 1];
+            }
+            else if (args[i].equalsIgnoreCase("-descendants")) {
+                descendants = true;
+                i -= 1;
+            }
+            else if (args[i].equalsIgnoreCase("-primitivelists")) {
+                primitiveLists = args[i + 1];
+            }
+            else if (args[i].equalsIgnoreCase("-boxedgetters")) {
+                boxedGetters = true;
+                i -= 1;
+            }
+            else if (args[i].equalsIgnoreCase("-zip")) {
+                zipFile = args[i + 1];
+            }
+            else if (args[i].equalsIgnoreCase("-diff")) {
+                diff = true;
+                i -= 1;
+            }
+            else if (args[i].equalsIgnoreCase("-watch")) {
+                watch = true;
+                i -= 1;
+            }
+            else if (args[i].equalsIgnoreCase("-unused")) {
+                listUnused = true;
+                i -= 1;
+            }
+            else if (args[i].equalsIgnoreCase("-help")) {
+                System.out.println(getHelpString());
+                return;
+            }
+            else if (args[i].equalsIgnoreCase("-checkMDM")) {
+                checkMDM(args[i + 1]);
+                return;
+            }
+        }
+
+        if (listUnused && methodClassName != null && template != null) {
+            listUnusedTags(methodClassName, template);
+            return;
+        }
+
+        boolean single = outputDir != null && methodClassName != null && template != null;
+        if (mdmFiles.size() == 0 || (targets.isEmpty() && !single && sizeReport == null)) {
+            System.out.println("\nError reading inputs.  Use -help for more info.\n");
+            System.out.println(getHelpString());
+            System.exit(1);
+        }
+        if (watch && (zipFile != null || diff)) {
+            System.out.println("\n-watch writes to the output directories, so it cannot be used with -zip or -diff.\n");
+            System.exit(1);
+        }
+        if (watch && primitiveLists != null) {
+            System.out.println("\n-watch cannot be used with -primitivelists.\n");
+            System.exit(1);
+        }
+
+
+        try {
+            ZipSink zip = zipFile == null ? null : new ZipSink(new File(zipFile));
+            ArrayList<Target> list = new ArrayList<Target>();
+            for (String[] t : targets) {
+                list.add(new Target(t[0], LmcpGen.class.getResource(t[1]), Class.forName(t[2]), getSink(t[0], t[3], zip, diff)));
+            }
+            if (single) {
+                String name = targetName == null ? methodClassName : targetName;
+                list.add(new Target(name, template, Class.forName(methodClassName), getSink(name, outputDir, zip, diff)));
+            }
+
+            if (watch) {
+                // MDMs given with -mdmdir are watched through their directory
+                ArrayList<File> singleFiles = new ArrayList<File>();
+                for (String name : mdmFiles) {
+                    File file = new File(name);
+                    if (!mdmDirs.contains(file.getAbsoluteFile().getParentFile())
+                            && !mdmDirs.contains(file.getParentFile())) {
+                        singleFiles.add(file);
+                    }
+                }
+                new GenerationWatcher(singleFiles, mdmDirs, list, threads, incremental).run();
+                return;
+            }
+
+            LmcpGenerator generator = new LmcpGenerator().setThreads(threads).setIncremental(incremental)
+                    .setRoots(roots, descendants);
+            if (primitiveLists != null) {
+                generator.setPrimitiveLists(primitiveLists, boxedGetters);
+            }
+            for (String name : mdmFiles) {
+                generator.addMDM(new File(name));
+            }
+            if (modelCache != null) {
+                generator.setModelCache(new File(modelCache));
+            }
+            for (Target target : list) {
+                generator.addTarget(target);
+            }
+
+            GenerationProfile profile = profileFile == null ? null : GenerationProfile.start();
+            try {
+                long start = System.nanoTime();
+                MDMInfo[] infoArray = generator.getMDMs();
+                if (roots != null) {
+                    System.out.println(generator.describeSubset());
+                }
+
+                if (sizeReport != null) {
+                    checkMDMs(infoArray);
+                    SizeReport report = new SizeReport(infoArray, sizeLimit);
+                    report.save(new File(sizeReport));
+                    System.out.println(report.getSummary());
+                }
+
+                if (!list.isEmpty()) {
+                    try {
+                        generator.generate();
+                    } finally {
+                        if (!targets.isEmpty()) {
+                            System.out.println(getTimingSummary(list, generator.getReadMillis(), (System.nanoTime() - start) / 1000000));
+                        }
+                    }
+                    if (zip != null) {
+                        zip.close();
+                    }
+                    if (diff && !reportDifferences(list)) {
+                        System.exit(1);
+                    }
+                }
+            } finally {
+                if (profile != null) {
+                    GenerationProfile.stop();
+                    profile.save(new File(profileFile));
+                    System.out.println(profile.getSummary(10));
+                }
+            }
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex);
+        }
+
+
+    }
+
+    /** returns where a target given an output directory is written: the directory, or a zip, or nowhere for -diff */
+    private static OutputSink getSink(String target, String dir, ZipSink zip, boolean diff) {
+        if (diff) {
+            return new DiffSink(new File(dir), target);
+        }
+        if (zip != null) {
+            // only the last directory of the path is kept, so the archive does not record where it was made
+            Path name = Paths.get(dir).toAbsolutePath().normalize().getFileName();
+            return zip.under(name == null ? "" : name.toString());
+        }
+        return new DirectorySink(new File(dir));
+    }
+
+    /** prints the files that differ from each target's directory, and returns true if none do */
+    private static boolean reportDifferences(List<Target> targets) {
+        int outOfDate = 0;
+        for (Target target : targets) {
+            DiffSink sink = (DiffSink) target.sink;
+            if (sink.isSame()) {
+                System.out.println(target.name + ": " + sink + " is up to date");
+            }
+            else {
+                outOfDate++;
+                System.out.print(target.name + ": " + sink + " is out of date\n" + sink.describe());
+            }
+        }
+        return outOfDate == 0;
+    }
+
+    /** the built in targets: option name, template listing and methods class */
+    private static final String[][] BUILT_IN_TARGETS = {
+        {"java", "java.tl", "avtas.lmcp.lmcpgen.JavaMethods"},
+        {"cpp", "cpp.tl", "avtas.lmcp.lmcpgen.CppMethods"},
+        {"cs", "cs.tl", "avtas.lmcp.lmcpgen.CsMethods"},
+        {"py", "python.tl", "avtas.lmcp.lmcpgen.PythonMethods"},
+        {"rs", "rust.tl", "avtas.lmcp.lmcpgen.RustMethods"},
+        {"xsd", "xsd.tl", "avtas.lmcp.lmcpgen.XsdMethods"},
+        {"doc", "doc.tl", "avtas.lmcp.lmcpgen.DocMethods"},
+        {"aadl", "aadl.tl", "avtas.lmcp.lmcpgen.AadlMethods"},
+    };
+
+    private static String[] getBuiltInTarget(String option) {
+        for (String[] target : BUILT_IN_TARGETS) {
+            if (option.equalsIgnoreCase("-" + target[0])) {
+                return target;
+            }
+        }
+        return null;
+    }
+
+    /** returns a table of the files and time of each target */
+    static String getTimingSummary(List<Target> targets, long parseMillis, long totalMillis) {
+        StringBuilder buf = new StringBuilder();
+        buf.append(String.format("%-12s %8s %8s %8s %10s%n", "target", "files", "skipped", "written", "time (ms)"));
+        for (Target target : targets) {
+            buf.append(String.format("%-12s %8d %8d %8d %10d%n", target.name, target.files, target.skipped,
+                    target.written, target.millis));
+        }
+        buf.append(String.format("%-12s %8s %8s %8s %10d%n", "(read MDMs)", "", "", "", parseMillis));
+        buf.append(String.format("%-12s %8s %8s %8s %10d", "(total)", "", "", "", totalMillis));
+        return buf.toString();
+    }
+
+    private static URL getURL(String name) {
+
+        File f = new File(name);
+        if (f.exists()) {
+            try {
+                return f.toURI().toURL();
+            }
+            catch (Exception ex) {
+                return null;
+            }
+        }
+        else if (!f.isAbsolute()) {
+            URL url = LmcpGen.class.getResource('/' + name);
+            if (url != null) return url;
+        }
+        System.out.println("\nCan't find " + name);
+        return null;
+    }
+
+    private static String getHelpString() {
+
+        StringBuffer buf = new StringBuffer();
+        buf.append("usage: java -jar LmcpGen.jar [options]\n\n");
+        buf.append("options:\n");
+        buf.append("-mdm <filename> path to the MDM XML file.  Multiple MDMs can be specified by repeating the -mdm tag.\n\n");
+        buf.append("-mdmdir <directory path> to directory containing multiple MDM XML files.\n\n");
+        buf.append("-java Adds proper template and method name for Java output.\n\n");
+        buf.append("-cpp Adds proper template and method name for C++ output.\n\n");
+        buf.append("-cs Adds proper template and method name for C# output.\n\n");
+        buf.append("-py Adds proper template and method name for Python output.\n\n");
+        buf.append("-aadl Adds proper template and method name for AADL output.\n\n");
+        buf.append("-xsd Adds proper template and method name for XML schema output.\n\n");
+        buf.append("-doc Adds proper template and method name for documentation output.\n\n");
+        buf.append("     Each of these options may be followed by its own output directory, for instance\n");
+        buf.append("     -java out/java -cpp out/cpp.  The MDMs are then read and checked once and all of\n");
+        buf.append("     the targets are generated together, followed by a summary of the time each took.\n\n");
+        buf.append("-dir <directory path> path to the directory where files are to be written\n");
+        buf.append("     The directory must exist.\n\n");
+        buf.append("-zip <zip file> Writes the targets to a zip or jar file instead of their directories.  The\n");
+        buf.append("     last directory of each target's output path becomes its directory in the archive,\n");
+        buf.append("     so -java /tmp/out/java is written under java/.\n\n");
+        buf.append("-diff Writes nothing, and lists the files of each output directory that generating the\n");
+        buf.append("     targets would add, change or delete.  Exits with status 1 if any would change.\n\n");
+        buf.append("-watch Keeps running after generating the targets, and regenerates the files that depend\n");
+        buf.append("     on an MDM or template whenever it changes.\n\n");
+        buf.append("-profile <report file> Writes the time, output and allocation of every tag method, the time\n");
+        buf.append("     of every output file and of each phase (parse, check, templates, expand, write) to\n");
+        buf.append("     a JSON report, and prints the tags and files that took the most time.\n\n");
+        buf.append("-roots <types> Generates only the given types and the types they need: the structs they\n");
+        buf.append("     extend and the structs and enums their fields use.  Types are separated by commas and\n");
+        buf.append("     given as Name, SERIES/Name or a subscription string such as afrl.cmasi.Name.  The\n");
+        buf.append("     series enums still list the IDs of the structs that are left out.\n\n");
+        buf.append("-descendants With -roots, also generates every struct that extends a generated struct.\n\n");
+        buf.append("-primitivelists <series> (Java) Generates the variable length arrays of numbers of the given\n");
+        buf.append("     series, separated by commas, or of all series as primitive lists such as\n");
+        buf.append("     avtas.lmcp.DoubleList instead of ArrayLists of boxed values.\n\n");
+        buf.append("-boxedgetters With -primitivelists, the getters of those arrays still return a java.util.List\n");
+        buf.append("     of boxed values, and the primitive lists are returned by get<Field>List().\n\n");
+        buf.append("-sizereport <report file> Writes the smallest, typical and worst case message size, nesting\n");
+        buf.append("     depth and fan-out of every struct, and the arrays with no MaxArrayLength, to a CSV,\n");
+        buf.append("     JSON or HTML report chosen by the file extension.  Structs whose messages may not fit\n");
+        buf.append("     in the buffer given with -sizelimit <bytes> (1048576 by default, the buffer of the\n");
+        buf.append("     C++ test server) are flagged and listed first.\n\n");
+        buf.append("-modelcache <cache file> Keeps a snapshot of the checked MDMs in the file, and loads it\n");
+        buf.append("     instead of reading and checking the MDMs while they and LmcpGen are unchanged.\n\n");
+        buf.append("-full Generates every file, ignoring the manifest of inputs from the last run.\n\n");
+        buf.append("-threads <count> number of threads used to generate files.  Defaults to the number\n");
+        buf.append("     of available processors; 1 generates the files one at a time.\n\n");
+        buf.append("-methods <method class name> Specifies the fullly resolved \n");
+        buf.append("     class name.  The class must be on the classpath.\n\n");
+        buf.append("-template <template file> The .tl file used as an index for file.\n ");
+        buf.append("-checkMDM <mdm file> Checks the MDM file for errors and exits ");
+        buf.append("creation. \n\n");
+        buf.append("-unused Lists the tag methods of the methods class that no template uses and exits.\n\n");
+
+        return buf.toString();
+    }
+
+    private static void listUnusedTags(String methodClassName, URL template) {
+        try {
+            TemplateListing listing = TemplateListing.read(template);
+            for (String name : TagTable.getUnusedTags(Class.forName(methodClassName), listing)) {
+                System.out.println(name);
+            }
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private static void checkMDM(String string) {
+        try {
+            MDMReader.readMDM(new File(string));
+        } catch (Exception ex) {
+            System.out.println(ex.getMessage());
+        }
+
+    }
+}
@@ -0,0 +1,242 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generates code packages from MDMs, for programs that embed LmcpGen, such as build plugins and tests.  The MDMs can
+ * be files or contents held in memory, and each package is written to an {@link OutputSink}, so that code can be
+ * generated straight into memory or a jar without touching the file system.  The command line and
+ * {@link LmcpGenGUI} are front ends to this class.
+ * <pre>
+ *     MemorySink sink = new MemorySink();
+ *     new LmcpGenerator().addMDM("CMASI.xml", mdmBytes).addTarget("java", sink).generate();
+ *     String text = sink.getString("src/afrl/cmasi/AirVehicleState.java");
+ * </pre>
+ *
+ * @author default
+ */
+public class LmcpGenerator {
+
+    /** each MDM added: a file, or the name and contents of one held in memory */
+    private final ArrayList<File> files = new ArrayList<File>();
+    private final ArrayList<String> names = new ArrayList<String>();
+    private final ArrayList<byte[]> contents = new ArrayList<byte[]>();
+
+    private final ArrayList<LmcpGen.Target> targets = new ArrayList<LmcpGen.Target>();
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean incremental = true;
+    private File modelCache = null;
+    private String roots = null;
+    private boolean descendants = false;
+    private String primitiveLists = null;
+    private boolean boxedListGetters = false;
+
+    private MDMInfo[] allInfos = null;
+    private MDMInfo[] infos = null;
+    private long readMillis = 0;
+
+    /** adds an MDM file */
+    public LmcpGenerator addMDM(File file) {
+        files.add(file);
+        names.add(file.getPath());
+        contents.add(null);
+        infos = null;
+        return this;
+    }
+
+    /** adds an MDM held in memory.  The name is only used in messages. */
+    public LmcpGenerator addMDM(String name, byte[] mdm) {
+        files.add(null);
+        names.add(name);
+        contents.add(mdm);
+        infos = null;
+        return this;
+    }
+
+    /** adds an MDM read from a stream, which is read to its end but not closed.  The name is only used in messages. */
+    public LmcpGenerator addMDM(String name, InputStream in) throws Exception {
+        return addMDM(name, MDMReader.readAll(in));
+    }
+
+    /** adds a built in package, such as "java", "cpp", "cs", "py", "rs", "xsd", "doc" or "aadl" */
+    public LmcpGenerator addTarget(String language, OutputSink sink) throws Exception {
+        LmcpGen.Target target = LmcpGen.Target.getBuiltIn(language, sink);
+        if (target == null) {
+            throw new Exception("There is no built in target named " + language);
+        }
+        return addTarget(target);
+    }
+
+    /** adds a package made from a template listing and the class with the methods of its tags */
+    public LmcpGenerator addTarget(String name, URL templateListing, Class<?> methodClass, OutputSink sink) {
+        return addTarget(new LmcpGen.Target(name, templateListing, methodClass, sink));
+    }
+
+    public LmcpGenerator addTarget(LmcpGen.Target target) {
+        targets.add(target);
+        return this;
+    }
+
+    /** sets the number of threads that read the MDMs and write the files */
+    public LmcpGenerator setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /** sets whether packages written to a directory skip the files whose inputs have not changed (the default) */
+    public LmcpGenerator setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    /** keeps a snapshot of the checked MDMs in the file.  See {@link ModelCache}.  Only used if every MDM is a file. */
+    public LmcpGenerator setModelCache(File cacheFile) {
+        this.modelCache = cacheFile;
+        infos = null;
+        return this;
+    }
+
+    /** generates only the given types and the types they need.  See {@link TypeSubset}. */
+    public LmcpGenerator setRoots(String roots, boolean descendants) {
+        this.roots = roots;
+        this.descendants = descendants;
+        infos = null;
+        return this;
+    }
+
+    /**
+     * generates the variable length arrays of numbers of the given series, separated by commas, or of "all" series as
+     * primitive lists, such as avtas.lmcp.DoubleList in Java, rather than lists of boxed values.  With boxedGetters,
+     * their getters still return a java.util.List of boxed values, and the lists themselves are returned by get...List().
+     */
+    public LmcpGenerator setPrimitiveLists(String series, boolean boxedGetters) {
+        this.primitiveLists = series;
+        this.boxedListGetters = boxedGetters;
+        infos = null;
+        return this;
+    }
+
+    public List<LmcpGen.Target> getTargets() {
+        return Collections.unmodifiableList(targets);
+    }
+
+    /** reads and checks the MDMs, once, and returns those that are generated */
+    public MDMInfo[] getMDMs() throws Exception {
+        if (infos != null) {
+            return infos;
+        }
+        if (files.isEmpty()) {
+            throw new Exception("No MDM was given");
+        }
+
+        long start = System.nanoTime();
+        ArrayList<File> fileList = new ArrayList<File>();
+        for (File file : files) {
+            if (file != null) {
+                fileList.add(file);
+            }
+        }
+        boolean cached = modelCache != null && fileList.size() == files.size();
+        MDMInfo[] read = cached ? MDMReader.readCheckedMDMs(fileList, threads, modelCache)
+                : MDMReader.readMDMs(fileList, threads);
+
+        // the MDMs held in memory go back in the order they were added
+        MDMInfo[] all = new MDMInfo[files.size()];
+        ArrayList<String> failedNames = new ArrayList<String>();
+        ArrayList<Throwable> failures = new ArrayList<Throwable>();
+        for (int i = 0, j = 0; i < all.length; i++) {
+            if (files.get(i) != null) {
+                all[i] = read[j++];
+                continue;
+            }
+            try {
+                all[i] = MDMReader.readMDM(contents.get(i));
+            } catch (Exception ex) {
+                failedNames.add(names.get(i));
+                failures.add(ex);
+            }
+        }
+        if (!failures.isEmpty()) {
+            StringBuilder msg = new StringBuilder();
+            msg.append("Error reading ").append(failures.size()).append(" MDM(s):");
+            for (int i = 0; i < failures.size(); i++) {
+                msg.append("\n    ").append(failedNames.get(i)).append(": ")
+                        .append(String.valueOf(failures.get(i).getMessage()).trim().replace("\n", "\n        "));
+            }
+            Exception ex = new Exception(msg.toString(), failures.get(0));
+            for (int i = 1; i < failures.size(); i++) {
+                ex.addSuppressed(failures.get(i));
+            }
+            throw ex;
+        }
+        readMillis = (System.nanoTime() - start) / 1000000;
+        GenerationProfile profile = GenerationProfile.getActive();
+        if (profile != null) {
+            profile.addPhase(GenerationProfile.Phase.PARSE, System.nanoTime() - start);
+        }
+
+        if (primitiveLists != null) {
+            setPrimitiveLists(all, primitiveLists, boxedListGetters);
+        }
+
+        allInfos = all;
+        if (roots != null) {
+            LmcpGen.checkMDMs(all);
+            infos = TypeSubset.select(all, TypeSubset.parseRoots(roots), descendants);
+        }
+        else {
+            infos = all;
+        }
+        return infos;
+    }
+
+    /** marks the series that use primitive lists */
+    private static void setPrimitiveLists(MDMInfo[] infos, String series, boolean boxedGetters) throws Exception {
+        for (String name : series.trim().split("[,\\s]+")) {
+            boolean found = false;
+            for (MDMInfo info : infos) {
+                if (name.equalsIgnoreCase("all") || info.seriesName.equals(name)) {
+                    info.primitiveLists = true;
+                    info.boxedListGetters = boxedGetters;
+                    found = true;
+                }
+            }
+            if (!found) {
+                throw new Exception("Unknown series given for primitive lists: " + name);
+            }
+        }
+    }
+
+    /** returns the size of the subset generated, or null if every type is generated */
+    public String describeSubset() throws Exception {
+        MDMInfo[] subset = getMDMs();
+        return roots == null ? null : TypeSubset.describe(allInfos, subset);
+    }
+
+    /** returns the time spent reading the MDMs */
+    public long getReadMillis() {
+        return readMillis;
+    }
+
+    /**
+     * generates every package at the same time.  The sinks are not closed, so a sink such as a {@link ZipSink}
+     * must be closed once this returns.  Each target's file counts and time are recorded in it.
+     */
+    public void generate() throws Exception {
+        LmcpGen.makePackages(getMDMs(), targets, threads, incremental);
+    }
+}
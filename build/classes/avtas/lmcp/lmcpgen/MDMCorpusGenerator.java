@@ -0,0 +1,453 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a corpus of synthetic MDMs for scale and stress testing: any number of series and structs, a configurable
+ * mix of field types, inheritance chains up to a given depth, and references between series that follow a chosen
+ * dependency shape.  The model is built with MDMInfo, StructInfo, FieldInfo and EnumInfo and written with
+ * {@link MDMWriter}.  The same settings and seed always produce the same files.
+ * <p>
+ * Every dependency the shape calls for is used by at least one field, so the shape is always present in the
+ * mdmDependencies of the corpus.  The CYCLE shape deliberately makes the first series depend on the last, which
+ * MDMReader.checkMDMs rejects.
+ *
+ * @author default
+ */
+public class MDMCorpusGenerator {
+
+    /** which series refer to which */
+    public enum Shape {
+        /** no references between series */
+        NONE,
+        /** each series refers to the one before it */
+        CHAIN,
+        /** every series refers to the first one */
+        STAR,
+        /** the middle series refer to the first, and the last refers to all of the middle ones */
+        DIAMOND,
+        /** each series refers to each earlier series with a probability of one half */
+        RANDOM,
+        /** a chain, with the first series also referring to the last */
+        CYCLE
+    }
+
+    public long seed = 1;
+    public int seriesCount = 2;
+    /** total number of structs, divided evenly between the series */
+    public int structCount = 100;
+    public int enumsPerSeries = 2;
+    public int minFields = 2;
+    public int maxFields = 10;
+    /** the longest chain of parents a struct can have */
+    public int inheritanceDepth = 3;
+    /** chance that a struct extends another one */
+    public double extendsFraction = 0.3;
+    public Shape shape = Shape.CHAIN;
+    /** chance that a struct or enum field refers to a type in a series this one depends on */
+    public double crossSeriesFraction = 0.3;
+
+    /** relative weights of primitive, enum, struct and LmcpObject fields */
+    public int primitiveWeight = 6;
+    public int enumWeight = 1;
+    public int structWeight = 2;
+    public int objectWeight = 1;
+    public List<String> primitives = new ArrayList<String>(Arrays.asList(
+            "bool", "byte", "char", "int16", "uint16", "int32", "uint32", "int64", "real32", "real64", "string"));
+
+    /** chance that a field is a fixed length array */
+    public double fixedArrayFraction = 0.1;
+    /** chance that a field is a variable length array */
+    public double variableArrayFraction = 0.2;
+    /** chance that a variable length array is a LargeArray */
+    public double largeArrayFraction = 0.2;
+    /** chance that a variable length array has a MaxArrayLength */
+    public double maxArrayLengthFraction = 0.3;
+    /** chance that a scalar struct field is Optional */
+    public double optionalFraction = 0.2;
+
+    private Random rand;
+    private MDMInfo[] infos;
+    /** the number of parents of each filled struct.  StructInfo's hash covers its fields, so it is keyed by identity. */
+    private IdentityHashMap<StructInfo, Integer> depths;
+
+    /** builds the corpus in memory */
+    public MDMInfo[] generate() throws Exception {
+        rand = new Random(seed);
+        depths = new IdentityHashMap<StructInfo, Integer>();
+        infos = new MDMInfo[seriesCount];
+
+        // declare every series, struct and enum first, so that fields can refer to any of them
+        for (int s = 0; s < seriesCount; s++) {
+            MDMInfo info = new MDMInfo();
+            info.seriesName = "SYN" + s;
+            info.seriesNameAsLong = MDMReader.seriesNameToLong(info.seriesName);
+            info.namespace = "synthetic/syn" + s;
+            info.version = 1;
+            info.comment = "Synthetic series " + s;
+            int count = structCount / seriesCount + (s < structCount % seriesCount ? 1 : 0);
+            info.structs = new StructInfo[count];
+            for (int i = 0; i < count; i++) {
+                StructInfo st = new StructInfo();
+                st.name = "S" + s + "Struct" + i;
+                st.seriesName = info.seriesName;
+                st.namespace = info.namespace;
+                info.structs[i] = st;
+            }
+            info.enums = new EnumInfo[enumsPerSeries];
+            for (int i = 0; i < enumsPerSeries; i++) {
+                info.enums[i] = makeEnum(info, "S" + s + "Enum" + i);
+            }
+            infos[s] = info;
+        }
+
+        for (int s = 0; s < seriesCount; s++) {
+            List<MDMInfo> deps = getDependencies(s);
+            for (int i = 0; i < infos[s].structs.length; i++) {
+                fillStruct(infos[s], i, deps);
+            }
+            if (infos[s].structs.length > 0) {
+                // make sure every dependency of the shape is used
+                StructInfo first = infos[s].structs[0];
+                ArrayList<FieldInfo> fields = new ArrayList<FieldInfo>(Arrays.asList(first.fields));
+                for (MDMInfo dep : deps) {
+                    if (dep.structs.length > 0) {
+                        FieldInfo f = newField(first, fields.size());
+                        f.type = dep.structs[rand.nextInt(dep.structs.length)].name;
+                        f.seriesName = dep.seriesName;
+                        f.isStruct = true;
+                        fields.add(f);
+                    }
+                }
+                first.fields = fields.toArray(new FieldInfo[fields.size()]);
+            }
+        }
+        return infos;
+    }
+
+    /** builds the corpus and writes one file per series into dir */
+    public File[] write(File dir) throws Exception {
+        MDMInfo[] corpus = generate();
+        dir.mkdirs();
+        File[] files = new File[corpus.length];
+        for (int i = 0; i < corpus.length; i++) {
+            files[i] = new File(dir, corpus[i].seriesName.toLowerCase() + ".xml");
+            LmcpGen.writeFile(files[i], MDMWriter.toXML(corpus[i]));
+        }
+        return files;
+    }
+
+    /** returns the series that series s refers to */
+    List<MDMInfo> getDependencies(int s) {
+        Set<Integer> deps = new LinkedHashSet<Integer>();
+        int last = seriesCount - 1;
+        switch (shape) {
+            case CHAIN:
+                if (s > 0) {
+                    deps.add(s - 1);
+                }
+                break;
+            case CYCLE:
+                deps.add(s > 0 ? s - 1 : last);
+                break;
+            case STAR:
+                if (s > 0) {
+                    deps.add(0);
+                }
+                break;
+            case DIAMOND:
+                if (seriesCount < 3) {
+                    if (s > 0) {
+                        deps.add(s - 1);
+                    }
+                }
+                else if (s == last) {
+                    for (int i = 1; i < last; i++) {
+                        deps.add(i);
+                    }
+                }
+                else if (s > 0) {
+                    deps.add(0);
+                }
+                break;
+            case RANDOM:
+                for (int i = 0; i < s; i++) {
+                    if (rand.nextBoolean()) {
+                        deps.add(i);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        deps.remove(s);
+        ArrayList<MDMInfo> list = new ArrayList<MDMInfo>();
+        for (int i : deps) {
+            list.add(infos[i]);
+        }
+        return list;
+    }
+
+    private void fillStruct(MDMInfo info, int index, List<MDMInfo> deps) throws Exception {
+        StructInfo st = info.structs[index];
+        st.comment = rand.nextInt(4) == 0 ? "Synthetic struct " + index + " of " + info.seriesName : "";
+
+        int depth = 0;
+        if (rand.nextDouble() < extendsFraction && inheritanceDepth > 0) {
+            // parents come from structs that are already filled, in this series or one it depends on
+            ArrayList<StructInfo> parents = new ArrayList<StructInfo>();
+            for (int i = 0; i < index; i++) {
+                addParent(parents, info.structs[i]);
+            }
+            for (MDMInfo dep : deps) {
+                for (StructInfo candidate : dep.structs) {
+                    addParent(parents, candidate);
+                }
+            }
+            if (!parents.isEmpty()) {
+                StructInfo parent = parents.get(rand.nextInt(parents.size()));
+                st.extends_name = parent.name;
+                st.extends_series = parent.seriesName;
+                depth = depths.get(parent) + 1;
+            }
+        }
+        depths.put(st, depth);
+
+        int count = minFields + rand.nextInt(Math.max(maxFields - minFields + 1, 1));
+        st.fields = new FieldInfo[count];
+        for (int i = 0; i < count; i++) {
+            st.fields[i] = makeField(info, index, st, i, deps);
+        }
+    }
+
+    private void addParent(List<StructInfo> parents, StructInfo candidate) {
+        Integer depth = depths.get(candidate);
+        if (depth != null && depth < inheritanceDepth) {
+            parents.add(candidate);
+        }
+    }
+
+    private FieldInfo makeField(MDMInfo info, int index, StructInfo st, int fieldIndex, List<MDMInfo> deps) {
+        FieldInfo f = newField(st, fieldIndex);
+        int total = primitiveWeight + enumWeight + structWeight + objectWeight;
+        int pick = total > 0 ? rand.nextInt(total) : 0;
+
+        if ((pick -= primitiveWeight) < 0 || total == 0) {
+            f.type = primitives.get(rand.nextInt(primitives.size()));
+            if (MDMInfo.isNumber(f.type) && rand.nextInt(4) == 0) {
+                f.defaultVal = f.type.startsWith("real") ? "1.5" : "1";
+            }
+            if (f.type.startsWith("real") && rand.nextInt(3) == 0) {
+                f.units = "meter";
+            }
+        }
+        else if ((pick -= enumWeight) < 0) {
+            MDMInfo source = pickSeries(info, deps, true);
+            if (source.enums.length == 0) {
+                f.type = primitives.get(0);
+            }
+            else {
+                f.type = source.enums[rand.nextInt(source.enums.length)].name;
+                f.seriesName = source.seriesName;
+                f.isEnum = true;
+            }
+        }
+        else if ((pick -= structWeight) < 0) {
+            MDMInfo source = pickSeries(info, deps, index > 0);
+            // structs in this series only refer to earlier ones
+            int limit = source == info ? index : source.structs.length;
+            if (limit == 0) {
+                f.type = MDMInfo.LMCP_OBJECT_NAME;
+                f.isStruct = true;
+            }
+            else {
+                f.type = source.structs[rand.nextInt(limit)].name;
+                f.seriesName = source.seriesName;
+                f.isStruct = true;
+            }
+        }
+        else {
+            f.type = MDMInfo.LMCP_OBJECT_NAME;
+            f.isStruct = true;
+        }
+        if (f.type.equals(MDMInfo.LMCP_OBJECT_NAME) && objectWeight == 0) {
+            // LmcpObject fields were not asked for, so fall back to a primitive
+            f.type = primitives.get(rand.nextInt(primitives.size()));
+            f.isStruct = false;
+        }
+
+        double r = rand.nextDouble();
+        if (r < fixedArrayFraction) {
+            f.isArray = true;
+            f.isScalar = false;
+            f.length = 1 + rand.nextInt(8);
+            f.defaultVal = "";
+        }
+        else if (r < fixedArrayFraction + variableArrayFraction) {
+            f.isArray = true;
+            f.isScalar = false;
+            f.length = -1;
+            f.defaultVal = "";
+            f.isLargeArray = rand.nextDouble() < largeArrayFraction;
+            if (rand.nextDouble() < maxArrayLengthFraction) {
+                f.maxArrayLength = 1 + rand.nextInt(64);
+            }
+        }
+        else if (f.isStruct && rand.nextDouble() < optionalFraction) {
+            f.isOptional = true;
+        }
+        return f;
+    }
+
+    /** returns this series, or one it depends on */
+    private MDMInfo pickSeries(MDMInfo info, List<MDMInfo> deps, boolean allowOwn) {
+        if (!deps.isEmpty() && (!allowOwn || rand.nextDouble() < crossSeriesFraction)) {
+            MDMInfo dep = deps.get(rand.nextInt(deps.size()));
+            if (dep.structs.length > 0 || !allowOwn) {
+                return dep;
+            }
+        }
+        return info;
+    }
+
+    private static FieldInfo newField(StructInfo st, int fieldIndex) {
+        FieldInfo f = new FieldInfo();
+        // unique within the inheritance chain, since every struct has its own prefix
+        f.name = st.name + "F" + fieldIndex;
+        f.seriesName = st.seriesName;
+        f.isScalar = true;
+        return f;
+    }
+
+    private EnumInfo makeEnum(MDMInfo info, String name) {
+        EnumInfo en = new EnumInfo();
+        en.name = name;
+        en.seriesName = info.seriesName;
+        en.namespace = info.namespace;
+        int count = 2 + rand.nextInt(5);
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            EnumInfo.EnumEntry entry = new EnumInfo.EnumEntry();
+            entry.name = name + "Entry" + i;
+            value += 1 + (rand.nextInt(4) == 0 ? rand.nextInt(10) : 0);
+            entry.value = String.valueOf(value);
+            en.entries.add(entry);
+        }
+        return en;
+    }
+
+    /**
+     * writes a corpus from the command line, then reads it back to check it against the DTD and (except for the
+     * CYCLE shape) with MDMReader.checkMDMs.
+     */
+    public static void main(String[] args) throws Exception {
+        MDMCorpusGenerator gen = new MDMCorpusGenerator();
+        File dir = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            if (args[i].equalsIgnoreCase("-dir")) {
+                dir = new File(value);
+            }
+            else if (args[i].equalsIgnoreCase("-seed")) {
+                gen.seed = Long.parseLong(value);
+            }
+            else if (args[i].equalsIgnoreCase("-series")) {
+                gen.seriesCount = Integer.parseInt(value);
+            }
+            else if (args[i].equalsIgnoreCase("-structs")) {
+                gen.structCount = Integer.parseInt(value);
+            }
+            else if (args[i].equalsIgnoreCase("-enums")) {
+                gen.enumsPerSeries = Integer.parseInt(value);
+            }
+            else if (args[i].equalsIgnoreCase("-fields")) {
+                String[] splits = value.split(",");
+                gen.minFields = Integer.parseInt(splits[0]);
+                gen.maxFields = Integer.parseInt(splits[splits.length - 1]);
+            }
+            else if (args[i].equalsIgnoreCase("-depth")) {
+                gen.inheritanceDepth = Integer.parseInt(value);
+            }
+            else if (args[i].equalsIgnoreCase("-extends")) {
+                gen.extendsFraction = Double.parseDouble(value);
+            }
+            else if (args[i].equalsIgnoreCase("-shape")) {
+                gen.shape = Shape.valueOf(value.toUpperCase());
+            }
+            else if (args[i].equalsIgnoreCase("-cross")) {
+                gen.crossSeriesFraction = Double.parseDouble(value);
+            }
+            else if (args[i].equalsIgnoreCase("-mix")) {
+                // primitive,enum,struct,object weights
+                String[] splits = value.split(",");
+                gen.primitiveWeight = Integer.parseInt(splits[0]);
+                gen.enumWeight = Integer.parseInt(splits[1]);
+                gen.structWeight = Integer.parseInt(splits[2]);
+                gen.objectWeight = Integer.parseInt(splits[3]);
+            }
+            else if (args[i].equalsIgnoreCase("-primitives")) {
+                gen.primitives = new ArrayList<String>(Arrays.asList(value.split(",")));
+            }
+            else if (args[i].equalsIgnoreCase("-arrays")) {
+                // fixed,variable,large,maxlength fractions
+                String[] splits = value.split(",");
+                gen.fixedArrayFraction = Double.parseDouble(splits[0]);
+                gen.variableArrayFraction = Double.parseDouble(splits[1]);
+                gen.largeArrayFraction = Double.parseDouble(splits[2]);
+                gen.maxArrayLengthFraction = Double.parseDouble(splits[3]);
+            }
+            else if (args[i].equalsIgnoreCase("-optional")) {
+                gen.optionalFraction = Double.parseDouble(value);
+            }
+        }
+        if (dir == null) {
+            System.out.println(getHelpString());
+            System.exit(1);
+        }
+
+        File[] files = gen.write(dir);
+        MDMInfo[] read = new MDMInfo[files.length];
+        for (int i = 0; i < files.length; i++) {
+            read[i] = MDMReader.readMDM(files[i]);
+        }
+        if (gen.shape != Shape.CYCLE) {
+            MDMReader.checkMDMs(read);
+        }
+        System.out.println("Wrote " + files.length + " MDMs with " + gen.structCount + " structs to " + dir);
+    }
+
+    private static String getHelpString() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("usage: java -cp LmcpGen.jar avtas.lmcp.lmcpgen.MDMCorpusGenerator -dir <directory> [options]\n\n");
+        buf.append("-seed <n>                         random seed (1)\n");
+        buf.append("-series <n>                       number of series (2)\n");
+        buf.append("-structs <n>                      total number of structs (100)\n");
+        buf.append("-enums <n>                        enums per series (2)\n");
+        buf.append("-fields <min>,<max>               fields per struct (2,10)\n");
+        buf.append("-depth <n>                        maximum inheritance depth (3)\n");
+        buf.append("-extends <fraction>               chance that a struct extends another (0.3)\n");
+        buf.append("-shape <shape>                    none, chain, star, diamond, random or cycle (chain)\n");
+        buf.append("-cross <fraction>                 chance that a field refers to another series (0.3)\n");
+        buf.append("-mix <p>,<e>,<s>,<o>              weights of primitive, enum, struct and LmcpObject fields (6,1,2,1)\n");
+        buf.append("-primitives <type>,...            primitive types to use (all)\n");
+        buf.append("-arrays <fixed>,<var>,<large>,<max>  array fractions (0.1,0.2,0.2,0.3)\n");
+        buf.append("-optional <fraction>              chance that a struct field is Optional (0.2)\n");
+        return buf.toString();
+    }
+}
@@ -0,0 +1,538 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads an MDM from its bytes in a single pass over a StAX event stream.  The elements and attributes are checked
+ * against the declarations of MDM.DTD as they are read, and problems are reported with the same line-numbered
+ * messages that MDMErrorHandler collects from the validating DOM parser.  The model is the same one that
+ * MDMReader.getFromXML builds from a DOM, including the default attribute values the DTD supplies.
+ *
+ * @author default
+ */
+class MDMStreamReader {
+
+    /** an element declaration of MDM.DTD */
+    static class Decl {
+
+        /** the content model as the DOM parser prints it, or null for text only */
+        final String model;
+        /** matches the names of the child elements, each followed by a comma */
+        final Pattern children;
+        /** the declared attributes and their defaults, with null for #REQUIRED */
+        final LinkedHashMap<String, String> attributes = new LinkedHashMap<String, String>();
+        /** the attributes that must take one of a list of values */
+        final HashMap<String, List<String>> choices = new HashMap<String, List<String>>();
+
+        Decl(String model, String children) {
+            this.model = model;
+            this.children = children == null ? null : Pattern.compile(children);
+        }
+
+        Decl attribute(String name, String defaultVal) {
+            attributes.put(name, defaultVal);
+            return this;
+        }
+
+        Decl choice(String name, String defaultVal, String... values) {
+            attributes.put(name, defaultVal);
+            ArrayList<String> list = new ArrayList<String>();
+            for (String v : values) {
+                list.add(v);
+            }
+            choices.put(name, list);
+            return this;
+        }
+    }
+
+    /** the declarations of MDM.DTD, which must be kept in step with it */
+    static final HashMap<String, Decl> DECLS = new HashMap<String, Decl>();
+
+    static {
+        DECLS.put("MDM", new Decl("(SeriesName+,Namespace+,Version?,Comment?,EnumList?,StructList?)",
+                "(SeriesName,)+(Namespace,)+(Version,)?(Comment,)?(EnumList,)?(StructList,)?"));
+        DECLS.put("SeriesName", new Decl(null, null));
+        DECLS.put("Namespace", new Decl(null, null));
+        DECLS.put("Version", new Decl(null, null));
+        DECLS.put("StartID", new Decl(null, null));
+        DECLS.put("Comment", new Decl(null, null));
+        DECLS.put("EnumList", new Decl("(Enum)*", "(Enum,)*"));
+        DECLS.put("Field", new Decl("(Comment)?", "(Comment,)?")
+                .attribute("Default", "")
+                .attribute("Type", null)
+                .attribute("Name", null)
+                .attribute("Series", "")
+                .attribute("Units", "None")
+                .choice("LargeArray", "false", "false", "true")
+                .attribute("MaxArrayLength", "")
+                .choice("Optional", "false", "false", "true"));
+        DECLS.put("StructList", new Decl("(Struct)*", "(Struct,)*"));
+        DECLS.put("Struct", new Decl("(Comment?,Field*)", "(Comment,)?(Field,)*")
+                .attribute("Extends", "")
+                .attribute("Name", null)
+                .attribute("Series", "")
+                .attribute("ID", ""));
+        DECLS.put("Enum", new Decl("(Comment?,Entry*)", "(Comment,)?(Entry,)*")
+                .attribute("Name", null));
+        DECLS.put("Entry", new Decl("(Comment)?", "(Comment,)?")
+                .attribute("Name", "")
+                .attribute("Value", ""));
+    }
+
+    private static final Pattern LINE_BREAKS = Pattern.compile("[\n\r\f]+");
+    private static final Pattern DOCTYPE_NAME = Pattern.compile("<!DOCTYPE\\s+([^\\s\\[>]+)");
+
+    /** an open element */
+    private static class Frame {
+
+        final String name;
+        final Decl decl;
+        final StringBuilder children = new StringBuilder();
+        boolean badContent = false;
+        /** the nearest comment since the last child element */
+        String lastComment = null;
+        /** the value of the first child node, as the DOM gives it */
+        String firstValue = null;
+        boolean firstOpen = false;
+        int nodes = 0;
+        final HashSet<String> seen = new HashSet<String>();
+        /** true if no earlier sibling has the same name */
+        boolean first = false;
+        /** what the element is read into, if anything */
+        Object target = null;
+        String preceding = "";
+
+        Frame(String name, Decl decl) {
+            this.name = name;
+            this.decl = decl;
+        }
+    }
+
+    /** the attributes of a struct that are only used once the whole MDM is read */
+    private static class StructData {
+
+        final StructInfo struct = new StructInfo();
+        Map<String, String> attributes;
+        String comment = "";
+        String preceding = "";
+        final ArrayList<FieldData> fields = new ArrayList<FieldData>();
+    }
+
+    private static class FieldData {
+
+        Map<String, String> attributes;
+        String comment = "";
+        String preceding = "";
+    }
+
+    private final XMLInputFactory factory;
+    private final StringBuilder errors = new StringBuilder();
+    private boolean validating = true;
+    private String doctypeRoot = null;
+
+    private MDMInfo info;
+    private String seriesName = "";
+    private String namespace = "";
+    private String comment = "";
+    private String version = "";
+    private String rootPreceding = "";
+    private final ArrayList<StructData> structs = new ArrayList<StructData>();
+    private final ArrayList<EnumInfo> enums = new ArrayList<EnumInfo>();
+
+    MDMStreamReader(XMLInputFactory factory) {
+        this.factory = factory;
+    }
+
+    /** returns a factory set up for reading MDMs */
+    static XMLInputFactory newFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        // the declarations of MDM.DTD are checked here, so the DTD itself is never loaded
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            // CDATA sections are separate nodes in the DOM, so they are told apart here too
+            factory.setProperty("http://java.sun.com/xml/stream/properties/report-cdata-event", true);
+        } catch (IllegalArgumentException ex) {
+            // not the JDK's parser
+        }
+        return factory;
+    }
+
+    /** reads an MDM from the bytes of its file */
+    MDMInfo read(byte[] bytes) throws Exception {
+        info = new MDMInfo();
+        ArrayList<Frame> stack = new ArrayList<Frame>();
+        Frame document = new Frame(null, null);
+        stack.add(document);
+
+        XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(bytes));
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                Frame top = stack.get(stack.size() - 1);
+                switch (event) {
+                    case XMLStreamConstants.DTD:
+                        Matcher m = DOCTYPE_NAME.matcher(reader.getText());
+                        doctypeRoot = m.find() ? m.group(1) : "";
+                        break;
+                    case XMLStreamConstants.START_ELEMENT:
+                        stack.add(startElement(reader, stack, top));
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        stack.remove(stack.size() - 1);
+                        endElement(reader, stack.get(stack.size() - 1), top);
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.SPACE:
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                        text(top, reader.getText(), false);
+                        break;
+                    case XMLStreamConstants.CDATA:
+                        text(top, reader.getText(), true);
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                        childNode(top, reader.getText());
+                        top.lastComment = reader.getText();
+                        break;
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        childNode(top, null);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (XMLStreamException ex) {
+            String msg = ex.getMessage();
+            int index = msg.indexOf("Message: ");
+            if (index >= 0) {
+                msg = msg.substring(index + "Message: ".length());
+            }
+            Location loc = ex.getLocation();
+            errors.append("Fatal Error: (Line " + (loc == null ? -1 : loc.getLineNumber()) + ") " + msg + "\n");
+            throw new Exception(errors.toString());
+        } finally {
+            reader.close();
+        }
+
+        finish();
+        info.mdmString = toLines(new String(bytes, Charset.defaultCharset()));
+
+        if (errors.length() > 0) {
+            throw new Exception(errors.toString());
+        }
+        return info;
+    }
+
+    private Frame startElement(XMLStreamReader reader, List<Frame> stack, Frame parent) {
+        String name = reader.getLocalName();
+        int line = reader.getLocation().getLineNumber();
+        Decl decl = DECLS.get(name);
+
+        if (stack.size() == 1 && validating) {
+            if (doctypeRoot == null) {
+                error(line, "Document root element \"" + name + "\", must match DOCTYPE root \"null\".");
+                error(line, "Document is invalid: no grammar found.");
+                validating = false;
+            }
+            else if (!doctypeRoot.equals(name)) {
+                error(line, "Document root element \"" + name + "\", must match DOCTYPE root \"" + doctypeRoot + "\".");
+            }
+        }
+        if (validating && decl == null) {
+            error(line, "Element type \"" + name + "\" must be declared.");
+        }
+
+        // attributes, with the defaults the DTD supplies
+        LinkedHashMap<String, String> attributes = new LinkedHashMap<String, String>();
+        if (decl != null) {
+            for (Map.Entry<String, String> e : decl.attributes.entrySet()) {
+                if (e.getValue() != null) {
+                    attributes.put(e.getKey(), e.getValue());
+                }
+            }
+        }
+        if (validating && decl != null) {
+            for (Map.Entry<String, String> e : decl.attributes.entrySet()) {
+                if (e.getValue() == null && reader.getAttributeValue(null, e.getKey()) == null) {
+                    error(line, "Attribute \"" + e.getKey() + "\" is required and must be specified for element type \""
+                            + name + "\".");
+                }
+            }
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attr = reader.getAttributeLocalName(i);
+            String value = reader.getAttributeValue(i);
+            if (decl != null && decl.choices.containsKey(attr)) {
+                value = value.trim().replaceAll("\\s+", " ");
+                if (validating && !decl.choices.get(attr).contains(value)) {
+                    StringBuilder list = new StringBuilder();
+                    for (String v : decl.choices.get(attr)) {
+                        list.append(v).append(' ');
+                    }
+                    error(line, "Attribute \"" + attr + "\" with value \"" + value + "\" must have a value from the list \""
+                            + list + "\".");
+                }
+            }
+            else if (validating && decl != null && !decl.attributes.containsKey(attr)) {
+                error(line, "Attribute \"" + attr + "\" must be declared for element type \"" + name + "\".");
+            }
+            attributes.put(attr, value);
+        }
+
+        childNode(parent, null);
+        if (parent.decl != null) {
+            parent.children.append(name).append(',');
+        }
+        Frame frame = new Frame(name, decl);
+        frame.preceding = parent.lastComment == null ? "" : parent.lastComment;
+        parent.lastComment = null;
+        frame.first = parent.seen.add(name);
+
+        // work out what the element is read into, following MDMReader.getFromXML
+        if (stack.size() == 1) {
+            frame.target = info;
+            rootPreceding = frame.preceding;
+        }
+        else if (parent.target == info) {
+            if (frame.first && (name.equals("StructList") || name.equals("EnumList"))) {
+                frame.target = name;
+            }
+        }
+        else if ("StructList".equals(parent.target) && name.equals("Struct")) {
+            StructData data = new StructData();
+            data.attributes = attributes;
+            data.preceding = frame.preceding;
+            structs.add(data);
+            frame.target = data;
+        }
+        else if ("EnumList".equals(parent.target) && name.equals("Enum")) {
+            EnumInfo en = new EnumInfo();
+            en.name = getAttribute(attributes, "Name");
+            en.comment = stripBreaks(frame.preceding);
+            enums.add(en);
+            frame.target = en;
+        }
+        else if (parent.target instanceof StructData && name.equals("Field")) {
+            FieldData data = new FieldData();
+            data.attributes = attributes;
+            data.preceding = frame.preceding;
+            ((StructData) parent.target).fields.add(data);
+            frame.target = data;
+        }
+        else if (parent.target instanceof EnumInfo && name.equals("Entry")) {
+            EnumInfo en = (EnumInfo) parent.target;
+            EnumInfo.EnumEntry entry = new EnumInfo.EnumEntry();
+            entry.name = getAttribute(attributes, "Name");
+            String val = getAttribute(attributes, "Value");
+            entry.value = val.isEmpty() ? String.valueOf(en.entries.size()) : val;
+            entry.comment = stripBreaks(frame.preceding);
+            en.entries.add(entry);
+        }
+        return frame;
+    }
+
+    private void endElement(XMLStreamReader reader, Frame parent, Frame frame) {
+        int line = reader.getLocation().getLineNumber();
+        if (validating && frame.decl != null) {
+            if (frame.decl.children == null) {
+                if (frame.children.length() > 0) {
+                    error(line, "The content of element type \"" + frame.name + "\" must match \"null\".");
+                }
+            }
+            else if (frame.badContent || !frame.decl.children.matcher(frame.children).matches()) {
+                error(line, "The content of element type \"" + frame.name + "\" must match \"" + frame.decl.model + "\".");
+            }
+        }
+
+        // XMLUtil.get reads the first child node of the first element with the name
+        if (parent.target == null || parent.target instanceof String || !frame.first) {
+            return;
+        }
+        String value = frame.firstValue;
+        if (parent.target == info) {
+            if (frame.name.equals("SeriesName")) {
+                seriesName = value == null ? "" : value;
+            }
+            else if (frame.name.equals("Namespace")) {
+                namespace = value == null ? "" : value;
+            }
+            else if (frame.name.equals("Comment")) {
+                comment = value == null ? "" : value;
+            }
+            else if (frame.name.equals("Version")) {
+                version = value == null ? "" : value;
+            }
+        }
+        else if (frame.name.equals("Comment")) {
+            String text = value == null ? "" : value;
+            if (parent.target instanceof StructData) {
+                ((StructData) parent.target).comment = text;
+            }
+            else if (parent.target instanceof FieldData) {
+                ((FieldData) parent.target).comment = text;
+            }
+            else if (parent.target instanceof EnumInfo && !stripBreaks(text).isEmpty()) {
+                ((EnumInfo) parent.target).comment = stripBreaks(text);
+            }
+        }
+    }
+
+    /** notes a child node of an element, for the DOM's first child */
+    private static void childNode(Frame frame, String value) {
+        if (frame.nodes == 0) {
+            frame.firstValue = value;
+        }
+        frame.nodes++;
+        frame.firstOpen = false;
+    }
+
+    private static void text(Frame frame, String text, boolean cdata) {
+        if (frame.decl != null && frame.decl.children != null && (cdata || !text.trim().isEmpty())) {
+            frame.badContent = true;
+        }
+        if (frame.firstOpen && !cdata) {
+            frame.firstValue += text;
+            return;
+        }
+        if (frame.nodes == 0) {
+            frame.firstValue = text;
+            frame.firstOpen = !cdata;
+        }
+        else {
+            frame.firstOpen = false;
+        }
+        frame.nodes++;
+    }
+
+    /** removes line breaks from a comment, as replaceAll("[\n\r\f]+", "") does */
+    private static String stripBreaks(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\f') {
+                return LINE_BREAKS.matcher(text).replaceAll("");
+            }
+        }
+        return text;
+    }
+
+    private void error(int line, String msg) {
+        errors.append("Error: (Line " + line + ") " + msg + "\n");
+    }
+
+    private static String getAttribute(Map<String, String> attributes, String name) {
+        String value = attributes.get(name);
+        return value == null ? "" : value;
+    }
+
+    /** fills in the model once the whole MDM is read, in the order MDMReader.getFromXML does */
+    private void finish() throws Exception {
+        info.seriesName = seriesName;
+        info.guid = UUID.nameUUIDFromBytes(info.seriesName.getBytes()).toString().toUpperCase();
+        info.seriesNameAsLong = MDMReader.seriesNameToLong(info.seriesName);
+        info.namespace = namespace;
+        info.comment = stripBreaks(comment);
+        try {
+            info.version = Integer.parseInt(version);
+        } catch (NumberFormatException ex) {
+            info.version = 0;
+        }
+        if (info.comment.isEmpty()) {
+            info.comment = stripBreaks(rootPreceding);
+        }
+
+        info.structs = new StructInfo[structs.size()];
+        for (int i = 0; i < structs.size(); i++) {
+            StructData data = structs.get(i);
+            StructInfo struct = data.struct;
+            info.structs[i] = struct;
+            struct.namespace = info.namespace;
+            struct.seriesName = info.seriesName;
+            struct.name = getAttribute(data.attributes, "Name");
+            MDMReader.setExtends(struct, getAttribute(data.attributes, "Extends"),
+                    getAttribute(data.attributes, "Series"), info);
+            struct.comment = stripBreaks(data.comment);
+            if (struct.comment.isEmpty()) {
+                struct.comment = stripBreaks(data.preceding);
+            }
+            String idStr = getAttribute(data.attributes, "ID");
+            if (!idStr.isEmpty()) {
+                struct.id = Integer.parseInt(idStr);
+            }
+
+            struct.fields = new FieldInfo[data.fields.size()];
+            for (int j = 0; j < struct.fields.length; j++) {
+                FieldData fd = data.fields.get(j);
+                FieldInfo f = new FieldInfo();
+                struct.fields[j] = f;
+                f.name = getAttribute(fd.attributes, "Name");
+                MDMReader.setType(f, getAttribute(fd.attributes, "Type"), getAttribute(fd.attributes, "Series"), info,
+                        struct);
+                f.comment = stripBreaks(fd.comment);
+                if (f.comment.isEmpty()) {
+                    f.comment = stripBreaks(fd.preceding);
+                }
+                f.units = getAttribute(fd.attributes, "Units");
+                f.defaultVal = getAttribute(fd.attributes, "Default");
+                MDMReader.checkDefault(struct, f);
+                f.isLargeArray = Boolean.valueOf(getAttribute(fd.attributes, "LargeArray"));
+                f.isOptional = Boolean.valueOf(getAttribute(fd.attributes, "Optional"));
+                String arrLen = getAttribute(fd.attributes, "MaxArrayLength");
+                if (!arrLen.isEmpty()) {
+                    f.maxArrayLength = Integer.valueOf(arrLen);
+                }
+            }
+        }
+        MDMReader.assignIds(info);
+
+        for (EnumInfo en : enums) {
+            en.namespace = info.namespace;
+            en.seriesName = info.seriesName;
+        }
+        info.enums = enums.toArray(new EnumInfo[enums.size()]);
+    }
+
+    /** returns the text with every line ended by a newline, as reading it with BufferedReader.readLine does */
+    static String toLines(String text) {
+        StringBuilder buf = new StringBuilder(text.length() + 1);
+        int start = 0;
+        int len = text.length();
+        while (start < len) {
+            int end = start;
+            while (end < len && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+                end++;
+            }
+            buf.append(text, start, end).append('\n');
+            if (end < len && text.charAt(end) == '\r' && end + 1 < len && text.charAt(end + 1) == '\n') {
+                end++;
+            }
+            start = end + 1;
+        }
+        return buf.toString();
+    }
+}
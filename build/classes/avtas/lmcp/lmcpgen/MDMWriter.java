@@ -0,0 +1,140 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+/**
+ * Writes an MDMInfo as MDM XML that validates against MDM.DTD and that MDMReader reads back into the same model.
+ *
+ * @author default
+ */
+public class MDMWriter {
+
+    /** returns the MDM XML for the series */
+    public static String toXML(MDMInfo info) {
+        StringBuilder buf = new StringBuilder();
+        buf.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        buf.append("<!DOCTYPE MDM SYSTEM 'MDM.DTD'>\n");
+        buf.append("<MDM>\n");
+        buf.append("    <SeriesName>").append(escape(info.seriesName)).append("</SeriesName>\n");
+        buf.append("    <Namespace>").append(escape(info.namespace)).append("</Namespace>\n");
+        buf.append("    <Version>").append(info.version).append("</Version>\n");
+        appendComment(buf, "    ", info.comment);
+
+        buf.append("    <EnumList>\n");
+        for (EnumInfo en : info.enums) {
+            buf.append("        <Enum Name=\"").append(escape(en.name)).append("\">\n");
+            appendComment(buf, "            ", en.comment);
+            for (EnumInfo.EnumEntry entry : en.entries) {
+                buf.append("            <Entry Name=\"").append(escape(entry.name)).append("\" Value=\"")
+                        .append(escape(entry.value)).append("\"/>\n");
+            }
+            buf.append("        </Enum>\n");
+        }
+        buf.append("    </EnumList>\n");
+
+        buf.append("    <StructList>\n");
+        for (StructInfo st : info.structs) {
+            buf.append("        <Struct Name=\"").append(escape(st.name)).append("\"");
+            if (!st.extends_name.isEmpty()) {
+                buf.append(" Extends=\"");
+                if (!st.extends_series.isEmpty() && !st.extends_series.equals(info.seriesName)) {
+                    buf.append(escape(st.extends_series)).append('/');
+                }
+                buf.append(escape(st.extends_name)).append("\"");
+            }
+            if (st.id > 0) {
+                buf.append(" ID=\"").append(st.id).append("\"");
+            }
+            buf.append(">\n");
+            appendComment(buf, "            ", st.comment);
+            for (FieldInfo f : st.fields) {
+                appendField(buf, info, f);
+            }
+            buf.append("        </Struct>\n");
+        }
+        buf.append("    </StructList>\n");
+        buf.append("</MDM>\n");
+        return buf.toString();
+    }
+
+    /** returns the Type attribute of a field, including its series if it is another series' type */
+    public static String getTypeAttribute(MDMInfo info, FieldInfo f) {
+        String type = f.type;
+        if (type.contains(",")) {
+            return "<" + type + ">";
+        }
+        if (!type.matches(MDMInfo.primitive_matcher) && !type.equals(MDMInfo.LMCP_OBJECT_NAME)
+                && !f.seriesName.isEmpty() && !f.seriesName.equals(info.seriesName)) {
+            type = f.seriesName + "/" + type;
+        }
+        if (f.isArray) {
+            type += f.length < 0 ? "[]" : "[" + f.length + "]";
+        }
+        return type;
+    }
+
+    private static void appendField(StringBuilder buf, MDMInfo info, FieldInfo f) {
+        buf.append("            <Field Name=\"").append(escape(f.name)).append("\" Type=\"")
+                .append(escape(getTypeAttribute(info, f))).append("\"");
+        if (!f.defaultVal.isEmpty()) {
+            buf.append(" Default=\"").append(escape(f.defaultVal)).append("\"");
+        }
+        if (!f.units.isEmpty()) {
+            buf.append(" Units=\"").append(escape(f.units)).append("\"");
+        }
+        if (f.isLargeArray) {
+            buf.append(" LargeArray=\"true\"");
+        }
+        if (f.maxArrayLength > 0) {
+            buf.append(" MaxArrayLength=\"").append(f.maxArrayLength).append("\"");
+        }
+        if (f.isOptional) {
+            buf.append(" Optional=\"true\"");
+        }
+        if (f.comment.isEmpty()) {
+            buf.append("/>\n");
+        }
+        else {
+            buf.append(">\n");
+            appendComment(buf, "                ", f.comment);
+            buf.append("            </Field>\n");
+        }
+    }
+
+    private static void appendComment(StringBuilder buf, String indent, String comment) {
+        if (!comment.isEmpty()) {
+            buf.append(indent).append("<Comment>").append(escape(comment)).append("</Comment>\n");
+        }
+    }
+
+    private static String escape(String str) {
+        StringBuilder buf = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '<':
+                    buf.append("&lt;");
+                    break;
+                case '>':
+                    buf.append("&gt;");
+                    break;
+                case '&':
+                    buf.append("&amp;");
+                    break;
+                case '"':
+                    buf.append("&quot;");
+                    break;
+                default:
+                    buf.append(c);
+            }
+        }
+        return buf.toString();
+    }
+}
@@ -0,0 +1,374 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A binary snapshot of a set of MDMs that have been read and checked, so that later runs with the same MDMs can skip
+ * parsing, validating and checking them.  The snapshot holds the whole model, including the kinds, enums and structs
+ * that checking resolves for each field and the dependencies of each MDM.  The registry, dependency graph and wire
+ * layouts take linear time to build, so they are rebuilt when a snapshot is loaded.
+ * <p>
+ * A snapshot is keyed by the contents of the MDM files, in order, and by the classes that read and check them.  If
+ * the key does not match, or the file cannot be read, the MDMs are read and checked as usual and the snapshot is
+ * written again.
+ *
+ * @author default
+ */
+public class ModelCache {
+
+    /** changes whenever the layout of the snapshot changes */
+    private static final String FORMAT_VERSION = "1";
+    private static final long MAGIC = 0x4c4d4350474d444cL; // "LMCPGMDL"
+
+    /** the model classes whose code decides what a snapshot holds */
+    private static final Class<?>[] MODEL_CLASSES = {MDMReader.class, MDMStreamReader.class, MDMInfo.class,
+        StructInfo.class, FieldInfo.class, EnumInfo.class, TypeKind.class, DependencyGraph.class, ModelCache.class};
+
+    /** the MDM arrays that are known to be checked, either loaded from a snapshot or checked to write one */
+    private static final Map<MDMInfo[], Boolean> checked = Collections.synchronizedMap(new WeakHashMap<MDMInfo[], Boolean>());
+
+    /**
+     * returns the checked MDMs of the files, from the snapshot in the cache file if it matches them, or else by
+     * reading and checking them on the given number of threads and then writing the snapshot.
+     */
+    public static MDMInfo[] read(List<File> files, int threads, File cacheFile) throws Exception {
+        String key = getKey(files);
+        MDMInfo[] infos = load(cacheFile, key);
+        if (infos != null) {
+            return infos;
+        }
+        infos = MDMReader.readMDMs(files, threads);
+        MDMReader.checkMDMs(infos);
+        checked.put(infos, Boolean.TRUE);
+        try {
+            save(cacheFile, key, infos);
+        } catch (Exception ex) {
+            System.out.println("Could not write the model cache " + cacheFile + ": " + ex.getMessage());
+        }
+        return infos;
+    }
+
+    /** returns true if the MDMs came from this class already checked and have not been replaced since */
+    public static boolean isChecked(MDMInfo[] infos) {
+        return checked.containsKey(infos) && TypeRegistry.get(infos) != null;
+    }
+
+    /** returns the key of a snapshot of the MDM files, from their contents and the classes that read them */
+    public static String getKey(List<File> files) throws Exception {
+        StringBuilder buf = new StringBuilder();
+        buf.append(GenerationManifest.hash(FORMAT_VERSION, Charset.defaultCharset().name(), MDMInfo.LMCP_OBJECT_NAME));
+        for (Class<?> c : MODEL_CLASSES) {
+            buf.append(GenerationManifest.InputHasher.classHash(c));
+        }
+        for (File file : files) {
+            if (!file.isFile()) {
+                throw new Exception("MDM file does not exist: " + file);
+            }
+            buf.append(GenerationManifest.hash(Files.readAllBytes(file.toPath())));
+        }
+        return GenerationManifest.hash(buf.toString());
+    }
+
+    /** returns the MDMs in the cache file if it is a snapshot with the given key, or else null */
+    public static MDMInfo[] load(File cacheFile, String key) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Reader in = new Reader(buf);
+            if (buf.getLong() != MAGIC || !key.equals(in.string())) {
+                return null;
+            }
+            MDMInfo[] infos = in.model();
+            if (buf.hasRemaining()) {
+                return null;
+            }
+            MDMReader.link(infos, new DependencyGraph(infos));
+            checked.put(infos, Boolean.TRUE);
+            return infos;
+        } catch (Exception ex) {
+            // a damaged or out of date snapshot is the same as none
+            return null;
+        }
+    }
+
+    /** writes a snapshot of checked MDMs to the cache file, replacing it in one step */
+    public static void save(File cacheFile, String key, MDMInfo[] infos) throws Exception {
+        File dir = cacheFile.getAbsoluteFile().getParentFile();
+        if (dir != null) {
+            dir.mkdirs();
+        }
+        File tmp = File.createTempFile(cacheFile.getName(), ".tmp", dir);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16))) {
+                out.writeLong(MAGIC);
+                new Writer(out).model(key, infos);
+            }
+            try {
+                Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    /**
+     * writes the model.  Each string is written once, the first time it is used, and as its index in the table of
+     * strings after that; the names of series, types and units repeat many times.
+     */
+    private static class Writer {
+
+        private final DataOutputStream out;
+        private final HashMap<String, Integer> strings = new HashMap<String, Integer>();
+        private final IdentityHashMap<Object, int[]> types = new IdentityHashMap<Object, int[]>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void model(String key, MDMInfo[] infos) throws IOException {
+            string(key);
+            out.writeInt(infos.length);
+            for (int i = 0; i < infos.length; i++) {
+                for (int j = 0; j < infos[i].structs.length; j++) {
+                    types.put(infos[i].structs[j], new int[]{i, j});
+                }
+                for (int j = 0; j < infos[i].enums.length; j++) {
+                    types.put(infos[i].enums[j], new int[]{i, j});
+                }
+            }
+            for (MDMInfo info : infos) {
+                string(info.seriesName);
+                string(info.namespace);
+                string(info.comment);
+                string(info.guid);
+                string(info.mdmString);
+                out.writeInt(info.version);
+                out.writeLong(info.seriesNameAsLong);
+                out.writeInt(info.mdmDependencies.size());
+                for (String dep : info.mdmDependencies) {
+                    string(dep);
+                }
+                out.writeInt(info.enums.length);
+                for (EnumInfo en : info.enums) {
+                    string(en.name);
+                    string(en.comment);
+                    string(en.namespace);
+                    string(en.seriesName);
+                    out.writeInt(en.entries.size());
+                    for (EnumInfo.EnumEntry entry : en.entries) {
+                        string(entry.name);
+                        string(entry.value);
+                        string(entry.comment);
+                    }
+                }
+                out.writeInt(info.structs.length);
+                for (StructInfo st : info.structs) {
+                    struct(st);
+                }
+            }
+        }
+
+        private void struct(StructInfo st) throws IOException {
+            string(st.name);
+            out.writeInt(st.id);
+            string(st.extends_name);
+            string(st.extends_series);
+            string(st.comment);
+            string(st.seriesName);
+            string(st.namespace);
+            out.writeInt(st.fields.length);
+            for (FieldInfo f : st.fields) {
+                string(f.name);
+                string(f.comment);
+                out.writeInt(f.length);
+                string(f.type);
+                string(f.defaultVal);
+                string(f.units);
+                string(f.seriesName);
+                out.writeByte((f.isScalar ? 1 : 0) | (f.isArray ? 2 : 0) | (f.isLargeArray ? 4 : 0)
+                        | (f.isOptional ? 8 : 0) | (f.isEnum ? 16 : 0) | (f.isStruct ? 32 : 0) | (f.isMap ? 64 : 0));
+                out.writeInt(f.maxArrayLength);
+                out.writeByte(f.kind == null ? -1 : f.kind.ordinal());
+                type(f.enumType);
+                type(f.structType);
+            }
+        }
+
+        private void type(Object type) throws IOException {
+            int[] ref = type == null ? null : types.get(type);
+            if (type != null && ref == null) {
+                throw new IOException("a field refers to a type that is not in the MDMs");
+            }
+            out.writeInt(ref == null ? -1 : ref[0]);
+            out.writeInt(ref == null ? -1 : ref[1]);
+        }
+
+        private void string(String str) throws IOException {
+            Integer index = strings.get(str);
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+            out.writeInt(strings.size());
+            strings.put(str, strings.size());
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /** reads the model that Writer writes */
+    private static class Reader {
+
+        private final ByteBuffer buf;
+        private final ArrayList<String> strings = new ArrayList<String>();
+
+        Reader(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        MDMInfo[] model() throws IOException {
+            MDMInfo[] infos = new MDMInfo[count()];
+            // fields refer to types by position, which may be in a later MDM, so they are linked at the end
+            ArrayList<FieldInfo> fields = new ArrayList<FieldInfo>();
+            ArrayList<int[]> refs = new ArrayList<int[]>();
+            for (int i = 0; i < infos.length; i++) {
+                MDMInfo info = new MDMInfo();
+                infos[i] = info;
+                info.seriesName = string();
+                info.namespace = string();
+                info.comment = string();
+                info.guid = string();
+                info.mdmString = string();
+                info.version = buf.getInt();
+                info.seriesNameAsLong = buf.getLong();
+                for (int n = count(); n > 0; n--) {
+                    info.mdmDependencies.add(string());
+                }
+                info.enums = new EnumInfo[count()];
+                for (int j = 0; j < info.enums.length; j++) {
+                    EnumInfo en = new EnumInfo();
+                    info.enums[j] = en;
+                    en.name = string();
+                    en.comment = string();
+                    en.namespace = string();
+                    en.seriesName = string();
+                    for (int n = count(); n > 0; n--) {
+                        EnumInfo.EnumEntry entry = new EnumInfo.EnumEntry();
+                        entry.name = string();
+                        entry.value = string();
+                        entry.comment = string();
+                        en.entries.add(entry);
+                    }
+                }
+                info.structs = new StructInfo[count()];
+                for (int j = 0; j < info.structs.length; j++) {
+                    info.structs[j] = struct(fields, refs);
+                }
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                int[] ref = refs.get(i);
+                if (ref[0] >= 0) {
+                    fields.get(i).enumType = infos[ref[0]].enums[ref[1]];
+                }
+                if (ref[2] >= 0) {
+                    fields.get(i).structType = infos[ref[2]].structs[ref[3]];
+                }
+            }
+            return infos;
+        }
+
+        private StructInfo struct(List<FieldInfo> fields, List<int[]> refs) throws IOException {
+            StructInfo st = new StructInfo();
+            st.name = string();
+            st.id = buf.getInt();
+            st.extends_name = string();
+            st.extends_series = string();
+            st.comment = string();
+            st.seriesName = string();
+            st.namespace = string();
+            st.fields = new FieldInfo[count()];
+            for (int k = 0; k < st.fields.length; k++) {
+                FieldInfo f = new FieldInfo();
+                st.fields[k] = f;
+                f.name = string();
+                f.comment = string();
+                f.length = buf.getInt();
+                f.type = string();
+                f.defaultVal = string();
+                f.units = string();
+                f.seriesName = string();
+                int flags = buf.get();
+                f.isScalar = (flags & 1) != 0;
+                f.isArray = (flags & 2) != 0;
+                f.isLargeArray = (flags & 4) != 0;
+                f.isOptional = (flags & 8) != 0;
+                f.isEnum = (flags & 16) != 0;
+                f.isStruct = (flags & 32) != 0;
+                f.isMap = (flags & 64) != 0;
+                f.maxArrayLength = buf.getInt();
+                int kind = buf.get();
+                f.kind = kind < 0 ? null : TypeKind.values()[kind];
+                fields.add(f);
+                refs.add(new int[]{buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt()});
+            }
+            return st;
+        }
+
+        private int count() throws IOException {
+            int count = buf.getInt();
+            if (count < 0 || count > buf.remaining()) {
+                throw new IOException("bad count in model cache");
+            }
+            return count;
+        }
+
+        private String string() throws IOException {
+            int index = buf.getInt();
+            if (index < strings.size() && index >= 0) {
+                return strings.get(index);
+            }
+            if (index != strings.size()) {
+                throw new IOException("bad string in model cache");
+            }
+            byte[] bytes = new byte[count()];
+            buf.get(bytes);
+            String str = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(str);
+            return str;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.util.HashMap;
+
+/**
+ * The kind of an MDM field type: one of the primitive types, an enum, a struct, or LmcpObject.  MDMReader.checkMDMs
+ * resolves every field to its kind once, so the methods classes can switch on it instead of matching the type name.
+ *
+ * @author default
+ */
+public enum TypeKind {
+
+    BOOL("bool", 1),
+    BYTE("byte", 1),
+    CHAR("char", 1),
+    INT16("int16", 2),
+    UINT16("uint16", 2),
+    INT32("int32", 4),
+    UINT32("uint32", 4),
+    INT64("int64", 8),
+    REAL32("real32", 4),
+    REAL64("real64", 8),
+    STRING("string", -1),
+    /** enums are sent as int32 */
+    ENUM("", 4),
+    STRUCT("", -1),
+    OBJECT(MDMInfo.LMCP_OBJECT_NAME, -1);
+
+    private static final HashMap<String, TypeKind> primitives = new HashMap<String, TypeKind>();
+
+    static {
+        for (TypeKind kind : values()) {
+            if (kind.isPrimitive()) {
+                primitives.put(kind.mdmName, kind);
+            }
+        }
+    }
+
+    /** the type name used in MDMs, or an empty string for enums and structs */
+    public final String mdmName;
+    /** the number of bytes a single value takes on the wire, or -1 if that depends on the value */
+    public final int wireSize;
+
+    TypeKind(String mdmName, int wireSize) {
+        this.mdmName = mdmName;
+        this.wireSize = wireSize;
+    }
+
+    /** returns true for the primitive types, including string */
+    public boolean isPrimitive() {
+        return ordinal() <= STRING.ordinal();
+    }
+
+    /** returns true for the types that MDMInfo.number_matcher matches */
+    public boolean isNumber() {
+        switch (this) {
+            case BYTE:
+            case INT16:
+            case UINT16:
+            case INT32:
+            case UINT32:
+            case INT64:
+            case REAL32:
+            case REAL64:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /** returns true if every value takes the same number of bytes on the wire */
+    public boolean isFixedSize() {
+        return wireSize > 0;
+    }
+
+    /** returns the kind of a primitive MDM type name, or null if it is not one */
+    public static TypeKind forPrimitive(String type) {
+        return primitives.get(type);
+    }
+
+    /**
+     * returns the kind of a field.  Fields that have not been through MDMReader.checkMDMs are classified from their
+     * type name and flags.
+     */
+    public static TypeKind of(FieldInfo f) {
+        if (f.kind != null) {
+            return f.kind;
+        }
+        TypeKind kind = primitives.get(f.type);
+        if (kind != null) {
+            return kind;
+        }
+        if (f.type.equals(MDMInfo.LMCP_OBJECT_NAME)) {
+            return OBJECT;
+        }
+        return f.isEnum ? ENUM : STRUCT;
+    }
+}
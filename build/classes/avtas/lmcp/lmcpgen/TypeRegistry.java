@@ -0,0 +1,216 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * An index of the series, structs and enums of a checked set of MDMs.  Structs and enums are found by series and
+ * name, and structs also by series ID and type ID.  The parent, inheritance chain, children and descendants of every
+ * struct are worked out once, so the helpers in MDMInfo and MDMReader no longer scan every MDM on each call.
+ * <p>
+ * MDMReader.checkMDMs builds a registry at the end of each check.  The registry is a snapshot: if the array or any of
+ * its MDMs is replaced, {@link #get(MDMInfo[])} returns null and the helpers go back to scanning.
+ *
+ * @author default
+ */
+public final class TypeRegistry {
+
+    private static final Map<MDMInfo[], TypeRegistry> registries = new WeakHashMap<MDMInfo[], TypeRegistry>();
+    private static volatile TypeRegistry last;
+
+    private final MDMInfo[] infos;
+    private final MDMInfo[] snapshot;
+    private final DependencyGraph graph;
+    private final Map<String, MDMInfo> series = new HashMap<String, MDMInfo>();
+    private final Map<String, StructInfo> structs = new HashMap<String, StructInfo>();
+    private final Map<String, EnumInfo> enums = new HashMap<String, EnumInfo>();
+    private final Map<Long, Map<Integer, StructInfo>> structsById = new HashMap<Long, Map<Integer, StructInfo>>();
+    private final Map<StructInfo, StructInfo> parents = new IdentityHashMap<StructInfo, StructInfo>();
+    private final Map<StructInfo, List<StructInfo>> chains = new IdentityHashMap<StructInfo, List<StructInfo>>();
+    private final Map<String, List<StructInfo>> childLists = new HashMap<String, List<StructInfo>>();
+    private final Map<String, Set<StructInfo>> children = new HashMap<String, Set<StructInfo>>();
+    private final Map<String, Set<StructInfo>> descendants = new HashMap<String, Set<StructInfo>>();
+
+    private TypeRegistry(MDMInfo[] infos, DependencyGraph graph) throws Exception {
+        this.infos = infos;
+        this.snapshot = infos.clone();
+        this.graph = graph;
+
+        for (MDMInfo info : infos) {
+            putFirst(series, info.seriesName, info);
+            for (EnumInfo en : info.enums) {
+                putFirst(enums, key(info.seriesName, en.name), en);
+            }
+            Map<Integer, StructInfo> ids = structsById.get(info.seriesNameAsLong);
+            if (ids == null) {
+                ids = new HashMap<Integer, StructInfo>();
+                structsById.put(info.seriesNameAsLong, ids);
+            }
+            for (StructInfo st : info.structs) {
+                putFirst(structs, key(info.seriesName, st.name), st);
+                putFirst(ids, st.id, st);
+            }
+        }
+
+        // children are added in the order the MDMs declare them, as the scanning helpers did
+        for (MDMInfo info : infos) {
+            for (StructInfo st : info.structs) {
+                if (st.extends_name.isEmpty()) {
+                    continue;
+                }
+                String parentKey = key(st.extends_series, st.extends_name);
+                StructInfo parent = structs.get(parentKey);
+                if (parent == null) {
+                    throw new Exception("Parent type \"" + st.extends_name + "\" from \"" + st.name + "\" does not exist");
+                }
+                parents.put(st, parent);
+                List<StructInfo> list = childLists.get(parentKey);
+                Set<StructInfo> set = children.get(parentKey);
+                if (list == null) {
+                    list = new ArrayList<StructInfo>();
+                    childLists.put(parentKey, list);
+                    set = new HashSet<StructInfo>();
+                    children.put(parentKey, set);
+                }
+                list.add(st);
+                set.add(st);
+            }
+        }
+
+        for (MDMInfo info : infos) {
+            for (StructInfo st : info.structs) {
+                LinkedList<StructInfo> chain = new LinkedList<StructInfo>();
+                for (StructInfo tmp = st; tmp != null; tmp = parents.get(tmp)) {
+                    chain.addFirst(tmp);
+                }
+                chains.put(st, Collections.unmodifiableList(chain));
+                findDescendants(key(st.seriesName, st.name));
+            }
+        }
+    }
+
+    /** builds a registry of a checked set of MDMs and makes it the one that the helpers use for them */
+    public static TypeRegistry build(MDMInfo[] infos, DependencyGraph graph) throws Exception {
+        TypeRegistry registry = new TypeRegistry(infos, graph);
+        synchronized (registries) {
+            registries.put(infos, registry);
+        }
+        last = registry;
+        return registry;
+    }
+
+    /** returns the registry built for these MDMs, or null if there is none or the MDMs have changed since */
+    public static TypeRegistry get(MDMInfo[] infos) {
+        TypeRegistry registry = last;
+        if (registry == null || registry.infos != infos) {
+            synchronized (registries) {
+                registry = registries.get(infos);
+            }
+        }
+        if (registry == null) {
+            return null;
+        }
+        for (int i = 0; i < infos.length; i++) {
+            if (infos[i] != registry.snapshot[i]) {
+                return null;
+            }
+        }
+        return registry;
+    }
+
+    /** returns the dependencies among the structs and MDMs */
+    public DependencyGraph getDependencyGraph() {
+        return graph;
+    }
+
+    public MDMInfo getMDM(String seriesName) {
+        return series.get(seriesName);
+    }
+
+    public StructInfo getStruct(String seriesName, String name) {
+        return structs.get(key(seriesName, name));
+    }
+
+    public EnumInfo getEnum(String seriesName, String name) {
+        return enums.get(key(seriesName, name));
+    }
+
+    /** returns the struct with the given series ID and type ID, or null */
+    public StructInfo getStruct(long seriesId, int typeId) {
+        Map<Integer, StructInfo> ids = structsById.get(seriesId);
+        return ids == null ? null : ids.get(typeId);
+    }
+
+    /** returns the struct that the given struct extends, or null */
+    public StructInfo getParent(StructInfo st) {
+        return parents.get(st);
+    }
+
+    /** returns the inheritance chain from the base struct to the given struct, or null for a struct not in the MDMs */
+    public List<StructInfo> getInheritanceChain(StructInfo st) {
+        return chains.get(st);
+    }
+
+    /** returns the structs that directly extend the given type, in the order they are declared */
+    public List<StructInfo> getChildList(String seriesName, String name) {
+        List<StructInfo> list = childLists.get(key(seriesName, name));
+        return list == null ? Collections.<StructInfo>emptyList() : Collections.unmodifiableList(list);
+    }
+
+    /** returns the structs that directly extend the given struct */
+    public Set<StructInfo> getChildren(StructInfo st) {
+        Set<StructInfo> set = children.get(key(st.seriesName, st.name));
+        return set == null ? Collections.<StructInfo>emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    /** returns all of the structs that extend the given struct, directly or not */
+    public Set<StructInfo> getDescendants(StructInfo st) {
+        Set<StructInfo> set = descendants.get(key(st.seriesName, st.name));
+        return set == null ? Collections.<StructInfo>emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    /** fills the descendants the same way MDMInfo.getAllChildren does, so the sets iterate in the same order */
+    private Set<StructInfo> findDescendants(String key) {
+        Set<StructInfo> set = descendants.get(key);
+        if (set != null) {
+            return set;
+        }
+        set = new HashSet<StructInfo>();
+        Set<StructInfo> direct = children.get(key);
+        if (direct != null) {
+            for (StructInfo st : direct) {
+                set.add(st);
+                set.addAll(findDescendants(key(st.seriesName, st.name)));
+            }
+        }
+        descendants.put(key, set);
+        return set;
+    }
+
+    private static <K, V> void putFirst(Map<K, V> map, K key, V value) {
+        if (!map.containsKey(key)) {
+            map.put(key, value);
+        }
+    }
+
+    private static String key(String seriesName, String name) {
+        return seriesName + "/" + name;
+    }
+}
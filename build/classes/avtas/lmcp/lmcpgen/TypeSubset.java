@@ -0,0 +1,182 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selects the part of a set of MDMs that a program needs, so that only that part is generated.  Starting from some
+ * root types, the subset takes the structs each type extends and the structs and enums its fields use, and
+ * optionally every struct that extends a type in the subset, until nothing more is added.
+ * <p>
+ * Each MDM of the subset keeps only its selected structs and enums, and remembers every struct it declares in
+ * {@link MDMInfo#declaredStructs}, so the series enums still name the IDs of the structs that were left out.  The
+ * factories return null for those, as for any type they do not know.  MDMs with nothing selected are left out.
+ *
+ * @author default
+ */
+public class TypeSubset {
+
+    /**
+     * returns the subset of checked MDMs needed by the root types.  Each root is a type name, a series and type
+     * name ("CMASI/AirVehicleState"), or a subscription string of namespace or series and type name
+     * ("afrl.cmasi.AirVehicleState").  A type name alone selects the type of that name in every series.  The
+     * MDMs returned share their structs and enums with the originals and still need to be checked.
+     */
+    public static MDMInfo[] select(MDMInfo[] infos, List<String> roots, boolean descendants) throws Exception {
+        Set<StructInfo> structs = Collections.newSetFromMap(new IdentityHashMap<StructInfo, Boolean>());
+        Set<EnumInfo> enums = Collections.newSetFromMap(new IdentityHashMap<EnumInfo, Boolean>());
+        ArrayList<StructInfo> queue = new ArrayList<StructInfo>();
+
+        for (String root : roots) {
+            int found = 0;
+            for (MDMInfo info : infos) {
+                if (!matchesSeries(info, root)) {
+                    continue;
+                }
+                String name = getTypeName(root);
+                for (StructInfo st : info.structs) {
+                    if (st.name.equals(name)) {
+                        found++;
+                        if (structs.add(st)) {
+                            queue.add(st);
+                        }
+                    }
+                }
+                for (EnumInfo en : info.enums) {
+                    if (en.name.equals(name)) {
+                        found++;
+                        enums.add(en);
+                    }
+                }
+            }
+            if (found == 0) {
+                throw new Exception("Root type " + root + " is not in the MDMs");
+            }
+        }
+
+        for (int i = 0; i < queue.size(); i++) {
+            StructInfo st = queue.get(i);
+            ArrayList<StructInfo> next = new ArrayList<StructInfo>();
+            StructInfo parent = MDMInfo.getParentType(infos, st);
+            if (parent != null) {
+                next.add(parent);
+            }
+            if (descendants) {
+                next.addAll(MDMInfo.getAllChildren(infos, st));
+            }
+            for (FieldInfo f : st.fields) {
+                TypeKind kind = TypeKind.of(f);
+                if (kind == TypeKind.STRUCT) {
+                    StructInfo type = f.structType != null ? f.structType : MDMInfo.getStructByName(infos, f);
+                    if (type != null) {
+                        next.add(type);
+                    }
+                }
+                else if (kind == TypeKind.ENUM) {
+                    EnumInfo type = f.enumType != null ? f.enumType : MDMInfo.getEnumByName(infos, f);
+                    if (type != null) {
+                        enums.add(type);
+                    }
+                }
+            }
+            for (StructInfo s : next) {
+                if (structs.add(s)) {
+                    queue.add(s);
+                }
+            }
+        }
+
+        ArrayList<MDMInfo> subset = new ArrayList<MDMInfo>();
+        for (MDMInfo info : infos) {
+            ArrayList<StructInfo> keptStructs = new ArrayList<StructInfo>();
+            for (StructInfo st : info.structs) {
+                if (structs.contains(st)) {
+                    keptStructs.add(st);
+                }
+            }
+            ArrayList<EnumInfo> keptEnums = new ArrayList<EnumInfo>();
+            for (EnumInfo en : info.enums) {
+                if (enums.contains(en)) {
+                    keptEnums.add(en);
+                }
+            }
+            if (keptStructs.isEmpty() && keptEnums.isEmpty() && info.seriesNameAsLong != 0) {
+                continue;
+            }
+            MDMInfo copy = new MDMInfo();
+            copy.seriesName = info.seriesName;
+            copy.namespace = info.namespace;
+            copy.comment = info.comment;
+            copy.guid = info.guid;
+            copy.mdmString = info.mdmString;
+            copy.version = info.version;
+            copy.seriesNameAsLong = info.seriesNameAsLong;
+            copy.primitiveLists = info.primitiveLists;
+            copy.boxedListGetters = info.boxedListGetters;
+            copy.structs = keptStructs.toArray(new StructInfo[keptStructs.size()]);
+            copy.enums = keptEnums.toArray(new EnumInfo[keptEnums.size()]);
+            copy.declaredStructs = info.getDeclaredStructs();
+            subset.add(copy);
+        }
+        return subset.toArray(new MDMInfo[subset.size()]);
+    }
+
+    /** returns a description of the size of a subset, for the log */
+    public static String describe(MDMInfo[] all, MDMInfo[] subset) {
+        return "Generating " + countStructs(subset) + " of " + countStructs(all) + " structs and " + countEnums(subset)
+                + " of " + countEnums(all) + " enums from " + subset.length + " of " + all.length + " MDMs";
+    }
+
+    /** splits a list of roots given on the command line, separated by commas or white space */
+    public static List<String> parseRoots(String list) {
+        ArrayList<String> roots = new ArrayList<String>();
+        for (String root : list.split("[,\\s]+")) {
+            if (!root.isEmpty()) {
+                roots.add(root);
+            }
+        }
+        return roots;
+    }
+
+    private static boolean matchesSeries(MDMInfo info, String root) {
+        int split = Math.max(root.lastIndexOf('/'), root.lastIndexOf('.'));
+        if (split < 0) {
+            return true;
+        }
+        String qualifier = root.substring(0, split);
+        return qualifier.equals(info.seriesName) || qualifier.equals(info.namespace)
+                || qualifier.equals(info.namespace.replace('/', '.'));
+    }
+
+    private static String getTypeName(String root) {
+        return root.substring(Math.max(root.lastIndexOf('/'), root.lastIndexOf('.')) + 1);
+    }
+
+    private static int countStructs(MDMInfo[] infos) {
+        int count = 0;
+        for (MDMInfo info : infos) {
+            count += info.structs.length;
+        }
+        return count;
+    }
+
+    private static int countEnums(MDMInfo[] infos) {
+        int count = 0;
+        for (MDMInfo info : infos) {
+            count += info.enums.length;
+        }
+        return count;
+    }
+}
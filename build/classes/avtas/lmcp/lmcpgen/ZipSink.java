@@ -0,0 +1,87 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the files of one or more code packages to a zip or jar stream.  The files are generated on several threads
+ * and a file may be written more than once, so they are held in memory until the sink is closed, then written in
+ * path order.  Give each package its own directory in the archive with {@link #under(String)}.  The entries are
+ * always relative: a leading "/" or drive, and any "." or ".." directories, are left out of their names.
+ *
+ * @author default
+ */
+public class ZipSink extends MemorySink {
+
+    private final OutputStream out;
+    private final File file;
+    private boolean closed = false;
+
+    /**
+     * makes a sink that writes to the stream when it is closed, and closes the stream.  The stream can be a
+     * {@link java.util.jar.JarOutputStream} that already holds a manifest.
+     */
+    public ZipSink(OutputStream out) {
+        this.out = out;
+        this.file = null;
+    }
+
+    /** makes a sink that writes the file when it is closed, so that nothing is written if generation fails */
+    public ZipSink(File file) {
+        this.out = null;
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        OutputStream stream = out != null ? out : new FileOutputStream(file);
+        ZipOutputStream zip = stream instanceof ZipOutputStream ? (ZipOutputStream) stream : new ZipOutputStream(stream);
+        try {
+            for (Map.Entry<String, byte[]> e : getFiles().entrySet()) {
+                zip.putNextEntry(new ZipEntry(entryName(e.getKey())));
+                zip.write(e.getValue());
+                zip.closeEntry();
+            }
+        } finally {
+            zip.close();
+        }
+    }
+
+    /** returns a path as an archive entry name, without a root, a drive or "." and ".." directories */
+    static String entryName(String path) {
+        StringBuilder name = new StringBuilder();
+        for (String part : path.replace('\\', '/').split("/")) {
+            if (part.isEmpty() || part.equals(".") || part.equals("..") || part.endsWith(":")) {
+                continue;
+            }
+            if (name.length() > 0) {
+                name.append('/');
+            }
+            name.append(part);
+        }
+        return name.toString();
+    }
+
+    @Override
+    public String toString() {
+        return file != null ? file.getPath() : "zip stream";
+    }
+}
@@ -0,0 +1,49 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+// 
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package misc;
+
+import avtas.lmcp.lmcpgen.JavaMethods;
+import avtas.lmcp.lmcpgen.TagTable;
+import avtas.lmcp.lmcpgen.TemplateListing;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Goes through a Methods class and finds methods that are not being used during the
+ * LMCP generation process.
+ *
+ * @author Matt Duquette
+ */
+public class ListUnusedMethods {
+    
+    public static ArrayList<String> listUnusedMethods(Class methodsClass, File templateFile) {
+        try {
+            TemplateListing listing = TemplateListing.read(templateFile.toURI().toURL());
+            ArrayList<String> unusedMethods = new ArrayList<String>();
+            for (String name : TagTable.getUnusedTags(methodsClass, listing)) {
+                System.out.println(name);
+                unusedMethods.add(name);
+            }
+            return unusedMethods;
+
+        } catch (Exception ex) {
+            Logger.getLogger(ListUnusedMethods.class.getName()).log(Level.SEVERE, null, ex);
+            return null;
+        }
+        
+    }
+
+    public static void main(String[] args) {
+        listUnusedMethods(JavaMethods.class, new File("./src/templates/java.tl"));
+    }
+
+}
@@ -0,0 +1,28 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+// 
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+// This file was auto-created by LmcpGen. Modifications will be overwritten.
+
+#ifndef _-<namespace_caps>-_-<series_name_caps>-ENUM_H_
+#define _-<namespace_caps>-_-<series_name_caps>-ENUM_H_
+
+
+-<open_namespace>-
+
+   namespace -<series_name>-Enum {
+
+      enum LmcpType {
+         -<series_enumeration>-
+      };
+
+   }
+
+-<close_namespace>-
+
+#endif //_-<namespace_caps>-_-<series_name_caps>-ENUM_H_
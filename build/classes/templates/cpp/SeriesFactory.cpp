@@ -0,0 +1,183 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+// 
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+// This file was auto-created by LmcpGen. Modifications will be overwritten.
+
+#include "-<series_dir>-/-<series_name>-Factory.h"
+#include "avtas/lmcp/Object.h"
+#include <iostream>
+#include <string>
+#include <cstdint>
+
+-<include_all_series_headers>-
+
+-<open_namespace>-
+
+        const uint32_t -<series_name>-Factory::HEADER_SIZE = 8;
+        const uint32_t -<series_name>-Factory::CHECKSUM_SIZE = 4;
+        const uint32_t -<series_name>-Factory::SERIESNAME_SIZE = 8;
+        const int32_t -<series_name>-Factory::LMCP_CONTROL_STR = 0x4c4d4350;
+
+        -<series_name>-Factory::-<series_name>-Factory(void) { }
+
+        -<series_name>-Factory::-<series_name>-Factory(const -<series_name>-Factory & that) { }
+
+        -<series_name>-Factory & -<series_name>-Factory::operator=(const -<series_name>-Factory & that)
+        {
+            return *this;
+        }
+
+        -<series_name>-Factory::~-<series_name>-Factory(void) { }
+
+        avtas::lmcp::ByteBuffer* -<series_name>-Factory::packMessage(const avtas::lmcp::Object * const rootObject, const bool enableChecksum)
+        {
+            if (rootObject != nullptr)
+            {
+                // allocate space for message
+                // 15 = boolean (1 byte), series name (8 bytes), type (4 bytes) , version number (2 bytes)
+                uint32_t msgSize = rootObject->calculatePackedSize() + 15;
+                avtas::lmcp::ByteBuffer* buffer = new avtas::lmcp::ByteBuffer();
+                buffer->allocate(HEADER_SIZE + msgSize + CHECKSUM_SIZE);
+
+                // add header values
+                buffer->putInt(LMCP_CONTROL_STR);
+                buffer->putUInt( msgSize );
+
+                // add root object
+                -<series_name>-Factory::putObject( rootObject, *buffer);
+
+                // add checksum
+                uint32_t cs = enableChecksum ? calculateChecksum(buffer->array(), buffer->capacity()) : 0;
+                buffer->putUInt(cs);
+                return buffer;
+            }
+            return nullptr;
+        }
+
+        void -<series_name>-Factory::putObject(const avtas::lmcp::Object* o, avtas::lmcp::ByteBuffer & buffer)
+        {
+            if (!o)
+            {
+                buffer.putBool(false);
+            }
+            else
+            {
+                buffer.putBool(true);
+                buffer.putLong(o->getSeriesNameAsLong());
+                buffer.putUInt(o->getLmcpType());
+                buffer.putUShort(o->getSeriesVersion());
+                o->pack(buffer);
+            }
+        }
+
+        avtas::lmcp::Object * -<series_name>-Factory::getObject(avtas::lmcp::ByteBuffer & buffer)
+        {
+            if (buffer.capacity() < HEADER_SIZE + CHECKSUM_SIZE)
+            {
+                std::cerr << "Error (-<series_name>-Factory::getObject): buffer at least as big as"
+                        << " header + checksum (" << HEADER_SIZE + CHECKSUM_SIZE << ").\n";
+                return nullptr;
+            }
+
+            int32_t ctrl_str = buffer.getInt();
+            if ( ctrl_str != LMCP_CONTROL_STR)
+            {
+                std::cerr << "Error (-<series_name>-Factory::getObject): Not a proper LMCP message.";
+                std::cerr << "   Expected: " << LMCP_CONTROL_STR << "   Received: " << ctrl_str << std::endl;
+                return nullptr;
+            }
+
+            uint32_t msgsize = buffer.getUInt();
+            if ( buffer.capacity() < msgsize )
+            {
+                std::cerr << "Error (-<series_name>-Factory::getObject): Buffer size too small for packed object.";
+                std::cerr << "   MsgSize: " << msgsize << "    Capacity: " << buffer.capacity() << std::endl;
+                return nullptr;
+            }
+
+            // validate the buffer's checksum
+            if (!validate(buffer.array(), buffer.capacity()))
+            {
+                std::cerr << "Error (-<series_name>-Factory::getObject): checksum invalid.\n";
+                return nullptr;
+            }
+
+            if(!buffer.getBool())
+            {
+                std::cerr << "Message indicated it was packed as NULL\n";
+                return nullptr;
+            }
+
+            int64_t series_id = buffer.getLong();
+            uint32_t msgtype = buffer.getUInt();
+            uint16_t version = buffer.getUShort();
+            avtas::lmcp::Object* o = -<series_name>-Factory::createObject(series_id, msgtype, version);
+
+            if (o != nullptr)
+            {
+                o->unpack(buffer);
+            }
+            else
+            {
+                std::cerr << "Buffer does not contain a recognized object type. \n";
+            }
+
+            return o;
+
+        }
+
+        avtas::lmcp::Object * -<series_name>-Factory::createObject(int64_t series_id, uint32_t type, uint16_t version)
+        {
+            -<series_factory_switch>-
+            return nullptr;
+        }
+
+        uint32_t -<series_name>-Factory::calculateChecksum(const uint8_t * bytes, const uint32_t size)
+        {
+            uint32_t sum = 0;
+            for (uint32_t i = 0; i < size - CHECKSUM_SIZE; i++)
+                sum += (uint32_t) bytes[i];
+            return sum & 0x00000000FFFFFFFF; // truncate value
+        }
+
+        uint32_t -<series_name>-Factory::getObjectSize(const uint8_t * bytes, const uint32_t size)
+        {
+            uint32_t id = 0;
+            if (size >= HEADER_SIZE)
+            {
+                id |= (bytes[4] & 0xFF);
+                id <<= 8;
+                id |= (bytes[5] & 0xFF);
+                id <<= 8;
+                id |= (bytes[6] & 0xFF);
+                id <<= 8;
+                id |= (bytes[7] & 0xFF);
+            }
+            return id;
+        }
+
+        bool -<series_name>-Factory::validate(const uint8_t * bytes, const uint32_t size)
+        {
+            uint32_t cs = 0;
+            if (size >= HEADER_SIZE + CHECKSUM_SIZE)
+            {
+                cs = 0;
+                cs |= (bytes[size - 4] & 0xFF);
+                cs <<= 8;
+                cs |= (bytes[size - 3] & 0xFF);
+                cs <<= 8;
+                cs |= (bytes[size - 2] & 0xFF);
+                cs <<= 8;
+                cs |= (bytes[size - 1] & 0xFF);
+                return (cs == 0) || (cs == calculateChecksum(bytes, size));
+            }
+            return false;
+        }
+
+-<close_namespace>-
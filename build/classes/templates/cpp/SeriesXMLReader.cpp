@@ -0,0 +1,38 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+// 
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+// This file was auto-created by LmcpGen. Modifications will be overwritten.
+
+#include "-<series_dir>-/-<series_name>-XMLReader.h"
+#include "avtas/lmcp/XMLParser.h"
+#include <vector>
+#include <string>
+#include "avtas/lmcp/LmcpXMLReader.h"
+
+-<include_all_series_headers>-
+
+using namespace avtas::lmcp;
+using namespace avtas::lmcp::xml;
+
+
+-<open_namespace>-
+
+    avtas::lmcp::Object* -<series_name>-XMLReader :: visitType(avtas::lmcp::Node* el){
+
+        if (el == NULL) return NULL;
+        
+        std::string type = el->getTagName();
+            
+        -<xml_create_visits>-
+
+         return NULL;
+        
+    }
+
+-<close_namespace>-
\ No newline at end of file
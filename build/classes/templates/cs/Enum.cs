@@ -0,0 +1,24 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+// 
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+// This file was auto-created by LmcpGen. Modifications will be overwritten.
+
+using System;
+using Avtas.Lmcp;
+
+-<series_namespace>- {
+
+    /// <summary>
+    /// -<enum_comment>-
+    /// </summary>
+    public enum -<enum_name>-
+    {
+        -<gen_enum_fields>-
+    }
+}
\ No newline at end of file
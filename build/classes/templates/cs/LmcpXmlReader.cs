@@ -0,0 +1,21 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+// 
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+// This file was auto-created by LmcpGen. Modifications will be overwritten.
+
+namespace Avtas.Lmcp
+{
+    public abstract partial class LmcpXmlReader
+    {
+        static LmcpXmlReader()
+        {
+            -<xml_add_series_readers>-
+        }
+    }
+}
@@ -0,0 +1,88 @@
+import struct
+
+## ===============================================================================
+## Authors: AFRL/RQQA
+## Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+## 
+## Copyright (c) 2017 Government of the United State of America, as represented by
+## the Secretary of the Air Force.  No copyright is claimed in the United States under
+## Title 17, U.S. Code.  All Other Rights Reserved.
+## ===============================================================================
+
+## This file was auto-created by LmcpGen. Modifications will be overwritten.
+
+
+def putObject(val, buf):
+    pass
+
+def getObject(buf, _pos):
+    pass
+
+def putBool(val, buf):
+    pass
+
+def getBool(buf, _pos):
+    pass
+
+def putChar(val, buf):
+    pass
+
+def getChar(buf, _pos):
+    pass
+
+def putInt16(val, buf):
+    pass
+
+def getInt16(buf, _pos):
+    pass
+
+def putInt32(val, buf):
+    pass
+
+def getInt32(buf, _pos):
+    pass
+
+def putInt64(val, buf):
+    pass
+
+def getInt64(buf, _pos):
+    pass
+
+def putReal32(val, buf):
+    pass
+
+def getReal32(buf, _pos):
+    pass
+
+def putReal64(val, buf):
+    pass
+
+def getReal64(buf, _pos):
+    pass
+
+def putUint16(val, buf):
+    pass
+
+def getUint16(buf, _pos):
+    pass
+
+def putUint32(val, buf):
+    pass
+
+def getUint32(buf, _pos):
+    pass
+
+def putString(val, buf):
+    pass
+
+def getString(buf, _pos):
+    pass
+
+
+
+
+
+
+
+
+
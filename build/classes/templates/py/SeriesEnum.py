@@ -0,0 +1,29 @@
+from lmcp.LMCPObject import *
+
+## ===============================================================================
+## Authors: AFRL/RQQA
+## Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+## 
+## Copyright (c) 2017 Government of the United State of America, as represented by
+## the Secretary of the Air Force.  No copyright is claimed in the United States under
+## Title 17, U.S. Code.  All Other Rights Reserved.
+## ===============================================================================
+
+## This file was auto-created by LmcpGen. Modifications will be overwritten.
+
+-<import_each_module>-
+
+-<enum_series_name_setup>-
+
+class SeriesEnum:
+
+    def getName(self, type_):
+        -<list_name_for_type>-
+
+    def getType(self, name):
+        -<list_type_for_name>-
+        return -1
+
+    def getInstance(self, type_):
+        -<list_instance_for_type>-
+        return None
@@ -0,0 +1,28 @@
+## ===============================================================================
+## Authors: AFRL/RQQA
+## Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+## 
+## Copyright (c) 2017 Government of the United State of America, as represented by
+## the Secretary of the Air Force.  No copyright is claimed in the United States under
+## Title 17, U.S. Code.  All Other Rights Reserved.
+## ===============================================================================
+
+## This file was auto-created by LmcpGen. Modifications will be overwritten.
+
+class -<enum_name>-:
+
+    -<enum_gen_entries>-
+
+
+def get_-<enum_name>-_str(str):
+    """
+    Returns a numerical value from a string
+    """
+    -<enum_from_string>-
+
+def get_-<enum_name>-_int(val):
+    """
+    Returns a string representation from an int
+    """
+    -<enum_from_int>-
+
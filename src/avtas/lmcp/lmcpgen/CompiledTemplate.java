@@ -0,0 +1,305 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+
+/**
+ * A template that has been parsed once into a list of literal text and -{@literal <}tag{@literal >}- segments.
+ * Expanding the template is a single pass over the segments that writes to an Appendable, such as a Writer on the
+ * output file, so that a whole file never has to be held in memory.  The output is identical to
+ * what the recursive {@link LmcpGen#replaceTags} scan produced: the spaces and tabs in front of a tag are removed
+ * from the output and handed to the tag method as its whitespace argument, a tag that ends the input is left as-is,
+ * and any tag that appears in a method's return value is expanded as well.
+ *
+ * @author default
+ */
+public class CompiledTemplate {
+
+    /** literal text, followed by a tag (unless this is the final segment) */
+    static class Segment {
+
+        /** start of the literal text in the source */
+        int start;
+        /** index just past the ">-" that closes the tag */
+        int end;
+        /** name of the tag method, or null for the trailing literal */
+        String tag;
+        /** literal text with the captured indentation removed */
+        String text;
+        /** spaces and tabs in front of the tag, in the reversed order that replaceTags has always passed them */
+        String indent = "";
+        /** false if the literal text is all blanks, so the indentation depends on what was written before it */
+        boolean captured;
+    }
+
+    private final String source;
+    private final Segment[] segments;
+
+    private CompiledTemplate(String source, Segment[] segments) {
+        this.source = source;
+        this.segments = segments;
+    }
+
+    /** parses a template string into literal and tag segments */
+    public static CompiledTemplate compile(String source) throws Exception {
+        ArrayList<Segment> list = new ArrayList<Segment>();
+        int pos = 0;
+        while (true) {
+            Segment seg = new Segment();
+            seg.start = pos;
+            int open = source.indexOf("-<", pos);
+            if (open < 0) {
+                seg.end = source.length();
+                seg.text = source.substring(pos);
+                list.add(seg);
+                break;
+            }
+            int close = source.indexOf(">-", open + 2);
+            if (close < 0) {
+                throw new Exception(source.substring(open + 2));
+            }
+            seg.end = close + 2;
+            seg.tag = source.substring(open + 2, close);
+
+            int wsStart = open;
+            while (wsStart > pos && isBlank(source.charAt(wsStart - 1))) {
+                wsStart--;
+            }
+            seg.captured = wsStart > pos;
+            if (seg.captured) {
+                seg.text = source.substring(pos, wsStart);
+                seg.indent = reverse(source.substring(wsStart, open));
+            }
+            else {
+                seg.text = source.substring(pos, open);
+            }
+            list.add(seg);
+            pos = seg.end;
+        }
+        return new CompiledTemplate(source, list.toArray(new Segment[list.size()]));
+    }
+
+    /** returns the template text this was compiled from */
+    public String getSource() {
+        return source;
+    }
+
+    /** returns the names of the tags that expanding this template calls, in order of appearance */
+    public ArrayList<String> getTagNames() {
+        ArrayList<String> names = new ArrayList<String>();
+        for (Segment seg : segments) {
+            if (seg.tag != null && seg.end != source.length()) {
+                names.add(seg.tag);
+            }
+        }
+        return names;
+    }
+
+    /** expands the template, calling the methodClass method named by each tag */
+    public String expand(Class<?> methodClass, MDMInfo[] infos, MDMInfo info, File outfile,
+            StructInfo st, EnumInfo en) throws Exception {
+        return expand(TagTable.bind(methodClass, getTagNames()), infos, info, outfile, st, en);
+    }
+
+    /** expands the template, calling the tag methods bound in the table */
+    public String expand(TagTable tags, MDMInfo[] infos, MDMInfo info, File outfile,
+            StructInfo st, EnumInfo en) throws Exception {
+        StringBuilder out = new StringBuilder(source.length() * 2);
+        expand(out, tags, infos, info, outfile, st, en);
+        return out.toString();
+    }
+
+    /** expands the template, appending the output to out as it is produced */
+    public void expand(Appendable out, TagTable tags, MDMInfo[] infos, MDMInfo info, File outfile,
+            StructInfo st, EnumInfo en) throws Exception {
+        Output output = new Output(out);
+        expand(output, tags, infos, info, outfile, st, en);
+        output.flush();
+    }
+
+    private void expand(Output out, TagTable tags, MDMInfo[] infos, MDMInfo info, File outfile,
+            StructInfo st, EnumInfo en) throws Exception {
+
+        for (Segment seg : segments) {
+            if (seg.tag == null) {
+                out.append(seg.text);
+                return;
+            }
+            if (seg.end == source.length()) {
+                // a tag with nothing after it is never expanded
+                out.append(source, seg.start, seg.end);
+                return;
+            }
+
+            String ws;
+            out.append(seg.text);
+            if (seg.captured) {
+                ws = seg.indent;
+            }
+            else if (out.isSolid()) {
+                // the indentation started in earlier output
+                ws = reverse(out.takeTrailingBlanks());
+            }
+            else {
+                ws = "";
+            }
+
+            String result = tags.invoke(seg.tag, out, infos, info, outfile, st, en, ws);
+            if (result == null) {
+                // the method appended its output itself
+                continue;
+            }
+
+            if (needsRescan(out, result, seg.end)) {
+                // the method produced (part of) another tag, so the rest has to be parsed again
+                String rest = out.takePending() + result + source.substring(seg.end);
+                compile(rest).expand(out, tags, infos, info, outfile, st, en);
+                return;
+            }
+
+            out.append(result);
+        }
+    }
+
+    /** returns true if a tag starts inside the result or across its boundaries with the surrounding text */
+    private boolean needsRescan(Output out, String result, int tailStart) {
+        if (result.contains("-<")) {
+            return true;
+        }
+        char tailFirst = source.charAt(tailStart);
+        if (result.isEmpty()) {
+            return out.endsWithDash() && tailFirst == '<';
+        }
+        if (out.endsWithDash() && result.charAt(0) == '<') {
+            return true;
+        }
+        return result.charAt(result.length() - 1) == '-' && tailFirst == '<';
+    }
+
+    /**
+     * Passes expanded text through to the destination, except for the end of the output that the next tag may still
+     * need: the trailing spaces and tabs, which become the tag's whitespace argument, and a '-' just before them
+     * (with the blanks in front of it), which could start a tag together with the next method's output.
+     */
+    private static class Output implements Appendable {
+
+        private final Appendable dest;
+        /** the held back end of the output: spaces and tabs, optionally with one '-' among them */
+        private final StringBuilder pending = new StringBuilder();
+        /** true once something other than spaces and tabs has been written to dest */
+        private boolean flushedSolid = false;
+
+        Output(Appendable dest) {
+            this.dest = dest;
+        }
+
+        /** returns true if the output so far contains something other than spaces and tabs */
+        boolean isSolid() {
+            return flushedSolid || pending.indexOf("-") >= 0;
+        }
+
+        boolean endsWithDash() {
+            return pending.length() > 0 && pending.charAt(pending.length() - 1) == '-';
+        }
+
+        /** removes the spaces and tabs at the end of the output and returns them */
+        String takeTrailingBlanks() {
+            int k = pending.lastIndexOf("-") + 1;
+            String blanks = pending.substring(k);
+            pending.setLength(k);
+            return blanks;
+        }
+
+        /** removes the held back end of the output and returns it */
+        String takePending() {
+            String str = pending.toString();
+            pending.setLength(0);
+            return str;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            int k = holdFrom(csq, start, end);
+            if (k > start) {
+                flush();
+                write(csq, start, k);
+                pending.append(csq, k, end);
+            }
+            else {
+                pending.append(csq, start, end);
+                // a second '-' releases the first one
+                int h = holdFrom(pending, 0, pending.length());
+                if (h > 0) {
+                    write(pending, 0, h);
+                    pending.delete(0, h);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            return append(String.valueOf(c), 0, 1);
+        }
+
+        /** writes the held back text to the destination */
+        void flush() throws IOException {
+            write(pending, 0, pending.length());
+            pending.setLength(0);
+        }
+
+        /** returns the start of the part of the text that has to be held back */
+        private static int holdFrom(CharSequence csq, int start, int end) {
+            int k = end;
+            while (k > start && isBlank(csq.charAt(k - 1))) {
+                k--;
+            }
+            if (k > start && csq.charAt(k - 1) == '-') {
+                k--;
+                while (k > start && isBlank(csq.charAt(k - 1))) {
+                    k--;
+                }
+            }
+            return k;
+        }
+
+        private void write(CharSequence csq, int start, int end) throws IOException {
+            if (start == end) {
+                return;
+            }
+            for (int i = start; i < end && !flushedSolid; i++) {
+                flushedSolid = !isBlank(csq.charAt(i));
+            }
+            if (dest instanceof Writer && csq instanceof String) {
+                ((Writer) dest).write((String) csq, start, end - start);
+            }
+            else {
+                dest.append(csq, start, end);
+            }
+        }
+    }
+
+    private static String reverse(String str) {
+        return str.length() < 2 ? str : new StringBuilder(str).reverse().toString();
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
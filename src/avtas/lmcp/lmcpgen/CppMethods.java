@@ -101,6 +101,17 @@ public class CppMethods {
     }
     
     public static void add_descendants(MDMInfo[] infos, String typename, String seriesname, List<String> descendants) {
+        TypeRegistry registry = TypeRegistry.get(infos);
+        if (registry != null) {
+            for (StructInfo st : registry.getChildList(seriesname, typename)) {
+                String child = st.namespace.replace('/', '.') + "." + st.name;
+                if (!descendants.contains(child)) {
+                    descendants.add(child);
+                    add_descendants(infos, st.name, st.seriesName, descendants);
+                }
+            }
+            return;
+        }
         for (MDMInfo in : infos) {
             for (int i = 0; i < in.structs.length; i++) {
                 if (in.structs[i].extends_name.equals(typename) && in.structs[i].extends_series.equals(seriesname)) {
@@ -925,8 +936,8 @@ public class CppMethods {
 
     public static String series_enumeration(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
         String str = "";
-        for (int i = 0; i < info.structs.length; i++) {
-            str += ws + info.structs[i].name.toUpperCase() + " = " + info.structs[i].id + ",\n";
+        for (StructInfo s : info.getDeclaredStructs()) {
+            str += ws + s.name.toUpperCase() + " = " + s.id + ",\n";
         }
         return str.replaceAll(",\n$", "");
     }
@@ -23,10 +23,11 @@ import java.util.UUID;
 class CsMethods {
 
     public static String block_comment = "\n*";
-    private static String libraryGuid = null;
-    private static String coreLibraryGuid = null;
-    private static String testServerGuid = null;
-    private static String testClientGuid = null;
+    // name-based, so they are the same for every file and can be shared between generator threads
+    private static final String libraryGuid = makeGUID("LMCP");
+    private static final String coreLibraryGuid = makeGUID("LmcpCore");
+    private static final String testServerGuid = makeGUID("TestServer");
+    private static final String testClientGuid = makeGUID("TestClient");
     private static String packageName = null;
 
     public static String series_namespace(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
@@ -146,8 +147,9 @@ class CsMethods {
 
     public static String enum_list_types(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
         String enStr = "";
-        for (int i = 0; i < info.structs.length; i++) {
-            st = info.structs[i];
+        StructInfo[] structs = info.getDeclaredStructs();
+        for (int i = 0; i < structs.length; i++) {
+            st = structs[i];
             String name = toPascalCase(st.name);
             enStr += ws + "/// <Summary>\n";
             enStr += ws + "/// " + name + " (" + st.id + ")\n";
@@ -1012,26 +1014,18 @@ class CsMethods {
     }
     
     public static String library_make_guid(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
-        if (libraryGuid == null)
-            libraryGuid = makeGUID("LMCP");
         return libraryGuid;
     }
     
     public static String core_library_make_guid(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
-        if (coreLibraryGuid == null)
-            coreLibraryGuid = makeGUID("LmcpCore");
         return coreLibraryGuid;
     }
     
     public static String test_client_make_guid(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
-        if (testClientGuid == null)
-            testClientGuid = makeGUID("TestClient");
         return testClientGuid;
     }
 
    public static String test_server_make_guid(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
-        if (testServerGuid == null)
-            testServerGuid = makeGUID("TestServer");
         return testServerGuid;
     }
 
@@ -1065,111 +1059,77 @@ class CsMethods {
 
     /** this returns the java type that is associated with the LMCP type */
     public static String getCsType(MDMInfo[] mdms, FieldInfo f) {
-        String type = f.type;
-        if (type.equalsIgnoreCase("uint16")) {
-            return "ushort";
-        }
-        if (type.equalsIgnoreCase("uint32")) {
-            return "uint";
-        }
-        if (type.equalsIgnoreCase("byte")) {
-            return "byte";
-        }
-        if (type.equalsIgnoreCase("bool")) {
-            return "bool";
-        }
-        if (type.equalsIgnoreCase("int16")) {
-            return "short";
-        }
-        if (type.equalsIgnoreCase("int32")) {
-            return "int";
-        }
-        if (type.equalsIgnoreCase("int64")) {
-            return "long";
-        }
-        if (type.equalsIgnoreCase("real32")) {
-            return "float";
+        switch (TypeKind.of(f)) {
+            case UINT16:
+                return "ushort";
+            case UINT32:
+                return "uint";
+            case BYTE:
+                return "byte";
+            case BOOL:
+                return "bool";
+            case INT16:
+                return "short";
+            case INT32:
+                return "int";
+            case INT64:
+                return "long";
+            case REAL32:
+                return "float";
+            case REAL64:
+                return "double";
+            case CHAR:
+                return "char";
+            case STRING:
+                return "string";
+            case OBJECT:
+                return "Avtas.Lmcp.ILmcpObject";
+            default:
+                // otherwise, its a class, so return the full classname
+                return getCsNamespace(mdms, f.seriesName) + "." + f.type;
         }
-        if (type.equalsIgnoreCase("real64")) {
-            return "double";
-        }
-        if (type.equalsIgnoreCase("char")) {
-            return "char";
-        }
-        if (type.equalsIgnoreCase("string")) {
-            return "string";
-        }
-        if (type.equalsIgnoreCase(MDMInfo.LMCP_OBJECT_NAME)) {
-            return "Avtas.Lmcp.ILmcpObject";
-        }
-        return getCsNamespace(mdms, f.seriesName) + "." + f.type;
     }
 
     /** returns the Object type associated with the LMCP type passed */
     public static String getCsObjectType(MDMInfo[] mdms, FieldInfo f) {
-        String type = f.type;
-        if (type.equalsIgnoreCase("uint16")) {
-            return "UInt16";
-        }
-        if (type.equalsIgnoreCase("uint32")) {
-            return "UInt32";
-        }
-        if (type.equalsIgnoreCase("byte")) {
-            return "Byte";
-        }
-        if (type.equalsIgnoreCase("bool")) {
-            return "Boolean";
-        }
-        if (type.equalsIgnoreCase("char")) {
-            return "Char";
+        switch (TypeKind.of(f)) {
+            case UINT16:
+                return "UInt16";
+            case UINT32:
+                return "UInt32";
+            case BYTE:
+                return "Byte";
+            case BOOL:
+                return "Boolean";
+            case CHAR:
+                return "Char";
+            case INT16:
+                return "Int16";
+            case INT32:
+                return "Int32";
+            case INT64:
+                return "Int64";
+            case REAL32:
+                return "Single";
+            case REAL64:
+                return "Double";
+            case STRING:
+                return "String";
+            case OBJECT:
+                return "Avtas.Lmcp.ILmcpObject";
+            default:
+                // otherwise, its a class, so return the full classname
+                return getCsNamespace(mdms, f.seriesName) + "." + f.type;
         }
-        if (type.equalsIgnoreCase("int16")) {
-            return "Int16";
-        }
-        if (type.equalsIgnoreCase("int32")) {
-            return "Int32";
-        }
-        if (type.equalsIgnoreCase("int64")) {
-            return "Int64";
-        }
-        if (type.equalsIgnoreCase("real32")) {
-            return "Single";
-        }
-        if (type.equalsIgnoreCase("real64")) {
-            return "Double";
-        }
-        if (type.equalsIgnoreCase("string")) {
-            return "String";
-        }
-        if (type.equalsIgnoreCase(MDMInfo.LMCP_OBJECT_NAME)) {
-            return "Avtas.Lmcp.ILmcpObject";
-        }
-        return getCsNamespace(mdms, f.seriesName) + "." + f.type;
     }
 
     /** returns the size in bytes of the LMCP type */
     public static int sizeOf(MDMInfo mdm, FieldInfo field) throws Exception {
-        if (field.isEnum) {
-            return 4;
-        }
-        String type = field.type;
-        if (type.toLowerCase().matches("(byte)|(char)|(bool)")) {
-            return 1;
+        TypeKind kind = TypeKind.of(field);
+        if (!kind.isFixedSize()) {
+            throw new Exception("Invalid struct");
         }
-
-        if (type.toLowerCase().matches("(int16)|(uint16)")) {
-            return 2;
-        }
-
-        if (type.toLowerCase().matches("(int32)|(uint32)|(real32)")) {
-            return 4;
-        }
-
-        if (type.toLowerCase().matches("(int64)|(real64)")) {
-            return 8;
-        }
-
-        throw new Exception("Invalid struct");
+        return kind.wireSize;
     }
 
     public static String getCsNamespace(MDMInfo[] infos, String seriesName) {
@@ -0,0 +1,115 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Compares the files of a code package with those in a directory, without writing anything.  Used to check that
+ * checked-in generated code is up to date.  A file is added if the directory does not have it and changed if its
+ * contents differ; a file is removed if the target's {@link GenerationManifest} in the directory lists it but it was
+ * not generated.
+ *
+ * @author default
+ */
+public class DiffSink extends MemorySink {
+
+    private final File dir;
+    private final String target;
+    private final ConcurrentSkipListSet<String> added = new ConcurrentSkipListSet<String>();
+    private final ConcurrentSkipListSet<String> changed = new ConcurrentSkipListSet<String>();
+
+    /** compares with the directory the files of the named target, whose manifest lists the files it last generated */
+    public DiffSink(File dir, String target) {
+        this.dir = dir;
+        this.target = target;
+    }
+
+    @Override
+    protected boolean put(String path, byte[] contents) {
+        super.put(path, contents);
+        File file = new File(dir, path);
+        boolean differs;
+        try {
+            differs = !file.isFile() || !Arrays.equals(Files.readAllBytes(file.toPath()), contents);
+        } catch (IOException ex) {
+            differs = true;
+        }
+        if (!differs) {
+            added.remove(path);
+            changed.remove(path);
+        }
+        else if (file.isFile()) {
+            changed.add(path);
+        }
+        else {
+            added.add(path);
+        }
+        return differs;
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return super.exists(path) || new File(dir, path).isFile();
+    }
+
+    /** returns the files that the directory does not have, sorted by path */
+    public Set<String> getAdded() {
+        return added;
+    }
+
+    /** returns the files whose contents differ from those in the directory, sorted by path */
+    public Set<String> getChanged() {
+        return changed;
+    }
+
+    /** returns the files of the directory's last generation that were not generated this time, sorted by path */
+    public List<String> getRemoved() {
+        ArrayList<String> removed = new ArrayList<String>();
+        for (String path : GenerationManifest.load(dir, target).getPaths()) {
+            if (!super.exists(path) && new File(dir, path).isFile()) {
+                removed.add(path);
+            }
+        }
+        return removed;
+    }
+
+    /** returns true if the directory is the same as the generated files */
+    public boolean isSame() {
+        return added.isEmpty() && changed.isEmpty() && getRemoved().isEmpty();
+    }
+
+    /** returns a list of the differences, one per line, marked "A", "M" or "D" like version control */
+    public String describe() {
+        StringBuilder buf = new StringBuilder();
+        for (String path : added) {
+            buf.append("A ").append(new File(dir, path).getPath()).append('\n');
+        }
+        for (String path : changed) {
+            buf.append("M ").append(new File(dir, path).getPath()).append('\n');
+        }
+        for (String path : getRemoved()) {
+            buf.append("D ").append(new File(dir, path).getPath()).append('\n');
+        }
+        return buf.toString();
+    }
+
+    @Override
+    public String toString() {
+        return dir.getPath();
+    }
+}
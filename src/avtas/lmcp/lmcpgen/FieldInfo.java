@@ -50,6 +50,11 @@ public class FieldInfo {
     public boolean isStruct = false;
     public boolean isMap = false;
     public int maxArrayLength = 0;
+    /** the kind of the type, set by MDMReader.checkMDMs.  Use TypeKind.of() where it may not be set yet. */
+    public TypeKind kind = null;
+    /** the enum or struct the type refers to, set by MDMReader.checkMDMs */
+    public EnumInfo enumType = null;
+    public StructInfo structType = null;
     
     /** Creates a new instance of FieldInfo */
     public FieldInfo() {
@@ -0,0 +1,365 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Records, for each file generated into an output directory, a hash of the inputs it was generated from: the
+ * template, the generator classes and the MDMs it depends on, and a hash of the file as it was written.  On the next
+ * run, files whose inputs have not changed are skipped without expanding their templates, unless the file on disk no
+ * longer matches what was written (it was edited or replaced since), and files that are no longer generated (for
+ * instance because a struct was removed from an MDM) are deleted.
+ * <p>
+ * A struct, enum or series file depends on the full contents of its own MDM and of every MDM that MDM depends on,
+ * and on the type declarations (series, struct names, IDs and parents, enum entries) of all of the MDMs.  Files that
+ * are generated once, or once per namespace directory, depend on the full contents of all of the MDMs.
+ * <p>
+ * Each target keeps its own manifest, named after the target, so that several targets can be generated into one
+ * directory: a target only skips or deletes the files that it generated itself.
+ *
+ * @author default
+ */
+public class GenerationManifest {
+
+    /** the start of the name of the manifest files in the output directory, which end with the target's name */
+    public static final String FILE_PREFIX = ".lmcpgen-manifest-";
+
+    /** change this when the meaning of the recorded hashes changes */
+    static final String FORMAT_VERSION = "2";
+
+    private final File outputDir;
+    private final String target;
+    /** relative path to input hash, sorted so that the file is stable */
+    private final TreeMap<String, String> entries = new TreeMap<String, String>();
+    /** relative path to the hash of the file as it was written, or "" if that is not known */
+    private final HashMap<String, String> outputHashes = new HashMap<String, String>();
+
+    /** the hash of the code of each location classes are loaded from */
+    private static final HashMap<String, String> codeHashes = new HashMap<String, String>();
+
+    /** makes an empty manifest of the files a target generates into the output directory */
+    public GenerationManifest(File outputDir, String target) {
+        this.outputDir = outputDir;
+        this.target = target;
+    }
+
+    /** returns the name of the manifest file of a target, such as ".lmcpgen-manifest-java" */
+    public static String getFileName(String target) {
+        return FILE_PREFIX + target.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /** loads the manifest of a target in an output directory.  Returns an empty manifest if there is none. */
+    public static GenerationManifest load(File outputDir, String target) {
+        GenerationManifest manifest = new GenerationManifest(outputDir, target);
+        File file = new File(outputDir, getFileName(target));
+        if (!file.isFile()) {
+            return manifest;
+        }
+        try {
+            BufferedReader reader = new BufferedReader(new FileReader(file));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // input hash, output hash and path; manifests from before output hashes have no middle column
+                String[] splits = line.split("\t", 3);
+                if (splits.length == 3) {
+                    manifest.entries.put(splits[2], splits[0]);
+                    manifest.outputHashes.put(splits[2], splits[1]);
+                }
+                else if (splits.length == 2) {
+                    manifest.entries.put(splits[1], splits[0]);
+                    manifest.outputHashes.put(splits[1], "");
+                }
+            }
+            reader.close();
+        } catch (Exception ex) {
+            // an unreadable manifest just means that everything is generated again
+            manifest.entries.clear();
+            manifest.outputHashes.clear();
+        }
+        return manifest;
+    }
+
+    public void save() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        for (Map.Entry<String, String> e : entries.entrySet()) {
+            buf.append(e.getValue()).append('\t').append(outputHashes.get(e.getKey())).append('\t').append(e.getKey())
+                    .append('\n');
+        }
+        outputDir.mkdirs();
+        LmcpGen.writeFile(new File(outputDir, getFileName(target)), buf.toString());
+    }
+
+    /** returns the path of a file relative to the output directory, using '/' separators */
+    public String relativePath(File file) {
+        String path = outputDir.toURI().relativize(file.toURI()).getPath();
+        return path.isEmpty() ? file.getPath() : path;
+    }
+
+    /** returns the input hash recorded for a file, or null if it is not listed */
+    public String get(File file) {
+        return entries.get(relativePath(file));
+    }
+
+    /** returns the hash of a file as it was last written, or null if it is not listed */
+    public String getOutputHash(File file) {
+        return outputHashes.get(relativePath(file));
+    }
+
+    /** records a file with the hash of its inputs and of its contents, either of which may be "" if not known */
+    public void put(File file, String inputHash, String outputHash) {
+        String path = relativePath(file);
+        entries.put(path, inputHash);
+        outputHashes.put(path, outputHash);
+    }
+
+    /** returns the paths of the files listed, relative to the output directory and sorted */
+    public Set<String> getPaths() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * returns true if the file was last generated from the same inputs and still holds what was written then.  Reading
+     * and hashing the file is much cheaper than expanding its template.
+     */
+    public boolean isCurrent(File file, String inputHash) throws Exception {
+        if (!inputHash.equals(get(file))) {
+            return false;
+        }
+        String outputHash = getOutputHash(file);
+        return outputHash != null && !outputHash.isEmpty() && outputHash.equals(hashFile(file));
+    }
+
+    /** returns the hash of the contents of a file, or "" if it cannot be read */
+    public static String hashFile(File file) throws Exception {
+        if (!file.isFile()) {
+            return "";
+        }
+        try {
+            return hash(Files.readAllBytes(file.toPath()));
+        } catch (IOException ex) {
+            return "";
+        }
+    }
+
+    /**
+     * deletes the files listed in this manifest that are not listed in the new one, and returns their paths.  Only
+     * the files this target generated last time are candidates, so the files of other targets sharing the output
+     * directory are left alone.
+     */
+    public List<String> deleteStale(GenerationManifest current) {
+        ArrayList<String> deleted = new ArrayList<String>();
+        for (String path : entries.keySet()) {
+            if (!current.entries.containsKey(path)) {
+                File f = new File(outputDir, path);
+                if (f.isFile() && f.delete()) {
+                    deleted.add(path);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /** computes the input hash of each output file of a package */
+    public static class InputHasher {
+
+        private final String generatorHash;
+        private final String allMdmsHash;
+        private final HashMap<String, String> seriesHashes = new HashMap<String, String>();
+        private final HashMap<TemplateListing.Entry, String> templateHashes = new HashMap<TemplateListing.Entry, String>();
+
+        public InputHasher(MDMInfo[] infos, TemplateListing listing, Class<?> methodClass) throws Exception {
+            // the whole generator, since the methods classes use the model classes as well as their own code
+            generatorHash = hash(FORMAT_VERSION, codeHash(LmcpGen.class), codeHash(methodClass), methodClass.getName());
+
+            // the declarations change when only part of the MDMs is generated, as well as when the MDMs do
+            String declarations = hash(typeDeclarations(infos));
+            StringBuilder all = new StringBuilder(declarations);
+            for (MDMInfo info : infos) {
+                all.append(hash(info.seriesName, info.mdmString, options(info)));
+            }
+            allMdmsHash = hash(all.toString());
+
+            for (MDMInfo info : infos) {
+                StringBuilder buf = new StringBuilder(declarations);
+                for (MDMInfo dep : dependencyClosure(infos, info)) {
+                    buf.append(hash(dep.seriesName, dep.mdmString, options(dep)));
+                }
+                seriesHashes.put(info.seriesName, hash(buf.toString()));
+            }
+
+            for (TemplateListing.Entry entry : listing.getEntries()) {
+                templateHashes.put(entry, hash(entry.kind.name(), entry.templateName, entry.template.getSource()));
+            }
+        }
+
+        /** returns the input hash of an output file */
+        public String get(LmcpGen.OutputFile output) throws Exception {
+            String mdms = allMdmsHash;
+            if (output.entry.kind != TemplateListing.Kind.ONCE && output.entry.kind != TemplateListing.Kind.PER_NS_SUBDIR) {
+                mdms = seriesHashes.get(output.info.seriesName);
+            }
+            return hash(generatorHash, templateHashes.get(output.entry), mdms);
+        }
+
+        /** the generation options set on an MDM */
+        private static String options(MDMInfo info) {
+            return (info.primitiveLists ? "primitiveLists " : "") + (info.boxedListGetters ? "boxedListGetters" : "");
+        }
+
+        /** the parts of every MDM that other series' files can refer to */
+        private static String typeDeclarations(MDMInfo[] infos) {
+            StringBuilder buf = new StringBuilder();
+            for (MDMInfo info : infos) {
+                buf.append(info.seriesName).append(' ').append(info.namespace).append(' ').append(info.version).append('\n');
+                for (StructInfo st : info.structs) {
+                    buf.append(" s ").append(st.name).append(' ').append(st.id).append(' ')
+                            .append(st.extends_series).append('/').append(st.extends_name).append('\n');
+                }
+                for (EnumInfo en : info.enums) {
+                    buf.append(" e ").append(en.name);
+                    for (EnumInfo.EnumEntry entry : en.entries) {
+                        buf.append(' ').append(entry.name).append('=').append(entry.value);
+                    }
+                    buf.append('\n');
+                }
+            }
+            return buf.toString();
+        }
+
+        /** returns the MDM and all of the MDMs it depends on, directly or indirectly */
+        private static Set<MDMInfo> dependencyClosure(MDMInfo[] infos, MDMInfo info) {
+            TypeRegistry registry = TypeRegistry.get(infos);
+            if (registry != null) {
+                return new LinkedHashSet<MDMInfo>(registry.getDependencyGraph().getDependencyClosure(info));
+            }
+            LinkedHashSet<MDMInfo> closure = new LinkedHashSet<MDMInfo>();
+            ArrayList<MDMInfo> stack = new ArrayList<MDMInfo>();
+            stack.add(info);
+            while (!stack.isEmpty()) {
+                MDMInfo next = stack.remove(stack.size() - 1);
+                if (next != null && closure.add(next)) {
+                    for (String dep : next.mdmDependencies) {
+                        stack.add(MDMReader.getMDM(dep, infos));
+                    }
+                }
+            }
+            return closure;
+        }
+
+        /**
+         * returns the hash of all of the code loaded from the same place as the class: the jar, or else every class
+         * file of the class's package and the packages under it.  Falls back to the class file alone if the place
+         * cannot be read.  The hash of each place is computed once.
+         */
+        static String codeHash(Class<?> c) {
+            try {
+                CodeSource source = c.getProtectionDomain().getCodeSource();
+                if (source == null || source.getLocation() == null) {
+                    return classHash(c);
+                }
+                File location = new File(source.getLocation().toURI());
+                String key = location.isFile() ? location.getPath() : location.getPath() + " " + c.getPackage().getName();
+                synchronized (codeHashes) {
+                    String hash = codeHashes.get(key);
+                    if (hash == null) {
+                        if (location.isFile()) {
+                            hash = hash(Files.readAllBytes(location.toPath()));
+                        }
+                        else {
+                            File dir = new File(location, c.getPackage().getName().replace('.', File.separatorChar));
+                            TreeMap<String, String> classes = new TreeMap<String, String>();
+                            addClassHashes(dir, "", classes);
+                            hash = hash(classes.toString());
+                        }
+                        codeHashes.put(key, hash);
+                    }
+                    return hash;
+                }
+            } catch (Exception ex) {
+                return classHash(c);
+            }
+        }
+
+        private static void addClassHashes(File dir, String prefix, Map<String, String> classes) throws Exception {
+            File[] files = dir.listFiles();
+            if (files == null) {
+                return;
+            }
+            for (File f : files) {
+                if (f.isDirectory()) {
+                    addClassHashes(f, prefix + f.getName() + "/", classes);
+                }
+                else if (f.getName().endsWith(".class")) {
+                    classes.put(prefix + f.getName(), hash(Files.readAllBytes(f.toPath())));
+                }
+            }
+        }
+
+        static String classHash(Class<?> c) {
+            String name = c.getName();
+            InputStream is = c.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class");
+            if (is == null) {
+                return name;
+            }
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buf = new byte[8192];
+                int read;
+                while ((read = is.read(buf)) > 0) {
+                    bytes.write(buf, 0, read);
+                }
+                is.close();
+                return hash(bytes.toByteArray());
+            } catch (Exception ex) {
+                return name;
+            }
+        }
+    }
+
+    /** returns the hex SHA-256 of the strings, each one terminated with a zero byte */
+    public static String hash(String... parts) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        for (String part : parts) {
+            md.update(part.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+        }
+        return toHex(md.digest());
+    }
+
+    static String hash(byte[] bytes) throws Exception {
+        return toHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    private static String toHex(byte[] digest) {
+        StringBuilder buf = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            buf.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return buf.toString();
+    }
+}
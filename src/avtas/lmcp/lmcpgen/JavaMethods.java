@@ -143,9 +143,10 @@ public class JavaMethods {
 
     public static String list_all_types(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
         StringBuilder buf = new StringBuilder();
-        for (int i = 0; i < info.structs.length; i++) {
-            buf.append(ws).append("\"").append(info.structs[i].name).append("\"");
-            if (i != info.structs.length - 1)
+        StructInfo[] structs = info.getDeclaredStructs();
+        for (int i = 0; i < structs.length; i++) {
+            buf.append(ws).append("\"").append(structs[i].name).append("\"");
+            if (i != structs.length - 1)
                 buf.append(",\n");
         }
         return buf.toString();
@@ -190,7 +191,20 @@ public class JavaMethods {
                 str += ws + "}\n\n";
                 //array types
             } else if (list[i].isArray) {
-                if (list[i].length == -1) {
+                String primitiveList = getPrimitiveList(info, list[i]);
+                if (primitiveList != null && info.boxedListGetters) {
+                    str += ws + "public java.util.List<" + getJavaObjectType(list[i], infos) + "> get" + name2 + "() {\n";
+                    str += ws + "    return " + name + ".asList();\n";
+                    str += ws + "}\n\n";
+
+                    str += ws + "public avtas.lmcp." + primitiveList + " get" + name2 + "List() {\n";
+                    str += ws + "    return " + name + ";\n";
+                    str += ws + "}\n\n";
+                } else if (primitiveList != null) {
+                    str += ws + "public avtas.lmcp." + primitiveList + " get" + name2 + "() {\n";
+                    str += ws + "    return " + name + ";\n";
+                    str += ws + "}\n\n";
+                } else if (list[i].length == -1) {
                     str += ws + "public java.util.ArrayList<" + getJavaObjectType(list[i], infos) + "> get" + name2 + "() {\n";
                     str += ws + "    return " + name + ";\n";
                     str += ws + "}\n\n";
@@ -231,45 +245,20 @@ public class JavaMethods {
 
             if (list[i].isScalar) {
                 str += ws + "protected " + getJavaType(list[i], infos) + " " + name;
-                if (list[i].isStruct) {
-                    if (defaultVal.equalsIgnoreCase("null")) {
-                        str += " = null;\n";
-                    } else {
-                        str += " = new " + getJavaType(list[i], infos) + "();\n";
-                    }
-                } else if (list[i].isEnum) {
-                    if (defaultVal.isEmpty()) {
-                        str += " = " + type + ".getEnum(0);\n";
-                    } else {
-                        str += " = " + type + "." + list[i].defaultVal + ";\n";
-                    }
-                } else if (defaultVal.length() == 0 && !type.equals("string")) {
+                String value = getDefaultValue(list[i], infos);
+                if (value == null) {
                     str += ";\n";
                     continue;
-                } else if (type.equals("bool")) {
-                    str += " = " + Boolean.valueOf(defaultVal) + ";\n";
-                } else if (type.equals("byte")) {
-                    str += " = (byte)" + defaultVal + ";\n";
-                } else if (type.equals("char")) {
-                    str += " = '" + defaultVal + "';\n";
-                } else if (type.equals("int16")) {
-                    str += " = (short)" + defaultVal + ";\n";
-                } else if (type.equals("real32")) {
-                    str += " = (float)" + defaultVal + ";\n";
-                } else if (type.equals("string")) {
-                    str += " = \"" + defaultVal + "\";\n";
-                } else if (type.equals("int64")) {
-                    str += " = " + defaultVal + "L;\n";
-                } else if (type.equals("uint32")) {
-                    str += " = " + defaultVal + "L;\n";
-                } else {
-                    str += " = " + defaultVal + ";\n";
                 }
+                str += " = " + value + ";\n";
                 // arrays
             } else if (list[i].isArray) {
                 String typeName = getJavaObjectType(list[i], infos);
 
-                if (list[i].length == -1) {
+                String primitiveList = getPrimitiveList(info, list[i]);
+                if (primitiveList != null) {
+                    str += ws + "protected avtas.lmcp." + primitiveList + " " + name + " = new avtas.lmcp." + primitiveList + "();\n";
+                } else if (list[i].length == -1) {
                     str += ws + "protected java.util.ArrayList<" + typeName + "> " + name
                             + " = new java.util.ArrayList<" + typeName + ">();\n";
                 } else {
@@ -311,6 +300,133 @@ public class JavaMethods {
         return str;
     }
 
+    /**
+     * returns the java expression of the MDM default of a scalar field, or null if the field keeps the natural
+     * default of its java type
+     */
+    private static String getDefaultValue(FieldInfo f, MDMInfo[] infos) throws Exception {
+        String defaultVal = f.defaultVal;
+        String type = f.type;
+        if (f.isEnum) {
+            EnumInfo enumInfo = MDMInfo.getEnumByName(infos, f);
+            type = enumInfo.namespace.replaceAll("/", ".") + "." + type;
+        }
+        if (f.isStruct) {
+            if (defaultVal.equalsIgnoreCase("null")) {
+                return "null";
+            } else {
+                return "new " + getJavaType(f, infos) + "()";
+            }
+        } else if (f.isEnum) {
+            if (defaultVal.isEmpty()) {
+                return type + ".getEnum(0)";
+            } else {
+                return type + "." + defaultVal;
+            }
+        } else if (defaultVal.length() == 0 && !type.equals("string")) {
+            return null;
+        } else if (type.equals("bool")) {
+            return String.valueOf(Boolean.valueOf(defaultVal));
+        } else if (type.equals("byte")) {
+            return "(byte)" + defaultVal;
+        } else if (type.equals("char")) {
+            return "'" + defaultVal + "'";
+        } else if (type.equals("int16")) {
+            return "(short)" + defaultVal;
+        } else if (type.equals("real32")) {
+            return "(float)" + defaultVal;
+        } else if (type.equals("string")) {
+            return "\"" + defaultVal + "\"";
+        } else if (type.equals("int64")) {
+            return defaultVal + "L";
+        } else if (type.equals("uint32")) {
+            return defaultVal + "L";
+        } else {
+            return defaultVal;
+        }
+    }
+
+    /**
+     * the body of reset(LMCPPool), which restores the MDM defaults.  Lists are cleared rather than replaced, nested
+     * objects of the declared type are reset in place, and the objects that are dropped go back to the pool, if any.
+     */
+    public static String member_reset(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder buf = new StringBuilder();
+        if (st.extends_name.length() != 0) {
+            buf.append(ws).append("super.reset(pool);\n");
+        }
+        for (FieldInfo f : st.fields) {
+            String name = f.name;
+            if (f.isScalar) {
+                String value = getDefaultValue(f, infos);
+                if (f.isStruct && !value.equals("null")) {
+                    String type = getJavaType(f, infos);
+                    buf.append(ws).append("if (").append(name).append(" != null && ").append(name).append(".getClass() == ")
+                            .append(type).append(".class) {\n");
+                    buf.append(ws).append("    ").append(name).append(".reset(pool);\n");
+                    buf.append(ws).append("} else {\n");
+                    buf.append(ws).append("    if (pool != null) pool.release(").append(name).append(");\n");
+                    buf.append(ws).append("    ").append(name).append(" = ").append(value).append(";\n");
+                    buf.append(ws).append("}\n");
+                } else if (f.isStruct) {
+                    buf.append(ws).append("if (pool != null) pool.release(").append(name).append(");\n");
+                    buf.append(ws).append(name).append(" = null;\n");
+                } else if (value != null) {
+                    buf.append(ws).append(name).append(" = ").append(value).append(";\n");
+                } else {
+                    buf.append(ws).append(name).append(" = ").append(getZeroValue(f, infos)).append(";\n");
+                }
+            } else if (f.isArray && f.length == -1) {
+                if (f.isStruct) {
+                    buf.append(ws).append("if (pool != null) pool.releaseAll(").append(name).append(");\n");
+                }
+                buf.append(ws).append(name).append(".clear();\n");
+            } else if (f.isArray) {
+                // fixed length arrays, filled as they are declared
+                String defaultVal = f.defaultVal;
+                if (f.isStruct) {
+                    boolean isNull = defaultVal.length() == 0 || defaultVal.equalsIgnoreCase("null")
+                            || f.type.equalsIgnoreCase(MDMInfo.LMCP_OBJECT_NAME);
+                    String type = getJavaType(f, infos);
+                    buf.append(ws).append("for (int i = 0; i < ").append(name).append(".length; i++) {\n");
+                    if (isNull) {
+                        buf.append(ws).append("    if (pool != null) pool.release(").append(name).append("[i]);\n");
+                        buf.append(ws).append("    ").append(name).append("[i] = null;\n");
+                    } else {
+                        buf.append(ws).append("    if (").append(name).append("[i] != null && ").append(name)
+                                .append("[i].getClass() == ").append(type).append(".class) {\n");
+                        buf.append(ws).append("        ").append(name).append("[i].reset(pool);\n");
+                        buf.append(ws).append("    } else {\n");
+                        buf.append(ws).append("        if (pool != null) pool.release(").append(name).append("[i]);\n");
+                        buf.append(ws).append("        ").append(name).append("[i] = new ").append(type).append("();\n");
+                        buf.append(ws).append("    }\n");
+                    }
+                    buf.append(ws).append("}\n");
+                } else {
+                    String value = defaultVal.length() == 0 ? getZeroValue(f, infos) : getDefaultValue(f, infos);
+                    if (f.isEnum && defaultVal.length() == 0) {
+                        value = "null";
+                    }
+                    buf.append(ws).append("java.util.Arrays.fill(").append(name).append(", ").append(value).append(");\n");
+                }
+            }
+        }
+        return buf.toString();
+    }
+
+    /** returns the natural default of the java type of a field that is not a struct */
+    private static String getZeroValue(FieldInfo f, MDMInfo[] infos) throws Exception {
+        String type = getJavaType(f, infos);
+        if (type.equals("boolean")) {
+            return "false";
+        } else if (type.equals("String")) {
+            return "null";
+        } else if (type.equals("int") || type.equals("long") || type.equals("double")) {
+            return "0";
+        }
+        return "(" + type + ") 0";
+    }
+
     public static String member_equals(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
         StringBuffer buf = new StringBuffer();
         for (FieldInfo f : st.fields) {
@@ -338,8 +454,19 @@ public class JavaMethods {
         for (FieldInfo f : st.fields) {
             counter++;
             if (f.isScalar) {
-                if (f.type.matches(NUMBER_MATCHER)) {
-                    buf.append(ws + "hash += 31 * (int)" + f.name + ";\n");
+                // the kinds NUMBER_MATCHER matches
+                switch (TypeKind.of(f)) {
+                    case BYTE:
+                    case INT16:
+                    case UINT16:
+                    case INT32:
+                    case UINT32:
+                    case REAL32:
+                    case REAL64:
+                        buf.append(ws + "hash += 31 * (int)" + f.name + ";\n");
+                        break;
+                    default:
+                        break;
                 }
             }
             if (counter > 4) {
@@ -373,7 +500,7 @@ public class JavaMethods {
                         str += ws + "size += LMCPUtil.sizeOfList(" + name + ");\n";
 
                     } else if (list[i].type.equals("string")) {
-                        str += ws + "size += 2;\n";
+                        str += ws + "size += " + (list[i].isLargeArray ? "4;\n" : "2;\n");
                         String tmpName = name + "_tmp";
                         str += ws + "for (String " + tmpName + " : " + name + ") { size+= LMCPUtil.sizeOfString(" + tmpName + "); }\n";
                     } else {
@@ -401,72 +528,156 @@ public class JavaMethods {
         return retStr;
     }
 
-    public static String member_unpack(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
-        String str = "";
+    public static void member_unpack(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendUnpack(infos, info, st, ws, "in", out);
+    }
+
+    /** the body of unpack(ByteBuffer), which calls the ByteBuffer overloads of the same LMCPUtil methods */
+    public static void member_unpack_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendUnpack(infos, info, st, ws, "buf", out);
+    }
+
+    private static void appendUnpack(MDMInfo[] infos, MDMInfo info, StructInfo st, String ws, String in, Appendable out) throws Exception {
         if (st.extends_name.length() != 0) {
-            str += ws + "super.unpack(in);\n";
+            out.append(ws + "super.unpack(" + in + ");\n");
         }
-        FieldInfo[] list = st.fields;
+        for (FieldInfo f : st.fields) {
+            appendUnpack(infos, info, f, ws, in, out);
+        }
+    }
 
-        for (int i = 0; i < st.fields.length; i++) {
-            String type = getJavaType(list[i], infos);
-            String name = list[i].name;
-            
-            if (!list[i].isStruct && !list[i].isEnum) {
-                type = list[i].type.substring(0,1).toUpperCase() + list[i].type.substring(1);
-            }
+    /** unpacks one field from in, into the member or local variable named after it */
+    private static void appendUnpack(MDMInfo[] infos, MDMInfo info, FieldInfo f, String ws, String in, Appendable out) throws Exception {
+        String type = getJavaType(f, infos);
+        String name = f.name;
+        
+        if (!f.isStruct && !f.isEnum) {
+            type = f.type.substring(0,1).toUpperCase() + f.type.substring(1);
+        }
 
-            // Scalar Types
-            if (list[i].isScalar) {
-                if (list[i].isStruct) {
-                    str += ws + "    " + name + " = (" + type + ") LMCPUtil.getObject(in);\n";
-                } else if (list[i].isEnum) {
-                    str += ws + name + " = " + type + ".unpack( in );\n\n";
+        // Scalar Types
+        if (f.isScalar) {
+            if (f.isStruct && in.equals("buf")) {
+                // unpacks into the object already held while the thread unpacks into pooled objects
+                out.append(ws + "    " + name + " = (" + type + ") LMCPUtil.getObject(" + in + ", " + name + ");\n");
+            } else if (f.isStruct) {
+                out.append(ws + "    " + name + " = (" + type + ") LMCPUtil.getObject(" + in + ");\n");
+            } else if (f.isEnum) {
+                out.append(ws + name + " = " + type + ".unpack( " + in + " );\n\n");
+            } else {
+                out.append(ws + name + " = LMCPUtil.get" + type + "(" + in + ");\n\n");
+            }
+            // Array Types
+        } else if (f.isArray) {
+            // variable length arrays
+            if (f.length == -1) {
+                if (f.isStruct && in.equals("buf")) {
+                    out.append(ws + "LMCPUtil.clearObjects(" + name + ");\n");
                 } else {
-                    str += ws + name + " = LMCPUtil.get" + type + "(in);\n\n";
+                    out.append(ws + name + ".clear();\n");
                 }
-                // Array Types
-            } else if (list[i].isArray) {
-                // variable length arrays
-                if (list[i].length == -1) {
-                    str += ws + name + ".clear();\n";
-                    if (list[i].isLargeArray) {
-                        str += ws + "long " + name + "_len = LMCPUtil.getUint32(in);\n";
-                    } else {
-                        str += ws + "int " + name + "_len = LMCPUtil.getUint16(in);\n";
-                    }
-                    str += ws + "for(int i=0; i<" + name + "_len; i++){\n";
-                    if (list[i].isStruct) {
-                        str += ws + name + ".add( (" + type + ") LMCPUtil.getObject(in));\n";
-                    } else if (list[i].isEnum) {
-                        str += ws + name + ".add(" + type + ".unpack( in ));\n\n";
-                    } else {
-                        str += ws + "    " + name + ".add(" + "LMCPUtil.get" + type + "(in));\n";
-                    }
-                    str += ws + "}\n";
+                if (f.isLargeArray) {
+                    out.append(ws + "long " + name + "_len = LMCPUtil.getUint32(" + in + ");\n");
+                } else {
+                    out.append(ws + "int " + name + "_len = LMCPUtil.getUint16(" + in + ");\n");
+                }
+                if (in.equals("buf") && isBulkPacked(info, f)) {
+                    // reads the values straight from a view of the buffer
+                    out.append(ws + name + ".unpack(" + in + ", " + (f.isLargeArray ? "(int) " : "") + name + "_len);\n");
+                    return;
+                }
+                out.append(ws + "for(int i=0; i<" + name + "_len; i++){\n");
+                if (f.isStruct) {
+                    out.append(ws + name + ".add( (" + type + ") LMCPUtil.getObject(" + in + "));\n");
+                } else if (f.isEnum) {
+                    out.append(ws + name + ".add(" + type + ".unpack( " + in + " ));\n\n");
+                } else {
+                    out.append(ws + "    " + name + ".add(" + "LMCPUtil.get" + type + "(" + in + "));\n");
+                }
+                out.append(ws + "}\n");
 
-                } else {  // fixed length arrays
-                    str += ws + "for(int i=0; i<" + name + ".length; i++){\n";
-                    if (list[i].isStruct) {
-                        str += ws + name + "[i] = (" + type + ") LMCPUtil.getObject(in);\n";
-                    } else if (list[i].isEnum) {
-                        str += ws + name + "[i] = " + type + ".unpack(in);\n\n";
-                    } else {
-                        str += ws + "    " + name + "[i] = " + "LMCPUtil.get" + type + "(in);\n";
-                    }
-                    str += ws + "}\n";
+            } else {  // fixed length arrays
+                out.append(ws + "for(int i=0; i<" + name + ".length; i++){\n");
+                if (f.isStruct && in.equals("buf")) {
+                    out.append(ws + name + "[i] = (" + type + ") LMCPUtil.getObject(" + in + ", " + name + "[i]);\n");
+                } else if (f.isStruct) {
+                    out.append(ws + name + "[i] = (" + type + ") LMCPUtil.getObject(" + in + ");\n");
+                } else if (f.isEnum) {
+                    out.append(ws + name + "[i] = " + type + ".unpack(" + in + ");\n\n");
+                } else {
+                    out.append(ws + "    " + name + "[i] = " + "LMCPUtil.get" + type + "(" + in + ");\n");
                 }
+                out.append(ws + "}\n");
             }
         }
+    }
 
-        return str;
+    /** the body of skip(ByteBuffer) */
+    public static void member_skip_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendSkip(st, ws, "buf", out);
     }
 
-    public static String member_pack(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
-        String str = "";
+    /** the body of skip(InputStream) */
+    public static void member_skip(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendSkip(st, ws, "in", out);
+    }
+
+    /**
+     * skips the fields of a struct and the structs it extends.  Each run of fixed size fields is skipped as one
+     * block, strings and arrays by their lengths, and objects through LMCPUtil.skipObject, which reads their header.
+     */
+    private static void appendSkip(StructInfo st, String ws, String in, Appendable out) throws Exception {
+        WireLayout layout = st.layout;
+        int run = 0;
+        for (int i = 0; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            if (layout.fixedSizes[i] >= 0) {
+                run += layout.fixedSizes[i];
+                continue;
+            }
+            if (f.isMap) {
+                continue;
+            }
+            if (run > 0) {
+                out.append(ws + "LMCPUtil.skipBytes(" + in + ", " + run + ");\n");
+                run = 0;
+            }
+            TypeKind kind = TypeKind.of(f);
+            String count;
+            if (f.isScalar) {
+                count = null;
+            } else if (f.length != -1) {
+                count = String.valueOf(f.length);
+            } else {
+                count = f.isLargeArray ? "LMCPUtil.getUint32(" + in + ")" : "LMCPUtil.getUint16(" + in + ")";
+            }
+            out.append(ws + "// " + f.name + "\n");
+            if (kind == TypeKind.STRING) {
+                out.append(ws + (count == null ? "LMCPUtil.skipString(" + in + ");\n" : "LMCPUtil.skipStrings(" + in + ", " + count + ");\n"));
+            } else if (f.isStruct) {
+                out.append(ws + (count == null ? "LMCPUtil.skipObject(" + in + ");\n" : "LMCPUtil.skipObjects(" + in + ", " + count + ");\n"));
+            } else {
+                out.append(ws + "LMCPUtil.skipBytes(" + in + ", " + count + " * " + kind.wireSize + ");\n");
+            }
+        }
+        if (run > 0) {
+            out.append(ws + "LMCPUtil.skipBytes(" + in + ", " + run + ");\n");
+        }
+    }
+
+    public static void member_pack(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendPack(infos, info, st, ws, "out", out);
+    }
+
+    /** the body of pack(ByteBuffer), which calls the ByteBuffer overloads of the same LMCPUtil methods */
+    public static void member_pack_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        appendPack(infos, info, st, ws, "buf", out);
+    }
+
+    private static void appendPack(MDMInfo[] infos, MDMInfo info, StructInfo st, String ws, String stream, Appendable out) throws Exception {
         FieldInfo[] list = st.fields;
         if (st.extends_name.length() != 0) {
-            str += ws + "super.pack(out);\n";
+            out.append(ws + "super.pack(" + stream + ");\n");
         }
 
         // for each field in the message
@@ -481,11 +692,11 @@ public class JavaMethods {
             //scalar types
             if (list[i].isScalar) {
                 if (list[i].isStruct) {
-                    str += ws + "LMCPUtil.putObject(out, " + name + ");\n";
+                    out.append(ws + "LMCPUtil.putObject(" + stream + ", " + name + ");\n");
                 } else if (list[i].isEnum) {
-                    str += ws + name + ".pack(out);\n";
+                    out.append(ws + name + ".pack(" + stream + ");\n");
                 } else {
-                    str += ws + "LMCPUtil.put" + type + "(out, " + name + ");\n";
+                    out.append(ws + "LMCPUtil.put" + type + "(" + stream + ", " + name + ");\n");
                 }
                 // array types
             } else if (list[i].isArray) {
@@ -493,36 +704,39 @@ public class JavaMethods {
                 //variable length arrays
                 if (length == -1) {
                     if ( list[i].isLargeArray) {
-                        str += ws + "LMCPUtil.putUint32(out, " + name + ".size());\n";
+                        out.append(ws + "LMCPUtil.putUint32(" + stream + ", " + name + ".size());\n");
                     } else {
-                        str += ws + "LMCPUtil.putUint16(out, " + name + ".size());\n";
+                        out.append(ws + "LMCPUtil.putUint16(" + stream + ", " + name + ".size());\n");
+                    }
+                    if (stream.equals("buf") && isBulkPacked(info, list[i])) {
+                        out.append(ws + name + ".pack(" + stream + ");\n");
+                        continue;
                     }
                     
-                    str += ws + "for(int i=0; i<" + name + ".size(); i++){\n";
+                    out.append(ws + "for(int i=0; i<" + name + ".size(); i++){\n");
                     if (list[i].isStruct) {
-                        str += ws + "    LMCPUtil.putObject(out, " + name + ".get(i));\n";
+                        out.append(ws + "    LMCPUtil.putObject(" + stream + ", " + name + ".get(i));\n");
                     } else if (list[i].isEnum) {
-                        str += ws + "    " + name + ".get(i).pack(out);\n";
+                        out.append(ws + "    " + name + ".get(i).pack(" + stream + ");\n");
                     } else {
                         
-                        str += ws + "    LMCPUtil.put" + type + "(out, " + name + ".get(i));\n";
+                        out.append(ws + "    LMCPUtil.put" + type + "(" + stream + ", " + name + ".get(i));\n");
                     }
-                    str += ws + "}\n";
+                    out.append(ws + "}\n");
                 } else {
                     //fixed length arrays
-                    str += ws + "for(int i=0; i<" + name + ".length; i++){\n";
+                    out.append(ws + "for(int i=0; i<" + name + ".length; i++){\n");
                     if (list[i].isStruct) {
-                        str += ws + "    LMCPUtil.putObject(out, " + name + "[i]);\n";
+                        out.append(ws + "    LMCPUtil.putObject(" + stream + ", " + name + "[i]);\n");
                     } else if (list[i].isEnum) {
-                        str += ws + "    " + name + "[i].pack(out);\n";
+                        out.append(ws + "    " + name + "[i].pack(" + stream + ");\n");
                     } else {
-                        str += ws + "    LMCPUtil.put" + type + "(out, " + name + "[i]);\n";
+                        out.append(ws + "    LMCPUtil.put" + type + "(" + stream + ", " + name + "[i]);\n");
                     }
-                    str += ws + "}\n";
+                    out.append(ws + "}\n");
                 }
             }
         }
-        return str;
     }
 
     public static String object_type_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
@@ -537,8 +751,7 @@ public class JavaMethods {
         return ws + st.id;
     }
 
-    public static String to_xml(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
-        StringBuffer buf = new StringBuffer();
+    public static void to_xml(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
         StructInfo dt_tmp = st;
         ArrayList<FieldInfo> fields = new ArrayList<FieldInfo>();
         fields.addAll(Arrays.asList(dt_tmp.fields));
@@ -547,42 +760,40 @@ public class JavaMethods {
             fields.addAll(Arrays.asList(dt_tmp.fields));
         }
 
-        buf.append(ws + "buf.append( ws + \"<" + st.name + " Series=\\\"" + st.seriesName + "\\\">\\n\");\n");
+        out.append(ws + "buf.append( ws + \"<" + st.name + " Series=\\\"" + st.seriesName + "\\\">\\n\");\n");
         for (FieldInfo f : fields) {
             String name = f.name;
             if (f.isArray) {
-                buf.append(ws + "buf.append( ws + \"  <" + name + ">\\n\");\n");
+                out.append(ws + "buf.append( ws + \"  <" + name + ">\\n\");\n");
                 if (f.length == -1) {
-                    buf.append(ws + "for (int i=0; i<" + name + ".size(); i++) {\n");
+                    out.append(ws + "for (int i=0; i<" + name + ".size(); i++) {\n");
                     if (f.isStruct) {
-                        buf.append(ws + "    buf.append( " + name + ".get(i) == null ? ( ws + \"    <null/>\\n\") : (" + name + ".get(i).toXML(ws + \"    \")) + \"\\n\");\n");
+                        out.append(ws + "    buf.append( " + name + ".get(i) == null ? ( ws + \"    <null/>\\n\") : (" + name + ".get(i).toXML(ws + \"    \")) + \"\\n\");\n");
                     } else {
-                        buf.append(ws + "buf.append( ws + \"  <" + f.type + ">\" + String.valueOf(" + name + ".get(i)) + \"</" + f.type + ">\\n\");\n");
+                        out.append(ws + "buf.append( ws + \"  <" + f.type + ">\" + String.valueOf(" + name + ".get(i)) + \"</" + f.type + ">\\n\");\n");
                     }
                 } else {
-                    buf.append(ws + "for (int i=0; i<" + name + ".length; i++) {\n");
+                    out.append(ws + "for (int i=0; i<" + name + ".length; i++) {\n");
                     if (f.isStruct) {
-                        buf.append(ws + "    buf.append( " + name + "[i] == null ? ( ws + \"  <null/>\\n\") : (" + name + "[i].toXML(ws + \"  \")) + \"\\n\");\n");
+                        out.append(ws + "    buf.append( " + name + "[i] == null ? ( ws + \"  <null/>\\n\") : (" + name + "[i].toXML(ws + \"  \")) + \"\\n\");\n");
                     } else {
-                        buf.append(ws + "buf.append( ws + \"  <" + f.type + ">\" + String.valueOf(" + name + "[i]) + \"</" + f.type + ">\\n\");\n");
+                        out.append(ws + "buf.append( ws + \"  <" + f.type + ">\" + String.valueOf(" + name + "[i]) + \"</" + f.type + ">\\n\");\n");
                     }
                 }
-                buf.append(ws + "}\n");
-                buf.append(ws + "buf.append( ws + \"  </" + f.name + ">\\n\");\n");
+                out.append(ws + "}\n");
+                out.append(ws + "buf.append( ws + \"  </" + f.name + ">\\n\");\n");
             } else if (f.isStruct) {
-                buf.append(ws + "if (" + name + "!= null){\n");
-                buf.append(ws + "   buf.append( ws + \"  <" + f.name + ">\\n\");\n");
-                buf.append(ws + "   buf.append( ( " + name + ".toXML(ws + \"    \")) + \"\\n\");\n");
-                buf.append(ws + "   buf.append( ws + \"  </" + f.name + ">\\n\");\n");
-                buf.append(ws + "}\n");
+                out.append(ws + "if (" + name + "!= null){\n");
+                out.append(ws + "   buf.append( ws + \"  <" + f.name + ">\\n\");\n");
+                out.append(ws + "   buf.append( ( " + name + ".toXML(ws + \"    \")) + \"\\n\");\n");
+                out.append(ws + "   buf.append( ws + \"  </" + f.name + ">\\n\");\n");
+                out.append(ws + "}\n");
             } else {
-                buf.append(ws + "buf.append( ws + \"  <" + f.name + ">\" + String.valueOf(" + name + ") + \"</" + f.name + ">\\n\");\n");
+                out.append(ws + "buf.append( ws + \"  <" + f.name + ">\" + String.valueOf(" + name + ") + \"</" + f.name + ">\\n\");\n");
             }
         }
 
-        buf.append(ws + "buf.append( ws + \"</" + st.name + ">\");\n");
-
-        return buf.toString();
+        out.append(ws + "buf.append( ws + \"</" + st.name + ">\");\n");
     }
 
     public static String send_all_messages(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
@@ -611,7 +822,7 @@ public class JavaMethods {
     
     public static String series_enum_get_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
         StringBuilder sb = new StringBuilder();
-        for (StructInfo si : info.structs) {
+        for (StructInfo si : info.getDeclaredStructs()) {
             sb.append(ws).append("case ").append(si.id).append(": return \"").append(si.name).append("\";\n");
         }
         return sb.toString();
@@ -619,106 +830,391 @@ public class JavaMethods {
     
     public static String series_enum_get_type(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
         StringBuilder sb = new StringBuilder();
-        for (StructInfo si : info.structs) {
+        for (StructInfo si : info.getDeclaredStructs()) {
             sb.append(ws).append("if ( name.equals(\"").append(si.name).append("\")) return ").append(si.id).append(";\n");
         }
         return sb.toString();
     }
 
-    /******************* Utility Methods ******************************/
-    /** this returns the java type that is associated with the LMCP type */
-    public static String getJavaType(FieldInfo f, MDMInfo[] infos) throws Exception {
-        String type = f.type;
-        if (type.equalsIgnoreCase("uint16")) {
-            return "int";
-        }
-        if (type.equalsIgnoreCase("uint32")) {
-            return "long";
-        }
-        if (type.equalsIgnoreCase("byte")) {
-            return "short";
-        }
-        if (type.equalsIgnoreCase("bool")) {
-            return "boolean";
-        }
-        if (type.equalsIgnoreCase("int16")) {
-            return "short";
-        }
-        if (type.equalsIgnoreCase("int32")) {
-            return "int";
-        }
-        if (type.equalsIgnoreCase("int64")) {
-            return "long";
-        }
-        if (type.equalsIgnoreCase("real32")) {
-            return "float";
-        }
-        if (type.equalsIgnoreCase("real64")) {
-            return "double";
-        }
-        if (type.equalsIgnoreCase("char")) {
-            return "char";
+    public static String series_enum_new_view(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.structs) {
+            sb.append(ws).append("case ").append(si.id).append(": return new ").append(si.name).append("View();\n");
         }
-        if (type.equalsIgnoreCase("string")) {
-            return "String";
+        return sb.toString();
+    }
+
+    public static String series_enum_skip_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.structs) {
+            sb.append(ws).append("case ").append(si.id).append(": ").append(si.name).append(".skip(buf); return true;\n");
         }
-        if (type.equals(MDMInfo.LMCP_OBJECT_NAME)) {
-            return "avtas.lmcp.LMCPObject";
+        return sb.toString();
+    }
+
+    public static String series_enum_skip(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (StructInfo si : info.structs) {
+            sb.append(ws).append("case ").append(si.id).append(": ").append(si.name).append(".skip(in); return true;\n");
         }
-        // otherwise, its a class, so return the full classname
-        return getPackageName(infos, f.seriesName) + "." + type.substring(0, 1).toUpperCase() + type.substring(1);
+        return sb.toString();
     }
 
-    /** returns the Object type associated with the LMCP type passed */
-    public static String getJavaObjectType(FieldInfo f, MDMInfo[] infos) throws Exception {
-        String type = f.type;
-        if (type.equalsIgnoreCase("uint16")) {
-            return "Integer";
+    /** the sizes of a view's fixed prefix and index, from the wire layout of its struct */
+    public static String view_layout(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        WireLayout layout = st.layout;
+        StringBuilder sb = new StringBuilder();
+        sb.append(ws).append("/** the size of the fields read at fixed offsets */\n");
+        sb.append(ws).append("private static final int PREFIX_SIZE = ").append(layout.fixedPrefix).append(";\n");
+        sb.append(ws).append("/** the number of fields after them, whose positions are indexed */\n");
+        sb.append(ws).append("private static final int INDEXED_FIELDS = ").append(getIndexedFields(layout)).append(";\n");
+        sb.append(ws).append("private static final int FIELD_COUNT = ").append(layout.fields.length).append(";\n");
+        return sb.toString();
+    }
+
+    /** the getters of a view, for the fields of its struct and the structs it extends */
+    public static String view_getters(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        WireLayout layout = st.layout;
+        MDMInfo[] owners = getFieldOwners(infos, layout);
+        int firstIndexed = layout.fields.length - getIndexedFields(layout);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            String type = getJavaType(f, infos);
+            String comment = f.comment.replaceAll("\\s+", " ");
+            comment = comment.replaceAll("<br", "\n" + ws + "*<br") + "(Units: " + f.units + ")";
+            String name2 = f.name.substring(0, 1).toUpperCase() + f.name.substring(1);
+            int k = i - firstIndexed;
+            String pos = k < 0 ? "fields + " + layout.offsets[i] : "offset(" + k + ")";
+
+            // numbers, bools, chars and enums are read from the buffer each time
+            if (f.isScalar && layout.fixedSizes[i] >= 0) {
+                sb.append(ws).append("/** ").append(comment).append("*/\n");
+                sb.append(ws).append("public ").append(type).append(" get").append(name2).append("() {\n");
+                sb.append(ws).append("    return ").append(getViewRead(f, type, pos)).append(";\n");
+                sb.append(ws).append("}\n\n");
+                continue;
+            }
+
+            // the rest are decoded once
+            String value = "field(" + i + ", " + pos + ")";
+            String primitiveList = getPrimitiveList(owners[i], f);
+            if (f.isScalar) {
+                sb.append(ws).append("/** ").append(comment).append("*/\n");
+                sb.append(ws).append("public ").append(type).append(" get").append(name2).append("() {\n");
+                sb.append(ws).append("    return (").append(type).append(") ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+            } else if (primitiveList != null && owners[i].boxedListGetters) {
+                sb.append(ws).append("public java.util.List<").append(getJavaObjectType(f, infos)).append("> get").append(name2).append("() {\n");
+                sb.append(ws).append("    return get").append(name2).append("List().asList();\n");
+                sb.append(ws).append("}\n\n");
+
+                sb.append(ws).append("public avtas.lmcp.").append(primitiveList).append(" get").append(name2).append("List() {\n");
+                sb.append(ws).append("    return (avtas.lmcp.").append(primitiveList).append(") ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+            } else if (primitiveList != null) {
+                sb.append(ws).append("public avtas.lmcp.").append(primitiveList).append(" get").append(name2).append("() {\n");
+                sb.append(ws).append("    return (avtas.lmcp.").append(primitiveList).append(") ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+            } else if (f.length == -1) {
+                String listType = "java.util.ArrayList<" + getJavaObjectType(f, infos) + ">";
+                sb.append(ws).append("@SuppressWarnings(\"unchecked\")\n");
+                sb.append(ws).append("public ").append(listType).append(" get").append(name2).append("() {\n");
+                sb.append(ws).append("    return (").append(listType).append(") ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+            } else {
+                sb.append(ws).append("public ").append(type).append("[] get").append(name2).append("() {\n");
+                sb.append(ws).append("    return (").append(type).append("[]) ").append(value).append(";\n");
+                sb.append(ws).append("}\n\n");
+                if (layout.fixedSizes[i] >= 0) {
+                    // fixed length arrays of numbers can be read an element at a time
+                    int size = TypeKind.of(f).wireSize;
+                    sb.append(ws).append("/** returns element i of ").append(f.name).append(", read from the buffer */\n");
+                    sb.append(ws).append("public ").append(type).append(" get").append(name2).append("(int i) {\n");
+                    sb.append(ws).append("    if (i < 0 || i >= ").append(f.length).append(") {\n");
+                    sb.append(ws).append("        throw new IndexOutOfBoundsException(\"Index: \" + i + \", Length: ").append(f.length).append("\");\n");
+                    sb.append(ws).append("    }\n");
+                    sb.append(ws).append("    return ").append(getViewRead(f, type, pos + " + i * " + size)).append(";\n");
+                    sb.append(ws).append("}\n\n");
+                }
+            }
         }
-        if (type.equalsIgnoreCase("uint32")) {
-            return "Long";
+        return sb.toString();
+    }
+
+    /** the cases of a view's skipField(), which return the position after each indexed field */
+    public static String view_skip_field(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        WireLayout layout = st.layout;
+        int firstIndexed = layout.fields.length - getIndexedFields(layout);
+        StringBuilder sb = new StringBuilder();
+        for (int i = firstIndexed; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            TypeKind kind = TypeKind.of(f);
+            sb.append(ws).append("case ").append(i - firstIndexed).append(": ");
+            if (layout.fixedSizes[i] >= 0) {
+                sb.append("return pos + ").append(layout.fixedSizes[i]).append(";");
+            } else if (f.isScalar) {
+                sb.append(f.isStruct ? "return skipObjects(pos, 1);" : "return skipStrings(pos, 1);");
+            } else if (f.length != -1) {
+                sb.append(f.isStruct ? "return skipObjects(pos, " : "return skipStrings(pos, ").append(f.length).append(");");
+            } else {
+                int prefix = f.isLargeArray ? 4 : 2;
+                String length = "arrayLength(pos, " + f.isLargeArray + ")";
+                if (f.isStruct) {
+                    sb.append("return skipObjects(pos + ").append(prefix).append(", ").append(length).append(");");
+                } else if (kind == TypeKind.STRING) {
+                    sb.append("return skipStrings(pos + ").append(prefix).append(", ").append(length).append(");");
+                } else {
+                    sb.append("return pos + ").append(prefix).append(" + ").append(length).append(" * ").append(kind.wireSize).append(";");
+                }
+            }
+            sb.append(" // ").append(f.name).append("\n");
         }
-        if (type.equalsIgnoreCase("byte")) {
-            return "Short";
+        return sb.toString();
+    }
+
+    /** the cases of a view's decodeField(), which unpack strings, arrays and objects into a local variable */
+    public static void view_decode_field(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws, Appendable out) throws Exception {
+        WireLayout layout = st.layout;
+        MDMInfo[] owners = getFieldOwners(infos, layout);
+        for (int i = 0; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            if (f.isScalar && layout.fixedSizes[i] >= 0) {
+                continue;
+            }
+            String type = getJavaType(f, infos);
+            String name = f.name;
+            String primitiveList = getPrimitiveList(owners[i], f);
+            out.append(ws + "case " + i + ": {\n");
+            if (f.isScalar) {
+                out.append(ws + "    " + type + " " + name + " = null;\n");
+            } else if (primitiveList != null) {
+                out.append(ws + "    avtas.lmcp." + primitiveList + " " + name + " = new avtas.lmcp." + primitiveList + "();\n");
+            } else if (f.length == -1) {
+                String listType = "java.util.ArrayList<" + getJavaObjectType(f, infos) + ">";
+                out.append(ws + "    " + listType + " " + name + " = new " + listType + "();\n");
+            } else {
+                out.append(ws + "    " + type + "[] " + name + " = new " + type + "[" + f.length + "];\n");
+            }
+            appendUnpack(infos, owners[i], f, ws + "    ", "buf", out);
+            out.append(ws + "    return " + name + ";\n");
+            out.append(ws + "}\n");
         }
-        if (type.equalsIgnoreCase("bool")) {
-            return "Boolean";
+    }
+
+    /** the class name of a primitive list, such as DoubleList, from the name of its file */
+    public static String list_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + getListSpec(outfile)[0];
+    }
+
+    /** the java type of the values of a primitive list */
+    public static String list_type(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + getListSpec(outfile)[1];
+    }
+
+    public static String list_boxed_type(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + getListSpec(outfile)[2];
+    }
+
+    /** the java.nio buffer that views a ByteBuffer as values of a primitive list, such as DoubleBuffer */
+    public static String list_buffer(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        String name = getListSpec(outfile)[0];
+        return ws + name.substring(0, name.length() - "List".length()) + "Buffer";
+    }
+
+    public static String list_element_size(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        return ws + getListSpec(outfile)[3];
+    }
+
+    /******************* Utility Methods ******************************/
+
+    /** the class name, java type, boxed type and size in bytes of the values of each primitive list */
+    private static final String[][] PRIMITIVE_LISTS = {
+        {"ShortList", "short", "Short", "2"},
+        {"IntList", "int", "Integer", "4"},
+        {"LongList", "long", "Long", "8"},
+        {"FloatList", "float", "Float", "4"},
+        {"DoubleList", "double", "Double", "8"},};
+
+    private static String[] getListSpec(File outfile) throws Exception {
+        String name = outfile.getName().replaceFirst("\\.java$", "");
+        for (String[] spec : PRIMITIVE_LISTS) {
+            if (spec[0].equals(name)) {
+                return spec;
+            }
         }
-        if (type.equalsIgnoreCase("char")) {
-            return "Character";
+        throw new Exception("No primitive list is named " + name);
+    }
+
+    /**
+     * returns the primitive list that holds a variable length array of numbers, such as DoubleList, or null if the
+     * MDM does not use primitive lists or the field is kept in an ArrayList.
+     */
+    public static String getPrimitiveList(MDMInfo info, FieldInfo f) throws Exception {
+        if (!info.primitiveLists || !f.isArray || f.length != -1 || f.isStruct || f.isEnum) {
+            return null;
         }
-        if (type.equalsIgnoreCase("int16")) {
-            return "Short";
+        switch (TypeKind.of(f)) {
+            case BYTE:
+            case INT16:
+                return "ShortList";
+            case UINT16:
+            case INT32:
+                return "IntList";
+            case UINT32:
+            case INT64:
+                return "LongList";
+            case REAL32:
+                return "FloatList";
+            case REAL64:
+                return "DoubleList";
+            default:
+                return null;
         }
-        if (type.equalsIgnoreCase("int32")) {
-            return "Integer";
+    }
+
+    /** returns the number of fields from the first one that is not fixed size, which a view finds through its index */
+    private static int getIndexedFields(WireLayout layout) {
+        for (int i = 0; i < layout.fields.length; i++) {
+            if (layout.fixedSizes[i] < 0) {
+                return layout.fields.length - i;
+            }
         }
-        if (type.equalsIgnoreCase("int64")) {
-            return "Long";
+        return 0;
+    }
+
+    /** returns the MDM that declares each field of a layout, whose options, such as primitive lists, apply to it */
+    private static MDMInfo[] getFieldOwners(MDMInfo[] infos, WireLayout layout) throws Exception {
+        MDMInfo[] owners = new MDMInfo[layout.fields.length];
+        int i = 0;
+        for (StructInfo st : layout.chain) {
+            MDMInfo owner = null;
+            for (MDMInfo mdm : infos) {
+                if (mdm.seriesName.equals(st.seriesName)) {
+                    owner = mdm;
+                }
+            }
+            if (owner == null) {
+                throw new Exception("Unknown Series Name: " + st.seriesName);
+            }
+            for (int j = 0; j < st.fields.length; j++) {
+                owners[i++] = owner;
+            }
         }
-        if (type.equalsIgnoreCase("real32")) {
-            return "Float";
+        return owners;
+    }
+
+    /** returns the expression that reads a number, bool, char or enum at an absolute position of a view's buffer */
+    private static String getViewRead(FieldInfo f, String type, String pos) throws Exception {
+        switch (TypeKind.of(f)) {
+            case BOOL:
+                return "buf.get(" + pos + ") != 0";
+            case BYTE:
+                return "(short) (buf.get(" + pos + ") & 0xff)";
+            case CHAR:
+                return "(char) buf.get(" + pos + ")";
+            case INT16:
+                return "buf.getShort(" + pos + ")";
+            case UINT16:
+                return "buf.getShort(" + pos + ") & 0xFFFF";
+            case INT32:
+                return "buf.getInt(" + pos + ")";
+            case UINT32:
+                return "buf.getInt(" + pos + ") & 0xFFFFFFFFL";
+            case INT64:
+                return "buf.getLong(" + pos + ")";
+            case REAL32:
+                return "buf.getFloat(" + pos + ")";
+            case REAL64:
+                return "buf.getDouble(" + pos + ")";
+            case ENUM:
+                return type + ".getEnum(buf.getInt(" + pos + "))";
+            default:
+                throw new Exception("No fixed size read for " + f.type);
         }
-        if (type.equalsIgnoreCase("real64")) {
-            return "Double";
+    }
+
+    /** returns true if a primitive list is packed in bulk, because its values are as wide in Java as on the wire */
+    private static boolean isBulkPacked(MDMInfo info, FieldInfo f) throws Exception {
+        if (getPrimitiveList(info, f) == null) {
+            return false;
         }
-        if (type.equalsIgnoreCase("string")) {
-            return "String";
+        TypeKind kind = TypeKind.of(f);
+        return kind != TypeKind.BYTE && kind != TypeKind.UINT16 && kind != TypeKind.UINT32;
+    }
+    /** this returns the java type that is associated with the LMCP type */
+    public static String getJavaType(FieldInfo f, MDMInfo[] infos) throws Exception {
+        switch (TypeKind.of(f)) {
+            case UINT16:
+                return "int";
+            case UINT32:
+                return "long";
+            case BYTE:
+                return "short";
+            case BOOL:
+                return "boolean";
+            case INT16:
+                return "short";
+            case INT32:
+                return "int";
+            case INT64:
+                return "long";
+            case REAL32:
+                return "float";
+            case REAL64:
+                return "double";
+            case CHAR:
+                return "char";
+            case STRING:
+                return "String";
+            case OBJECT:
+                return "avtas.lmcp.LMCPObject";
+            default:
+                // otherwise, its a class, so return the full classname
+                return getPackageName(infos, f.seriesName) + "." + f.type.substring(0, 1).toUpperCase() + f.type.substring(1);
         }
-        if (type.equals(MDMInfo.LMCP_OBJECT_NAME)) {
-            return "avtas.lmcp.LMCPObject";
+    }
+
+    /** returns the Object type associated with the LMCP type passed */
+    public static String getJavaObjectType(FieldInfo f, MDMInfo[] infos) throws Exception {
+        switch (TypeKind.of(f)) {
+            case UINT16:
+                return "Integer";
+            case UINT32:
+                return "Long";
+            case BYTE:
+                return "Short";
+            case BOOL:
+                return "Boolean";
+            case CHAR:
+                return "Character";
+            case INT16:
+                return "Short";
+            case INT32:
+                return "Integer";
+            case INT64:
+                return "Long";
+            case REAL32:
+                return "Float";
+            case REAL64:
+                return "Double";
+            case STRING:
+                return "String";
+            case OBJECT:
+                return "avtas.lmcp.LMCPObject";
+            default:
+                // otherwise, its a class, so return the full classname
+                return getPackageName(infos, f.seriesName) + "." + f.type.substring(0, 1).toUpperCase() + f.type.substring(1);
         }
-        // otherwise, its a class, so return the full classname
-        return getPackageName(infos, f.seriesName) + "." + type.substring(0, 1).toUpperCase() + type.substring(1);
     }
 
     /** returns the size in bytes of the LMCP type */
     public static int sizeOf(MDMInfo info, FieldInfo field) throws Exception {
-        if (field.isEnum) {
-            return 4;
-        } else {
-            return sizeOf(field.type);
+        TypeKind kind = TypeKind.of(field);
+        if (!kind.isFixedSize()) {
+            throw new Exception("Invalid Struct");
         }
+        return kind.wireSize;
     }
 
     /** returns the size in bytes of the LMCP type */
@@ -38,6 +38,7 @@ import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
@@ -236,14 +237,11 @@ public class LmcpGenGUI {
                     // read the MDM files
                     textArea.append("Parsing the MDM...");
                     String[] mdmPaths = mdmFile.getPaths();
-                    infos = new MDMInfo[mdmPaths.length];
-                    for (int i = 0; i < mdmPaths.length; i++) {
-                        MDMInfo info = MDMReader.readMDM(new File(mdmPaths[i]));
-                        if (info == null) {
-                            throw new Exception("Bad MDM File Specified for " + mdmPaths[i]);
-                        }
-                        infos[i] = info;
+                    LmcpGenerator generator = new LmcpGenerator();
+                    for (String path : mdmPaths) {
+                        generator.addMDM(new File(path));
                     }
+                    infos = mdmPaths.length == 0 ? null : generator.getMDMs();
 
                     textArea.append("Done.\n");
 
@@ -288,20 +286,24 @@ public class LmcpGenGUI {
                         }
                         if (runClass != null && template != null) {
                             textArea.append("Creating custom code at..." + outputField.getPath() + "/custom \n");
-                            LmcpGen.makePackage(infos,
-                                    new File(outputDir, "custom"),
-                                    new File(templateField.getPath()).toURI().toURL(),
-                                    runClass);
-                            textArea.append("Success.\n");
+                            generator.addTarget("custom", new File(templateField.getPath()).toURI().toURL(), runClass,
+                                    new DirectorySink(new File(outputDir, "custom")));
                         }
                     }
 
                     for (PackageInfo set : packageList) {
                         if (set.checkBox.isSelected()) {
                             textArea.append("Creating " + set.displayName + " code at..." + outputField.getPath() + "/" + set.outputDir + "\n");
-                            LmcpGen.makePackage(infos, new File(outputDir, set.outputDir), getClass().getResource(set.templateListing),
-                                    Class.forName(set.methodsClass));
-                            textArea.append("Done.\n");
+                            generator.addTarget(set.displayName, getClass().getResource(set.templateListing),
+                                    Class.forName(set.methodsClass), new DirectorySink(new File(outputDir, set.outputDir)));
+                        }
+                    }
+                    List<LmcpGen.Target> targets = generator.getTargets();
+                    if (!targets.isEmpty()) {
+                        generator.generate();
+                        for (LmcpGen.Target target : targets) {
+                            textArea.append("Done with " + target.name + " (" + target.written + " of " + target.files
+                                    + " files changed, " + target.millis + " ms).\n");
                         }
                     }
 
@@ -40,11 +40,22 @@ public class MDMInfo {
     public String guid = "";
     public StructInfo[] structs = new StructInfo[0];
     public EnumInfo[] enums = new EnumInfo[0];
+    /** every struct the MDM declares, when only some of them are generated; see TypeSubset */
+    public StructInfo[] declaredStructs = null;
     public Set<String> mdmDependencies = new HashSet<>();
     /** a string containing the contents of the MDM file */
     public String mdmString = "";
     public int version = 0;
     public long seriesNameAsLong = 0;
+    /** (Java) generates the variable length arrays of numbers as primitive lists, such as avtas.lmcp.DoubleList */
+    public boolean primitiveLists = false;
+    /** (Java) with primitive lists, keeps getters that return a java.util.List of boxed values */
+    public boolean boxedListGetters = false;
+
+    /** returns every struct the MDM declares, including those left out of a subset */
+    public StructInfo[] getDeclaredStructs() {
+        return declaredStructs == null ? structs : declaredStructs;
+    }
 
     /** Creates a new instance of MDMInfo */
     public MDMInfo() {
@@ -70,17 +81,18 @@ public class MDMInfo {
 
     /** returns true if the given field is a struct (not primitive, not an en) */
     public boolean isStruct(String type) {
-        return !type.matches(primitive_matcher) && (getEnumByName(type) == null);
+        return TypeKind.forPrimitive(type) == null && (getEnumByName(type) == null);
     }
 
     /** returns true if the given field is an en (not primitive, not a struct) */
     public boolean isEnum(String type) {
-        return !type.matches(primitive_matcher) && (getStructByName(type) == null);
+        return TypeKind.forPrimitive(type) == null && (getStructByName(type) == null);
     }
 
     /** Returns true if the type is a numerical type (real, unsigned/signed int, or byte) */
     public static boolean isNumber(String type) {
-        return type.matches(number_matcher);
+        TypeKind kind = TypeKind.forPrimitive(type);
+        return kind != null && kind.isNumber();
     }
     
     public static boolean isPrimitive(String type) {
@@ -96,6 +108,13 @@ public class MDMInfo {
         if (st.extends_name.isEmpty()) {
             return null;
         }
+        TypeRegistry registry = TypeRegistry.get(infos);
+        if (registry != null) {
+            StructInfo parent = registry.getStruct(st.extends_series, st.extends_name);
+            if (parent != null) {
+                return parent;
+            }
+        }
         for (MDMInfo info : infos) {
             if (info.seriesName.equals(st.extends_series)) {
                 for (StructInfo tmp : info.structs) {
@@ -114,6 +133,13 @@ public class MDMInfo {
      * the end of the list.
      */
     public static List<StructInfo> getAllParents(MDMInfo[] infos, StructInfo st0) throws Exception {
+        TypeRegistry registry = TypeRegistry.get(infos);
+        if (registry != null) {
+            List<StructInfo> chain = registry.getInheritanceChain(st0);
+            if (chain != null) {
+                return new LinkedList<>(chain);
+            }
+        }
         LinkedList<StructInfo> ls = new LinkedList<>();
         StructInfo st = st0;
         do {
@@ -132,6 +158,10 @@ public class MDMInfo {
      * Get the immediate children of the given struct.
      */
     public static Set<StructInfo> getChildren(MDMInfo[] infos, StructInfo st0) {
+        TypeRegistry registry = TypeRegistry.get(infos);
+        if (registry != null) {
+            return registry.getChildren(st0);
+        }
         HashSet<StructInfo> children = new HashSet<>();
         for (MDMInfo mdm : infos) {
             for (StructInfo st : mdm.structs) {
@@ -147,6 +177,10 @@ public class MDMInfo {
      * Get all children of the given struct.
      */
     public static Set<StructInfo> getAllChildren(MDMInfo[] infos, StructInfo st0) {
+        TypeRegistry registry = TypeRegistry.get(infos);
+        if (registry != null) {
+            return registry.getDescendants(st0);
+        }
         HashSet<StructInfo> children = new HashSet<>();
         for (StructInfo st : getChildren(infos, st0)) {
             children.add(st);
@@ -156,6 +190,10 @@ public class MDMInfo {
     }
 
     public static StructInfo getStructByName(MDMInfo[] infos, FieldInfo f) {
+        TypeRegistry registry = TypeRegistry.get(infos);
+        if (registry != null) {
+            return registry.getStruct(f.seriesName, f.type);
+        }
         for (MDMInfo info : infos) {
             if (info.seriesName.equals(f.seriesName)) {
                 StructInfo si = info.getStructByName(f.type);
@@ -168,6 +206,10 @@ public class MDMInfo {
     }
 
     public static EnumInfo getEnumByName(MDMInfo[] infos, FieldInfo f) {
+        TypeRegistry registry = TypeRegistry.get(infos);
+        if (registry != null) {
+            return registry.getEnum(f.seriesName, f.type);
+        }
         for (MDMInfo info : infos) {
             if (info.seriesName.equals(f.seriesName)) {
                 EnumInfo si = info.getEnumByName(f.type);
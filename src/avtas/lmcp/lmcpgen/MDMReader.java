@@ -18,16 +18,26 @@
 package avtas.lmcp.lmcpgen;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.xml.sax.EntityResolver;
@@ -42,6 +52,14 @@ import org.xml.sax.SAXParseException;
  */
 public class MDMReader {
     
+    /** the StAX factory of each thread, since factories are not safe to share */
+    private static final ThreadLocal<XMLInputFactory> factories = new ThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            return MDMStreamReader.newFactory();
+        }
+    };
+
     public static String DECIMAL_MATCHER = "[-+]?[0-9]*\\.?[0-9]*([eE][-+]?[0-9]*)?";
     public static String INTEGER_MATCHER = "[-+]?[0-9]*";
 
@@ -51,6 +69,116 @@ public class MDMReader {
             return null;
         }
 
+        // the bytes are read once, for both the model and mdmString
+        return readMDM(Files.readAllBytes(file.toPath()));
+    }
+
+    /** reads an MDM from its contents, such as a file held in memory or read from a jar */
+    public static MDMInfo readMDM(byte[] bytes) throws Exception {
+        return new MDMStreamReader(factories.get()).read(bytes);
+    }
+
+    /** reads an MDM from a stream, which is read to its end but not closed */
+    public static MDMInfo readMDM(InputStream in) throws Exception {
+        return readMDM(readAll(in));
+    }
+
+    /** returns the rest of a stream */
+    static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(1 << 16);
+        byte[] bytes = new byte[8192];
+        int n;
+        while ((n = in.read(bytes)) >= 0) {
+            buf.write(bytes, 0, n);
+        }
+        return buf.toByteArray();
+    }
+
+    /**
+     * reads several MDMs, on the given number of threads.  The MDMs are returned in the order of the files.  If any
+     * of them cannot be read, the errors from all of them are reported together.
+     */
+    public static MDMInfo[] readMDMs(List<File> files, int threads) throws Exception {
+        MDMInfo[] infos = new MDMInfo[files.size()];
+        ArrayList<String> failedFiles = new ArrayList<String>();
+        ArrayList<Throwable> failures = new ArrayList<Throwable>();
+
+        if (threads <= 1 || files.size() <= 1) {
+            for (int i = 0; i < infos.length; i++) {
+                try {
+                    infos[i] = readExisting(files.get(i));
+                } catch (Exception ex) {
+                    failedFiles.add(files.get(i).getPath());
+                    failures.add(ex);
+                }
+            }
+        }
+        else {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, files.size()));
+            try {
+                ArrayList<Future<MDMInfo>> tasks = new ArrayList<Future<MDMInfo>>();
+                for (final File file : files) {
+                    tasks.add(executor.submit(new Callable<MDMInfo>() {
+                        public MDMInfo call() throws Exception {
+                            return readExisting(file);
+                        }
+                    }));
+                }
+                for (int i = 0; i < infos.length; i++) {
+                    try {
+                        infos[i] = tasks.get(i).get();
+                    } catch (ExecutionException ex) {
+                        failedFiles.add(files.get(i).getPath());
+                        failures.add(ex.getCause());
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            StringBuilder msg = new StringBuilder();
+            msg.append("Error reading ").append(failures.size()).append(" MDM(s):");
+            for (int i = 0; i < failures.size(); i++) {
+                msg.append("\n    ").append(failedFiles.get(i)).append(": ")
+                        .append(String.valueOf(failures.get(i).getMessage()).trim().replace("\n", "\n        "));
+            }
+            Exception ex = new Exception(msg.toString(), failures.get(0));
+            for (int i = 1; i < failures.size(); i++) {
+                ex.addSuppressed(failures.get(i));
+            }
+            throw ex;
+        }
+        return infos;
+    }
+
+    /**
+     * reads and checks several MDMs, using the snapshot in the cache file when it was made from the same MDMs and
+     * writing a new one when it was not.  See {@link ModelCache}.
+     */
+    public static MDMInfo[] readCheckedMDMs(List<File> files, int threads, File cacheFile) throws Exception {
+        return ModelCache.read(files, threads, cacheFile);
+    }
+
+    private static MDMInfo readExisting(File file) throws Exception {
+        MDMInfo info = readMDM(file);
+        if (info == null) {
+            throw new Exception("MDM file does not exist");
+        }
+        return info;
+    }
+
+    /**
+     * reads an MDM with a validating DOM parser.  readMDM gives the same model and the same errors from a single
+     * pass over the file.
+     */
+    public static MDMInfo readMDMWithDOM(File file) throws Exception {
+
+        if (file == null || !file.exists()) {
+            return null;
+        }
+
         MDMErrorHandler errorHandler = new MDMErrorHandler();
 
         DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -100,7 +228,6 @@ public class MDMReader {
         info.seriesName = XMLUtil.get(node, "SeriesName", "");
         info.guid = UUID.nameUUIDFromBytes(info.seriesName.getBytes()).toString().toUpperCase(); // UUID.randomUUID().toString().toUpperCase();
         info.seriesNameAsLong = seriesNameToLong(info.seriesName);
-        int startId = 1;
         info.namespace = XMLUtil.get(node, "Namespace", "");
         info.comment = XMLUtil.get(node, "Comment", "").replaceAll("[\n\r\f]+", "");
         info.version = XMLUtil.getInt(node, "Version", 0);
@@ -110,8 +237,17 @@ public class MDMReader {
         }
 
         info.structs = fillStructs(XMLUtil.getList(node, "StructList", "Struct"), info);
+        assignIds(info);
 
+        info.enums = fillEnums(XMLUtil.getList(node, "EnumList", "Enum"), info);
+        
+        return info;
+    }
+
+    /** gives the structs that do not declare an ID the IDs after the largest declared one */
+    static void assignIds(MDMInfo info) {
         // Determine start ID by looking for the maximum specified ID (0 by default)
+        int startId = 1;
         for (int i = 0; i < info.structs.length; i++) {
             startId = Math.max(startId, info.structs[i].id + 1);
         }
@@ -124,10 +260,6 @@ public class MDMReader {
                 idOffset++;
             }
         }
-
-        info.enums = fillEnums(XMLUtil.getList(node, "EnumList", "Enum"), info);
-        
-        return info;
     }
 
     public static String getComment(Node node) {
@@ -151,17 +283,8 @@ public class MDMReader {
             struct.namespace = mdm.namespace;
             struct.seriesName = mdm.seriesName;
             struct.name = XMLUtil.getAttribute(list[i], "Name", "");
-            struct.extends_name = XMLUtil.getAttribute(list[i], "Extends", "");
-            if (struct.extends_name.contains("/")) {
-                String[] split = struct.extends_name.split("/");
-                struct.extends_name = split[1];
-                struct.extends_series = split[0];
-            }
-            else {
-                struct.extends_series = XMLUtil.getAttribute(list[i], "Series", mdm.seriesName);
-            }
-            if (struct.extends_series.isEmpty())
-                struct.extends_series = mdm.seriesName;
+            setExtends(struct, XMLUtil.getAttribute(list[i], "Extends", ""),
+                    XMLUtil.getAttribute(list[i], "Series", mdm.seriesName), mdm);
 
             struct.comment = XMLUtil.get(list[i], "Comment", "").replaceAll("[\n\r\f]+", "");
             if (struct.comment.isEmpty()) {
@@ -186,46 +309,8 @@ public class MDMReader {
 
                 f.name = XMLUtil.getAttribute(fieldNodes[j], "Name", "");
 
-                String type = XMLUtil.getAttribute(fieldNodes[j], "Type", "");
-                type = type.replaceAll("\\s+", "");
-
-                if (type.contains("/")) {
-                    String[] split = type.split("/");
-                    f.seriesName = split[0];
-                    type = split[1];
-                }
-                else {
-                    f.seriesName = XMLUtil.getAttribute(fieldNodes[j], "Series", mdm.seriesName);
-                }
-
-                if (f.seriesName.isEmpty()) f.seriesName = mdm.seriesName;
-
-                if (type.endsWith("[]")) {
-                    f.type = type.substring(0, type.length() - 2);
-                    f.length = -1;
-                    f.isArray = true;
-                }
-                else if (type.endsWith("]")) {
-                    int index = type.indexOf("[");
-                    f.type = type.substring(0, index);
-                    f.length = Integer.valueOf(type.substring(index + 1, type.length() - 1));
-                    f.isArray = true;
-                }
-                else if (type.startsWith("<") && type.endsWith(">")) {
-                    String[] types = type.substring(0, type.length() - 1).substring(1).split(",");
-                    if (types.length != 2) {
-                        throw new Exception("badly formed map type for field " + f.name + " in struct " + struct.name);
-                    }
-                    f.type = types[0].trim() + "," + types[1].trim();
-
-                }
-                else {
-                    f.length = -1;
-                    f.isArray = false;
-                    f.isMap = false;
-                    f.isScalar = true;
-                    f.type = type;
-                }
+                setType(f, XMLUtil.getAttribute(fieldNodes[j], "Type", ""),
+                        XMLUtil.getAttribute(fieldNodes[j], "Series", mdm.seriesName), mdm, struct);
 
                 f.comment = XMLUtil.get(fieldNodes[j], "Comment", "").replaceAll("[\n\r\f]+", "");
                 if (f.comment.isEmpty()) {
@@ -256,6 +341,64 @@ public class MDMReader {
 
     }
 
+    /** sets the parent of a struct from its Extends and Series attributes */
+    static void setExtends(StructInfo struct, String extendsName, String series, MDMInfo mdm) {
+        struct.extends_name = extendsName;
+        if (struct.extends_name.contains("/")) {
+            String[] split = struct.extends_name.split("/");
+            struct.extends_name = split[1];
+            struct.extends_series = split[0];
+        }
+        else {
+            struct.extends_series = series;
+        }
+        if (struct.extends_series.isEmpty())
+            struct.extends_series = mdm.seriesName;
+    }
+
+    /** sets the type, series and array length of a field from its Type and Series attributes */
+    static void setType(FieldInfo f, String type, String series, MDMInfo mdm, StructInfo struct) throws Exception {
+        type = type.replaceAll("\\s+", "");
+
+        if (type.contains("/")) {
+            String[] split = type.split("/");
+            f.seriesName = split[0];
+            type = split[1];
+        }
+        else {
+            f.seriesName = series;
+        }
+
+        if (f.seriesName.isEmpty()) f.seriesName = mdm.seriesName;
+
+        if (type.endsWith("[]")) {
+            f.type = type.substring(0, type.length() - 2);
+            f.length = -1;
+            f.isArray = true;
+        }
+        else if (type.endsWith("]")) {
+            int index = type.indexOf("[");
+            f.type = type.substring(0, index);
+            f.length = Integer.valueOf(type.substring(index + 1, type.length() - 1));
+            f.isArray = true;
+        }
+        else if (type.startsWith("<") && type.endsWith(">")) {
+            String[] types = type.substring(0, type.length() - 1).substring(1).split(",");
+            if (types.length != 2) {
+                throw new Exception("badly formed map type for field " + f.name + " in struct " + struct.name);
+            }
+            f.type = types[0].trim() + "," + types[1].trim();
+
+        }
+        else {
+            f.length = -1;
+            f.isArray = false;
+            f.isMap = false;
+            f.isScalar = true;
+            f.type = type;
+        }
+    }
+
     public static EnumInfo[] fillEnums(Node[] list, MDMInfo mdm) {
 
         ArrayList<EnumInfo> retList = new ArrayList<EnumInfo>();
@@ -305,12 +448,15 @@ public class MDMReader {
             for (StructInfo st : info.structs) {
                 // setup structs and enum annotations on fields
                 for (FieldInfo f : st.fields) {
-                    if (!f.type.matches(MDMInfo.primitive_matcher)) {
+                    f.kind = TypeKind.forPrimitive(f.type);
+                    if (f.kind == null) {
                         if (isStruct(f.type, f.seriesName, infos)) {
                             f.isStruct = true;
+                            f.kind = f.type.equals(MDMInfo.LMCP_OBJECT_NAME) ? TypeKind.OBJECT : TypeKind.STRUCT;
                         }
                         else if (isEnum(f.type, f.seriesName, infos)) {
                             f.isEnum = true;
+                            f.kind = TypeKind.ENUM;
                             EnumInfo ei = MDMInfo.getEnumByName(infos, f);
                             if (f.defaultVal.isEmpty()) {
                                 f.defaultVal = ei.entries.get(0).name;
@@ -344,71 +490,40 @@ public class MDMReader {
                     }
                 }
             }
-            
-            // track dependencies on other MDMs
-            // TODO: add dependencies for Enums
-            for (StructInfo s : info.structs) {
-                info.mdmDependencies.add(s.extends_series);
-                for (int i = 0; i < s.fields.length; i++) {
-                    if (s.fields[i].isStruct) {
-                        info.mdmDependencies.add(s.fields[i].seriesName);
-                    }
-                }
-            }
-            info.mdmDependencies.remove("");
-            info.mdmDependencies.remove(info.seriesName);
         }
-        
-        // check for circular dependencies among MDMs using modified Floyd-Warshall
-        // https://en.wikipedia.org/wiki/Floyd%E2%80%93Warshall_algorithm
-        
-        // build map from MDM name to index in 'graph'
-        Map<String, Integer> mdmMap = new HashMap<>();
-        Integer v = 0;
-        for(MDMInfo info : infos) {
-            mdmMap.put(info.seriesName, v);
-            v = v + 1;
-        }
-        
-        // create dependency graph with each step of size 1
-        Integer dist[][] = new Integer[infos.length][infos.length];
-        for(int i=0; i<infos.length; i++) {
-            for(int j=0; j<infos.length; j++) {
-                dist[i][j] = 0;
-            }    
-        }
-        for(MDMInfo info : infos) {
-            for(String dep : info.mdmDependencies) {
-                dist[mdmMap.get(dep)][mdmMap.get(info.seriesName)] = 1;
+
+        // track dependencies on other MDMs, and check that they do not form a cycle
+        DependencyGraph graph = new DependencyGraph(infos);
+        for (MDMInfo info : infos) {
+            if (info.seriesNameAsLong != 0) {
+                info.mdmDependencies.addAll(graph.getMDMDependencies(info));
             }
         }
-        
-        // iterate over all combinations
-        for(int k=0; k<infos.length; k++) {
-            for(int i=0; i<infos.length; i++) {
-                for(int j=0; j<infos.length; j++) {
-                    // if there is an initialized distance to consider
-                    if(dist[i][k] > 0 && dist[k][j] > 0) {
-                        // if [i][j] is uninitialized or a smaller distance has been found
-                        if(dist[i][j] == 0 || dist[i][j] > dist[i][k] + dist[k][j]) {
-                            dist[i][j] = dist[i][k] + dist[k][j];
-                        }
+        String cycles = graph.describeMDMCycles();
+        if (cycles != null) {
+            System.out.println(cycles);
+            throw new Exception(cycles);
+        }
+
+        link(infos, graph);
+    }
+
+    /** builds the registry of checked MDMs, points enum and struct fields at their types and lays out the structs */
+    static void link(MDMInfo[] infos, DependencyGraph graph) throws Exception {
+        TypeRegistry registry = TypeRegistry.build(infos, graph);
+        for (MDMInfo info : infos) {
+            for (StructInfo st : info.structs) {
+                for (FieldInfo f : st.fields) {
+                    if (f.kind == TypeKind.ENUM) {
+                        f.enumType = registry.getEnum(f.seriesName, f.type);
+                    }
+                    else if (f.kind == TypeKind.STRUCT) {
+                        f.structType = registry.getStruct(f.seriesName, f.type);
                     }
                 }
             }
         }
-        
-        // check to see if any mdm is involved in a circular dependency
-        // TODO: track and report complete dependency cycle, possibly with
-        //       offending structs involved
-        for(int m=0; m<infos.length; m++) {
-            //System.out.println(infos[m].seriesName + ": " + infos[m].mdmDependencies.toString());
-            if(dist[m][m] > 0) {
-                String msg = infos[m].seriesName + " is involved in a circular dependancy with " + infos[m].mdmDependencies.toString();
-                System.out.println(msg);
-                throw new Exception(msg);
-            }
-        }
+        WireLayout.layOut(infos);
     }
 
     public static void checkDefault(StructInfo s, FieldInfo f) throws Exception {
@@ -463,6 +578,10 @@ public class MDMReader {
     }
 
     protected static MDMInfo getMDM(String seriesName, MDMInfo[] mdms) {
+        TypeRegistry registry = TypeRegistry.get(mdms);
+        if (registry != null) {
+            return registry.getMDM(seriesName);
+        }
         for (MDMInfo i : mdms) {
             if (i.seriesName.equals(seriesName)) {
                 return i;
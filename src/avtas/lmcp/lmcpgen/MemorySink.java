@@ -0,0 +1,100 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps the files of a code package in memory, by path.  Useful for tests and build tools that compile or package
+ * the generated code without writing it to disk first.
+ *
+ * @author default
+ */
+public class MemorySink extends OutputSink {
+
+    /** the contents of each file, sorted by path */
+    private final ConcurrentSkipListMap<String, byte[]> files = new ConcurrentSkipListMap<String, byte[]>();
+
+    @Override
+    public Output open(final String path) throws IOException {
+        return new Output() {
+
+            private final ByteArrayOutputStream buf = new ByteArrayOutputStream(8192);
+            private boolean closed = false;
+            private boolean changed = false;
+
+            @Override
+            public void write(int b) {
+                buf.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                buf.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    changed = put(path, buf.toByteArray());
+                }
+            }
+
+            @Override
+            public boolean isChanged() {
+                return changed;
+            }
+
+            @Override
+            public void abort() {
+                closed = true;
+            }
+        };
+    }
+
+    /** stores the contents of a file that has been closed, and returns true if they changed */
+    protected boolean put(String path, byte[] contents) {
+        byte[] old = files.put(path, contents);
+        return old == null || !Arrays.equals(old, contents);
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return files.containsKey(path);
+    }
+
+    @Override
+    public void delete(String path) {
+        files.remove(path);
+    }
+
+    /** returns the files written so far, sorted by path */
+    public SortedMap<String, byte[]> getFiles() {
+        return Collections.unmodifiableSortedMap(files);
+    }
+
+    /** returns the contents of a file, or null if it has not been written */
+    public byte[] get(String path) {
+        return files.get(path);
+    }
+
+    /** returns the contents of a file as text, or null if it has not been written */
+    public String getString(String path) {
+        byte[] contents = files.get(path);
+        return contents == null ? null : new String(contents, Charset.defaultCharset());
+    }
+}
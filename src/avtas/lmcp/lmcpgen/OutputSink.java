@@ -0,0 +1,128 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Where the files of a code package are written.  Paths are relative to the root of the sink and use '/'
+ * separators.  The files of a package are written from several threads at once, so a sink must allow that.
+ * <p>
+ * {@link DirectorySink} writes to a directory, {@link MemorySink} keeps the files in memory, {@link ZipSink} writes
+ * them to a zip or jar stream and {@link DiffSink} compares them with a directory without writing anything.  Only a
+ * directory keeps a {@link GenerationManifest}, so only a directory is generated incrementally.
+ *
+ * @author default
+ */
+public abstract class OutputSink {
+
+    /** a file being written.  Closing it keeps its contents; aborting it before then drops them. */
+    public static abstract class Output extends OutputStream {
+
+        /** returns true if the contents differ from those the sink held before (valid once closed) */
+        public abstract boolean isChanged();
+
+        /** drops the contents if the stream has not been closed, and otherwise does nothing */
+        public abstract void abort();
+    }
+
+    /** opens the file at the path for writing, replacing it once the stream is closed */
+    public abstract Output open(String path) throws IOException;
+
+    /** returns true if the sink holds a file at the path */
+    public abstract boolean exists(String path);
+
+    /** removes the file at the path, if there is one */
+    public void delete(String path) throws IOException {
+    }
+
+    /** returns the directory that the files are written to, or null if they are not written to a directory */
+    public File getDirectory() {
+        return null;
+    }
+
+    /** finishes writing.  The files of a sink that writes to a stream are not complete until it is closed. */
+    public void close() throws IOException {
+    }
+
+    /** writes a whole file, and returns true if its contents changed */
+    public boolean write(String path, String contents) throws IOException {
+        Output stream = open(path);
+        try {
+            Writer writer = new OutputStreamWriter(stream);
+            writer.write(contents);
+            writer.close();
+            return stream.isChanged();
+        } finally {
+            stream.abort();
+        }
+    }
+
+    /**
+     * returns a sink that writes to this one, under the given directory.  Several packages can then share one sink,
+     * such as a single jar.
+     */
+    public OutputSink under(String dir) {
+        final String prefix = normalize(dir);
+        if (prefix.isEmpty()) {
+            return this;
+        }
+        final OutputSink parent = this;
+        return new OutputSink() {
+            @Override
+            public Output open(String path) throws IOException {
+                return parent.open(prefix + "/" + path);
+            }
+
+            @Override
+            public boolean exists(String path) {
+                return parent.exists(prefix + "/" + path);
+            }
+
+            @Override
+            public void delete(String path) throws IOException {
+                parent.delete(prefix + "/" + path);
+            }
+
+            @Override
+            public File getDirectory() {
+                File dir = parent.getDirectory();
+                return dir == null ? null : new File(dir, prefix);
+            }
+
+            @Override
+            public String toString() {
+                return parent + "/" + prefix;
+            }
+        };
+    }
+
+    /** returns a path with '/' separators and without a leading "/" or "./", or a trailing "/" */
+    public static String normalize(String path) {
+        String p = path.replace('\\', '/');
+        while (p.startsWith("/") || p.startsWith("./")) {
+            p = p.substring(p.startsWith("/") ? 1 : 2);
+        }
+        while (p.endsWith("/")) {
+            p = p.substring(0, p.length() - 1);
+        }
+        return p.equals(".") ? "" : p;
+    }
+
+    /** returns the parent directory of a path, or "" at the root of the sink */
+    public static String getParent(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+}
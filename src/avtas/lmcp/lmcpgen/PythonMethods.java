@@ -30,6 +30,19 @@ class PythonMethods {
          * enable python to see these directories as part of a package structure.
          */
         int len = info.namespace.split("/").length;
+        LmcpGen.OutputFile output = LmcpGen.getCurrentOutput();
+        if (output != null) {
+            // written through the sink, which may not be a directory
+            String dir = OutputSink.getParent(output.path);
+            for (int i = 1; i < len; i++) {
+                dir = OutputSink.getParent(dir);
+                String path = dir.isEmpty() ? "__init__.py" : dir + "/__init__.py";
+                if (!output.sink.exists(path)) {
+                    output.sink.write(path, "");
+                }
+            }
+            return "";
+        }
         File parent = outfile.getParentFile();
         //System.out.println("******* Parent: " + parent.getAbsolutePath() + " *********");
         for(int i = 1; i < len; i++){
@@ -447,15 +460,15 @@ class PythonMethods {
 
     public static String list_name_for_type(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
         StringBuffer buf = new StringBuffer();
-        for (int i = 0; i < info.structs.length; i++) {
-            buf.append( ws + "if(type_ ==  " + info.structs[i].id + "): return \"" + info.structs[i].name + "\"\n" );
+        for (StructInfo s : info.getDeclaredStructs()) {
+            buf.append( ws + "if(type_ ==  " + s.id + "): return \"" + s.name + "\"\n" );
         }
         return buf.toString();
     }
 
     public static String list_type_for_name(MDMInfo[] infos, MDMInfo info, File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
         String ret = "";
-            for (StructInfo s : info.structs) {
+            for (StructInfo s : info.getDeclaredStructs()) {
                 ret += ws + "if ( name == \"" + s.name + "\"): return " + s.id + "\n";
             }
         return ret;
@@ -804,54 +817,42 @@ class PythonMethods {
     }
 
     private static String getStructTypeString(FieldInfo field) throws Exception {
-        if (field.isEnum) {
-            return "i";
-        }
-        String LMCPType = field.type;
-        if (LMCPType.equalsIgnoreCase("real32")) {
-            return "f";
-        } else if (LMCPType.equalsIgnoreCase("real64")) {
-            return "d";
-        } else if (LMCPType.equalsIgnoreCase("int16")) {
-            return "h";
-        } else if (LMCPType.equalsIgnoreCase("int32")) {
-            return "i";
-        } else if (LMCPType.equalsIgnoreCase("int64")) {
-            return "q";
-        } else if (LMCPType.equalsIgnoreCase("uint16")) {
-            return "H";
-        } else if (LMCPType.equalsIgnoreCase("uint32")) {
-            return "I";
-        } else if (LMCPType.equalsIgnoreCase("bool")) {
-            // would prefer to use "?" character, but python 2.6 seems to not like it
-            return "B";
-        } else if (LMCPType.equalsIgnoreCase("char")) {
-            return "c";
-        } else if (LMCPType.equalsIgnoreCase("byte")) {
-            return "B";
+        switch (TypeKind.of(field)) {
+            case ENUM:
+                return "i";
+            case REAL32:
+                return "f";
+            case REAL64:
+                return "d";
+            case INT16:
+                return "h";
+            case INT32:
+                return "i";
+            case INT64:
+                return "q";
+            case UINT16:
+                return "H";
+            case UINT32:
+                return "I";
+            case BOOL:
+                // would prefer to use "?" character, but python 2.6 seems to not like it
+                return "B";
+            case CHAR:
+                return "c";
+            case BYTE:
+                return "B";
+            default:
+                throw new Exception("Invalid Struct");
         }
-        throw new Exception("Invalid Struct");
     }
 
     /** returns the size in bytes of the LMCP type */
     private static int sizeOf(FieldInfo field) throws Exception {
-        if (field.isEnum) {
-            return 4;
-        }
-        String type = field.type;
-        if (type.toLowerCase().matches("(byte)|(char)|(bool)")) {
-            return 1;
-        }
-        if (type.toLowerCase().matches("(int16)|(uint16)")) {
-            return 2;
-        }
-        if (type.toLowerCase().matches("(int32)|(uint32)|(real32)")) {
-            return 4;
-        }
-        if (type.toLowerCase().matches("(int64)|(real64)")) {
-            return 8;
+        TypeKind kind = TypeKind.of(field);
+        if (!kind.isFixedSize()) {
+            throw new Exception("Invalid Struct");
         }
-        throw new Exception("Invalid Struct");
+        return kind.wireSize;
     }
 
     public static String build_message_options(MDMInfo[] infos, MDMInfo info, final File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
@@ -0,0 +1,370 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The wire size of every struct of a checked set of MDMs as the object of a message: its smallest, typical and worst
+ * case size, how deeply it nests other structs, how many struct types its fields may hold, and which of its arrays
+ * have no MaxArrayLength.  Structs whose messages may not fit in a receive buffer, such as the 1 MiB buffer of the
+ * generated C++ test server, are flagged, and the report lists the structs most at risk first.
+ * <p>
+ * Sizes come from {@link WireLayout}.  The typical size assumes strings of {@link #TYPICAL_STRING_LENGTH}
+ * characters, variable length arrays of {@link #TYPICAL_ARRAY_LENGTH} elements (or fewer if MaxArrayLength is
+ * smaller), and that every struct field holds its own type; a struct that would hold itself holds null.
+ *
+ * @author default
+ */
+public class SizeReport {
+
+    /** the receive buffer of the generated C++ test server */
+    public static final long DEFAULT_BUFFER_SIZE = 1048576;
+    public static final int TYPICAL_STRING_LENGTH = 16;
+    public static final int TYPICAL_ARRAY_LENGTH = 4;
+
+    /** the flag of a struct whose typical message does not fit in the buffer */
+    public static final String LIKELY = "likely";
+    /** the flag of a struct whose worst case message does not fit in the buffer */
+    public static final String POSSIBLE = "possible";
+
+    /** the sizes of one struct */
+    public static class Row {
+
+        public StructInfo struct;
+        /** the number of fields, including those of the structs it extends */
+        public int fieldCount;
+        public boolean allFixed;
+        public int fixedPrefix;
+        /** message sizes, including the message and object headers and the checksum */
+        public long minSize;
+        public long typicalSize;
+        /** the worst case message size, or WireLayout.UNBOUNDED */
+        public long maxSize;
+        /** the most structs nested inside one another, or -1 if the struct can hold itself */
+        public int nestingDepth;
+        /** the number of struct types that the fields may hold */
+        public int fanOut;
+        /** the names of the variable length arrays with no MaxArrayLength */
+        public List<String> unlimitedArrays = new ArrayList<String>();
+        /** LIKELY, POSSIBLE, or an empty string if every message fits in the buffer */
+        public String overflow = "";
+    }
+
+    private final MDMInfo[] infos;
+    private final long bufferSize;
+    private final List<Row> rows = new ArrayList<Row>();
+    private final Map<StructInfo, Long> typicalSizes = new IdentityHashMap<StructInfo, Long>();
+    private final Map<StructInfo, Integer> depths = new IdentityHashMap<StructInfo, Integer>();
+
+    /** makes the report of MDMs that have been through MDMReader.checkMDMs */
+    public SizeReport(MDMInfo[] infos, long bufferSize) throws Exception {
+        this.infos = infos;
+        this.bufferSize = bufferSize;
+        for (MDMInfo info : infos) {
+            for (StructInfo st : info.structs) {
+                WireLayout layout = st.layout;
+                if (layout == null) {
+                    throw new Exception("The MDMs have not been checked");
+                }
+                Row row = new Row();
+                row.struct = st;
+                row.fieldCount = layout.fields.length;
+                row.allFixed = layout.allFixed;
+                row.fixedPrefix = layout.fixedPrefix;
+                row.minSize = layout.getMinMessageSize();
+                row.typicalSize = WireLayout.add(getTypicalSize(st, new IdentityHashMap<StructInfo, Boolean>()),
+                        WireLayout.OBJECT_HEADER_SIZE + WireLayout.MESSAGE_OVERHEAD);
+                row.maxSize = layout.getMaxMessageSize();
+                row.nestingDepth = getDepth(st);
+                Set<StructInfo> held = new LinkedHashSet<StructInfo>();
+                for (FieldInfo f : layout.fields) {
+                    held.addAll(WireLayout.getCandidates(infos, f));
+                }
+                row.fanOut = held.size();
+                for (FieldInfo f : layout.unlimitedArrays) {
+                    row.unlimitedArrays.add(f.name);
+                }
+                if (row.typicalSize > bufferSize) {
+                    row.overflow = LIKELY;
+                }
+                else if (row.maxSize > bufferSize) {
+                    row.overflow = POSSIBLE;
+                }
+                rows.add(row);
+            }
+        }
+        // the structs most at risk first: by worst case, then by typical size
+        Collections.sort(rows, new Comparator<Row>() {
+            @Override
+            public int compare(Row a, Row b) {
+                int c = Long.compare(b.maxSize, a.maxSize);
+                return c != 0 ? c : Long.compare(b.typicalSize, a.typicalSize);
+            }
+        });
+    }
+
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /** writes the report as CSV, JSON or HTML, chosen by the extension of the file, with CSV as the default */
+    public void save(File file) throws Exception {
+        String name = file.getName().toLowerCase();
+        if (name.endsWith(".json")) {
+            LmcpGen.writeFile(file, toJson());
+        }
+        else if (name.endsWith(".html") || name.endsWith(".htm")) {
+            LmcpGen.writeFile(file, toHtml());
+        }
+        else {
+            LmcpGen.writeFile(file, toCsv());
+        }
+    }
+
+    public String toCsv() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("series,struct,id,fields,all_fixed,fixed_prefix,min_bytes,typical_bytes,max_bytes,nesting_depth,"
+                + "fan_out,unlimited_arrays,overflow\n");
+        for (Row row : rows) {
+            buf.append(row.struct.seriesName).append(',').append(row.struct.name).append(',').append(row.struct.id)
+                    .append(',').append(row.fieldCount).append(',').append(row.allFixed).append(',')
+                    .append(row.fixedPrefix).append(',').append(row.minSize).append(',').append(row.typicalSize)
+                    .append(',').append(size(row.maxSize)).append(',').append(depth(row.nestingDepth)).append(',')
+                    .append(row.fanOut).append(",\"").append(join(row.unlimitedArrays, " ")).append("\",")
+                    .append(row.overflow).append('\n');
+        }
+        return buf.toString();
+    }
+
+    public String toJson() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("{\n");
+        buf.append("  \"bufferSize\": ").append(bufferSize).append(",\n");
+        buf.append("  \"structs\": [");
+        String sep = "\n";
+        for (Row row : rows) {
+            buf.append(sep).append("    {\"series\": ").append(quote(row.struct.seriesName))
+                    .append(", \"struct\": ").append(quote(row.struct.name))
+                    .append(", \"id\": ").append(row.struct.id)
+                    .append(", \"fields\": ").append(row.fieldCount)
+                    .append(", \"allFixed\": ").append(row.allFixed)
+                    .append(", \"fixedPrefix\": ").append(row.fixedPrefix)
+                    .append(", \"minBytes\": ").append(row.minSize)
+                    .append(", \"typicalBytes\": ").append(row.typicalSize)
+                    .append(", \"maxBytes\": ").append(row.maxSize == WireLayout.UNBOUNDED ? "null" : String.valueOf(row.maxSize))
+                    .append(", \"nestingDepth\": ").append(row.nestingDepth < 0 ? "null" : String.valueOf(row.nestingDepth))
+                    .append(", \"fanOut\": ").append(row.fanOut)
+                    .append(", \"unlimitedArrays\": [");
+            for (int i = 0; i < row.unlimitedArrays.size(); i++) {
+                buf.append(i == 0 ? "" : ", ").append(quote(row.unlimitedArrays.get(i)));
+            }
+            buf.append("], \"overflow\": ").append(row.overflow.isEmpty() ? "null" : quote(row.overflow)).append("}");
+            sep = ",\n";
+        }
+        buf.append("\n  ]\n");
+        buf.append("}\n");
+        return buf.toString();
+    }
+
+    public String toHtml() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>LMCP message sizes</title>\n");
+        buf.append("<style>\n");
+        buf.append("body { font-family: sans-serif; }\n");
+        buf.append("table { border-collapse: collapse; }\n");
+        buf.append("th, td { border: 1px solid #ccc; padding: 2px 6px; }\n");
+        buf.append("th { cursor: pointer; background: #eee; }\n");
+        buf.append("td.num { text-align: right; }\n");
+        buf.append("tr.likely { background: #f8c8c8; }\n");
+        buf.append("tr.possible { background: #f8ecc0; }\n");
+        buf.append("</style>\n");
+        // sorts the table by the clicked column, numerically where the cells hold sort keys
+        buf.append("<script>\n");
+        buf.append("function sortBy(col) {\n");
+        buf.append("  var body = document.getElementById('sizes').tBodies[0];\n");
+        buf.append("  var rows = Array.prototype.slice.call(body.rows);\n");
+        buf.append("  var dir = body.getAttribute('data-col') == col && body.getAttribute('data-dir') == '1' ? -1 : 1;\n");
+        buf.append("  rows.sort(function(a, b) {\n");
+        buf.append("    var x = a.cells[col].getAttribute('data-key') || a.cells[col].textContent;\n");
+        buf.append("    var y = b.cells[col].getAttribute('data-key') || b.cells[col].textContent;\n");
+        buf.append("    var nx = parseFloat(x), ny = parseFloat(y);\n");
+        buf.append("    if (!isNaN(nx) && !isNaN(ny)) { return dir * (nx - ny); }\n");
+        buf.append("    return dir * x.localeCompare(y);\n");
+        buf.append("  });\n");
+        buf.append("  rows.forEach(function(r) { body.appendChild(r); });\n");
+        buf.append("  body.setAttribute('data-col', col);\n");
+        buf.append("  body.setAttribute('data-dir', dir);\n");
+        buf.append("}\n");
+        buf.append("</script>\n</head>\n<body>\n");
+        buf.append("<h1>LMCP message sizes</h1>\n");
+        buf.append("<p>Sizes are of whole messages in bytes.  Rows are flagged when a typical (red) or worst case "
+                + "(yellow) message does not fit in a ").append(bufferSize).append(" byte buffer.</p>\n");
+        buf.append("<table id=\"sizes\">\n<thead>\n<tr>");
+        String[] headings = {"Series", "Struct", "ID", "Fields", "All fixed", "Fixed prefix", "Min", "Typical",
+            "Max", "Nesting depth", "Fan-out", "Arrays without MaxArrayLength", "Overflow"};
+        for (int i = 0; i < headings.length; i++) {
+            buf.append("<th onclick=\"sortBy(").append(i).append(")\">").append(headings[i]).append("</th>");
+        }
+        buf.append("</tr>\n</thead>\n<tbody>\n");
+        for (Row row : rows) {
+            buf.append("<tr").append(row.overflow.isEmpty() ? "" : " class=\"" + row.overflow + "\"").append(">");
+            buf.append("<td>").append(escape(row.struct.seriesName)).append("</td>");
+            buf.append("<td>").append(escape(row.struct.name)).append("</td>");
+            buf.append("<td class=\"num\">").append(row.struct.id).append("</td>");
+            buf.append("<td class=\"num\">").append(row.fieldCount).append("</td>");
+            buf.append("<td>").append(row.allFixed ? "yes" : "").append("</td>");
+            buf.append("<td class=\"num\">").append(row.fixedPrefix).append("</td>");
+            buf.append("<td class=\"num\">").append(row.minSize).append("</td>");
+            buf.append("<td class=\"num\">").append(row.typicalSize).append("</td>");
+            buf.append("<td class=\"num\" data-key=\"").append(row.maxSize).append("\">").append(size(row.maxSize))
+                    .append("</td>");
+            buf.append("<td class=\"num\" data-key=\"").append(row.nestingDepth < 0 ? Integer.MAX_VALUE : row.nestingDepth)
+                    .append("\">").append(depth(row.nestingDepth)).append("</td>");
+            buf.append("<td class=\"num\">").append(row.fanOut).append("</td>");
+            buf.append("<td>").append(escape(join(row.unlimitedArrays, ", "))).append("</td>");
+            buf.append("<td>").append(row.overflow).append("</td>");
+            buf.append("</tr>\n");
+        }
+        buf.append("</tbody>\n</table>\n</body>\n</html>\n");
+        return buf.toString();
+    }
+
+    /** returns a short summary naming the structs flagged for overflow */
+    public String getSummary() {
+        int likely = 0;
+        int possible = 0;
+        for (Row row : rows) {
+            if (row.overflow.equals(LIKELY)) {
+                likely++;
+            }
+            else if (row.overflow.equals(POSSIBLE)) {
+                possible++;
+            }
+        }
+        return rows.size() + " structs; " + likely + " typically and " + possible
+                + " at worst overflow a " + bufferSize + " byte buffer";
+    }
+
+    /** returns the typical size of the fields of a struct; structs already being sized hold null */
+    private long getTypicalSize(StructInfo st, Map<StructInfo, Boolean> open) {
+        Long known = typicalSizes.get(st);
+        if (known != null) {
+            return known;
+        }
+        open.put(st, Boolean.TRUE);
+        long size = 0;
+        WireLayout layout = st.layout;
+        for (int i = 0; i < layout.fields.length; i++) {
+            FieldInfo f = layout.fields[i];
+            if (layout.fixedSizes[i] >= 0) {
+                size = WireLayout.add(size, layout.fixedSizes[i]);
+                continue;
+            }
+            long element;
+            TypeKind kind = TypeKind.of(f);
+            if (kind == TypeKind.STRING) {
+                element = 2 + TYPICAL_STRING_LENGTH;
+            }
+            else if (kind == TypeKind.OBJECT) {
+                element = WireLayout.OBJECT_HEADER_SIZE;
+            }
+            else if (kind == TypeKind.STRUCT) {
+                StructInfo type = f.structType;
+                element = type == null || open.containsKey(type) ? WireLayout.NULL_OBJECT_SIZE
+                        : WireLayout.add(getTypicalSize(type, open), WireLayout.OBJECT_HEADER_SIZE);
+            }
+            else {
+                element = kind.wireSize;
+            }
+            if (!f.isArray) {
+                size = WireLayout.add(size, element);
+            }
+            else if (f.length >= 0) {
+                size = WireLayout.add(size, WireLayout.multiply(f.length, element));
+            }
+            else {
+                long count = f.maxArrayLength > 0 ? Math.min(TYPICAL_ARRAY_LENGTH, f.maxArrayLength) : TYPICAL_ARRAY_LENGTH;
+                size = WireLayout.add(size, WireLayout.add(f.isLargeArray ? 4 : 2, WireLayout.multiply(count, element)));
+            }
+        }
+        open.remove(st);
+        typicalSizes.put(st, size);
+        return size;
+    }
+
+    /** returns how deeply the fields of a struct nest other structs, or -1 if they can nest without end */
+    private int getDepth(StructInfo st) {
+        Integer known = depths.get(st);
+        if (known != null) {
+            return known;
+        }
+        int depth = 0;
+        if (st.layout.recursive) {
+            depth = -1;
+        }
+        for (FieldInfo f : st.layout.fields) {
+            for (StructInfo held : WireLayout.getCandidates(infos, f)) {
+                if (depth < 0) {
+                    break;
+                }
+                int heldDepth = getDepth(held);
+                depth = heldDepth < 0 ? -1 : Math.max(depth, 1 + heldDepth);
+            }
+        }
+        depths.put(st, depth);
+        return depth;
+    }
+
+    private static String size(long size) {
+        return size == WireLayout.UNBOUNDED ? "unbounded" : String.valueOf(size);
+    }
+
+    private static String depth(int depth) {
+        return depth < 0 ? "unbounded" : String.valueOf(depth);
+    }
+
+    private static String join(List<String> list, String sep) {
+        StringBuilder buf = new StringBuilder();
+        for (String s : list) {
+            buf.append(buf.length() == 0 ? "" : sep).append(s);
+        }
+        return buf.toString();
+    }
+
+    private static String quote(String str) {
+        StringBuilder buf = new StringBuilder("\"");
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                buf.append('\\').append(c);
+            }
+            else if (c < 0x20) {
+                buf.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                buf.append(c);
+            }
+        }
+        return buf.append('"').toString();
+    }
+
+    private static String escape(String str) {
+        return str.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -35,6 +35,8 @@ public class StructInfo {
     public FieldInfo[] fields = new FieldInfo[0];
     public String seriesName = "";
     public String namespace = "";
+    /** the wire layout, set by MDMReader.checkMDMs */
+    public WireLayout layout = null;
     
     /**
      * Creates a new instance of StructInfo
@@ -0,0 +1,239 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds the tags used by a set of templates to the methods of a methods class (JavaMethods, CppMethods, etc.).  Every
+ * tag is looked up once, when the table is built, and stored as a MethodHandle so that expanding a tag is a direct
+ * call.  Building the table fails with a list of every tag the methods class does not define.
+ * <p>
+ * A tag method either returns its text as a String, or takes an extra Appendable argument and writes its text to it.
+ * The second form lets large methods write straight into the file being generated; their output is not scanned for
+ * further tags.
+ *
+ * @author default
+ */
+public class TagTable {
+
+    /** the signature every tag method must have */
+    public static final MethodType TAG_TYPE = MethodType.methodType(String.class, MDMInfo[].class, MDMInfo.class,
+            File.class, StructInfo.class, EnumInfo.class, String.class);
+
+    /** the signature of a tag method that appends its output instead of returning it */
+    public static final MethodType APPEND_TAG_TYPE = TAG_TYPE.changeReturnType(void.class).appendParameterTypes(Appendable.class);
+
+    /** a bound tag method */
+    private static class Tag {
+
+        final MethodHandle handle;
+        /** true if the method has the APPEND_TAG_TYPE signature */
+        final boolean appends;
+
+        Tag(MethodHandle handle, boolean appends) {
+            this.handle = handle;
+            this.appends = appends;
+        }
+    }
+
+    private final Class<?> methodClass;
+    private final HashMap<String, Tag> handles = new HashMap<String, Tag>();
+
+    private TagTable(Class<?> methodClass) {
+        this.methodClass = methodClass;
+    }
+
+    /** binds every tag in the listing, or throws an exception naming the tags that could not be found */
+    public static TagTable bind(Class<?> methodClass, TemplateListing listing) throws Exception {
+        TagTable table = new TagTable(methodClass);
+        StringBuilder missing = new StringBuilder();
+        for (Map.Entry<String, List<String>> usage : listing.getTagUsage().entrySet()) {
+            try {
+                table.handles.put(usage.getKey(), resolve(methodClass, usage.getKey()));
+            } catch (NoSuchMethodException ex) {
+                missing.append("\n    ").append(usage.getKey()).append(" used in ").append(usage.getValue());
+            }
+        }
+        if (missing.length() > 0) {
+            throw new Exception("Template listing " + listing.getListingUrl() + " uses tags that are not defined in "
+                    + methodClass.getName() + ":" + missing);
+        }
+        return table;
+    }
+
+    /** binds the given tags, or throws an exception naming the tags that could not be found */
+    public static TagTable bind(Class<?> methodClass, Collection<String> tags) throws Exception {
+        TagTable table = new TagTable(methodClass);
+        for (String tag : tags) {
+            if (!table.handles.containsKey(tag)) {
+                table.handles.put(tag, resolve(methodClass, tag));
+            }
+        }
+        return table;
+    }
+
+    public Class<?> getMethodClass() {
+        return methodClass;
+    }
+
+    /** calls the method bound to the tag and returns its output */
+    public String invoke(String tag, MDMInfo[] infos, MDMInfo info, File outfile,
+            StructInfo st, EnumInfo en, String ws) throws Exception {
+        Tag t = get(tag);
+        if (!t.appends) {
+            return call(t, tag, infos, info, outfile, st, en, ws);
+        }
+        StringBuilder buf = new StringBuilder();
+        append(t, tag, buf, infos, info, outfile, st, en, ws);
+        return buf.toString();
+    }
+
+    /**
+     * calls the method bound to the tag.  A method that returns a String has its output returned, so that the caller
+     * can look for more tags in it.  A method that appends has its output written to out, and null is returned.
+     */
+    public String invoke(String tag, Appendable out, MDMInfo[] infos, MDMInfo info, File outfile,
+            StructInfo st, EnumInfo en, String ws) throws Exception {
+        Tag t = get(tag);
+        GenerationProfile profile = GenerationProfile.getActive();
+        if (profile != null) {
+            return profile(profile, t, tag, out, infos, info, outfile, st, en, ws);
+        }
+        if (!t.appends) {
+            return call(t, tag, infos, info, outfile, st, en, ws);
+        }
+        append(t, tag, out, infos, info, outfile, st, en, ws);
+        return null;
+    }
+
+    /** calls the method, recording its time, output and allocation in the profile */
+    private String profile(GenerationProfile profile, Tag t, String tag, Appendable out, MDMInfo[] infos, MDMInfo info,
+            File outfile, StructInfo st, EnumInfo en, String ws) throws Exception {
+        long allocated = GenerationProfile.allocatedBytes();
+        long start = System.nanoTime();
+        String result = null;
+        long chars;
+        if (t.appends) {
+            GenerationProfile.CountingAppendable counter = new GenerationProfile.CountingAppendable(out);
+            append(t, tag, counter, infos, info, outfile, st, en, ws);
+            chars = counter.count;
+        }
+        else {
+            result = call(t, tag, infos, info, outfile, st, en, ws);
+            chars = result.length();
+        }
+        long nanos = System.nanoTime() - start;
+        profile.addTag(methodClass.getSimpleName() + "." + tag, nanos, chars, GenerationProfile.allocatedBytes() - allocated);
+        return result;
+    }
+
+    private Tag get(String tag) throws Exception {
+        Tag t = handles.get(tag);
+        if (t == null) {
+            // only tags that are produced by other tag methods are not bound ahead of time
+            t = resolve(methodClass, tag);
+        }
+        return t;
+    }
+
+    private static String call(Tag t, String tag, MDMInfo[] infos, MDMInfo info, File outfile,
+            StructInfo st, EnumInfo en, String ws) throws Exception {
+        try {
+            return (String) t.handle.invokeExact(infos, info, outfile, st, en, ws);
+        } catch (Error err) {
+            throw err;
+        } catch (Throwable ex) {
+            throw callingException(tag, outfile, ex);
+        }
+    }
+
+    private static void append(Tag t, String tag, Appendable out, MDMInfo[] infos, MDMInfo info, File outfile,
+            StructInfo st, EnumInfo en, String ws) throws Exception {
+        try {
+            t.handle.invokeExact(infos, info, outfile, st, en, ws, out);
+        } catch (Error err) {
+            throw err;
+        } catch (Throwable ex) {
+            throw callingException(tag, outfile, ex);
+        }
+    }
+
+    private static Exception callingException(String tag, File outfile, Throwable ex) {
+        return new Exception("Method calling exception.  "
+                + "Trying to access method name: " + tag + " for file: "
+                + (outfile == null ? "" : outfile.getName()), ex);
+    }
+
+    /** returns the names of the tag methods in the methods class that are not used by any template in the listing */
+    public static List<String> getUnusedTags(Class<?> methodClass, TemplateListing listing) {
+        ArrayList<String> unused = new ArrayList<String>();
+        Map<String, List<String>> usage = listing.getTagUsage();
+        for (String name : getTagMethodNames(methodClass)) {
+            if (!usage.containsKey(name)) {
+                unused.add(name);
+            }
+        }
+        return unused;
+    }
+
+    /** returns the sorted names of all public static methods in the class that have a tag method signature */
+    public static List<String> getTagMethodNames(Class<?> methodClass) {
+        ArrayList<String> names = new ArrayList<String>();
+        for (Method m : methodClass.getMethods()) {
+            if (isTagMethod(m) && !names.contains(m.getName())) {
+                names.add(m.getName());
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private static boolean isTagMethod(Method m) {
+        if (!Modifier.isStatic(m.getModifiers())) {
+            return false;
+        }
+        MethodType type = MethodType.methodType(m.getReturnType(), m.getParameterTypes());
+        return type.equals(TAG_TYPE) || type.equals(APPEND_TAG_TYPE);
+    }
+
+    private static Tag resolve(Class<?> methodClass, String tag) throws Exception {
+        Method method;
+        try {
+            method = methodClass.getMethod(tag, TAG_TYPE.parameterArray());
+        } catch (NoSuchMethodException ex) {
+            method = methodClass.getMethod(tag, APPEND_TAG_TYPE.parameterArray());
+        }
+        if (!isTagMethod(method)) {
+            throw new NoSuchMethodException(methodClass.getName() + "." + tag
+                    + " is not a static method returning String or appending to an Appendable");
+        }
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            // public methods of a class that is not itself public
+            method.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(method);
+        }
+        return new Tag(handle, method.getReturnType() == void.class);
+    }
+}
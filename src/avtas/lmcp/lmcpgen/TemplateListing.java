@@ -0,0 +1,114 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The contents of a template listing (.tl) file.  Each line of the listing names how often a template is expanded,
+ * the template file (relative to the listing) and the output file name, which may itself contain tags.  All of the
+ * templates are read and compiled when the listing is read, so that the tags can be checked before anything is
+ * generated.
+ *
+ * @author default
+ */
+public class TemplateListing {
+
+    /** how often a template is expanded */
+    public enum Kind {
+        ONCE, PER_MDM, PER_STRUCT, PER_ENUM, PER_NS_SUBDIR
+    }
+
+    /** one line of the listing */
+    public static class Entry {
+
+        public Kind kind;
+        /** the template file name as written in the listing */
+        public String templateName = "";
+        public URL templateUrl;
+        /** the output file name, relative to the output directory */
+        public CompiledTemplate fileName;
+        public CompiledTemplate template;
+    }
+
+    private final URL listingUrl;
+    private final ArrayList<Entry> entries = new ArrayList<Entry>();
+
+    private TemplateListing(URL listingUrl) {
+        this.listingUrl = listingUrl;
+    }
+
+    /** reads a listing file and compiles every template it names */
+    public static TemplateListing read(URL listingUrl) throws Exception {
+
+        TemplateListing listing = new TemplateListing(listingUrl);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(listingUrl.openStream()));
+
+        while (reader.ready()) {
+            String line = reader.readLine();
+
+            if (line.startsWith("#")) {
+                continue;
+            }
+
+            String[] splits = line.split("\\s+");
+
+            if (splits.length >= 3 && splits[0].matches("ONCE|PER_MDM|PER_STRUCT|PER_ENUM|PER_NS_SUBDIR")) {
+                Entry entry = new Entry();
+                entry.kind = Kind.valueOf(splits[0]);
+                entry.templateName = splits[1];
+                entry.templateUrl = new URL(listingUrl, splits[1]);
+                entry.fileName = CompiledTemplate.compile(splits[2]);
+                entry.template = CompiledTemplate.compile(LmcpGen.readFile(entry.templateUrl));
+                listing.entries.add(entry);
+            }
+        }
+        reader.close();
+
+        return listing;
+    }
+
+    public URL getListingUrl() {
+        return listingUrl;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /** returns each tag used by the listing, mapped to the templates that use it */
+    public Map<String, List<String>> getTagUsage() {
+        LinkedHashMap<String, List<String>> usage = new LinkedHashMap<String, List<String>>();
+        for (Entry entry : entries) {
+            addUsage(usage, entry.fileName.getTagNames(), entry.templateName + " (file name)");
+            addUsage(usage, entry.template.getTagNames(), entry.templateName);
+        }
+        return usage;
+    }
+
+    private static void addUsage(Map<String, List<String>> usage, List<String> tags, String where) {
+        for (String tag : tags) {
+            List<String> list = usage.get(tag);
+            if (list == null) {
+                list = new ArrayList<String>();
+                usage.put(tag, list);
+            }
+            if (!list.contains(where)) {
+                list.add(where);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+/**
+ * An output stream that replaces the contents of a file only if they change.  The bytes written are compared with
+ * the existing file as they arrive, so neither the old nor the new contents are ever held in memory.  At the first
+ * difference, the matching part of the old file is copied to a temporary file next to it and the rest of the output
+ * follows; closing the stream then moves the temporary file over the old one.  A file whose contents are the same
+ * is not touched at all.
+ *
+ * @author default
+ */
+public class UpdatingFileOutputStream extends OutputSink.Output {
+
+    private final File file;
+    /** the existing file, while the output still matches it */
+    private InputStream old;
+    /** number of bytes that matched the existing file */
+    private long matched = 0;
+    private byte[] compareBuf = new byte[8192];
+    /** the replacement file, once the output differs */
+    private File temp;
+    private OutputStream out;
+    private boolean closed = false;
+
+    /** picks the names of the replacement files */
+    private static final Random random = new Random();
+
+    public UpdatingFileOutputStream(File file) throws IOException {
+        this.file = file;
+        if (file.isFile()) {
+            old = new BufferedInputStream(new FileInputStream(file));
+        }
+        else {
+            diverge();
+        }
+    }
+
+    /** returns true if the file was (or will be, on close) written */
+    public boolean isChanged() {
+        return temp != null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (out == null) {
+            int same = compare(b, off, len);
+            matched += same;
+            if (same == len) {
+                return;
+            }
+            diverge();
+            off += same;
+            len -= same;
+        }
+        out.write(b, off, len);
+    }
+
+    /** replaces the file if the output differs from it.  The output is complete, so the old file may be longer. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (out == null) {
+            boolean longer = old.read() >= 0;
+            old.close();
+            old = null;
+            if (!longer) {
+                return;
+            }
+            diverge();
+        }
+        out.close();
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** discards the output, leaving the file as it was */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (old != null) {
+                old.close();
+            }
+            if (out != null) {
+                out.close();
+            }
+        } catch (IOException ex) {
+            // nothing was changed, so there is nothing to report
+        }
+        if (temp != null) {
+            temp.delete();
+            temp = null;
+        }
+    }
+
+    /** returns the number of leading bytes that match the existing file */
+    private int compare(byte[] b, int off, int len) throws IOException {
+        if (compareBuf.length < len) {
+            compareBuf = new byte[len];
+        }
+        int read = 0;
+        while (read < len) {
+            int n = old.read(compareBuf, read, len - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        for (int i = 0; i < read; i++) {
+            if (compareBuf[i] != b[off + i]) {
+                return i;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * creates an empty, uniquely named file next to the output file.  File.createTempFile() would make it readable
+     * only by its owner, so the file is created with the default permissions instead, as the umask leaves them.
+     */
+    private File createTemp() throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        while (true) {
+            File f = new File(dir, "." + file.getName() + Long.toHexString(random.nextLong() & Long.MAX_VALUE) + ".tmp");
+            try {
+                Files.createFile(f.toPath());
+                return f;
+            } catch (FileAlreadyExistsException ex) {
+                // taken by another stream, so try another name
+            }
+        }
+    }
+
+    /** starts the replacement file with the bytes that matched so far */
+    private void diverge() throws IOException {
+        if (old != null) {
+            old.close();
+            old = null;
+        }
+        temp = createTemp();
+        // a replaced file keeps its permissions; a new one has the defaults it was created with
+        if (file.isFile()) {
+            try {
+                Files.setPosixFilePermissions(temp.toPath(), Files.getPosixFilePermissions(file.toPath()));
+            } catch (UnsupportedOperationException ex) {
+                // not a POSIX file system
+            }
+        }
+        out = new BufferedOutputStream(new FileOutputStream(temp), 8192);
+        if (matched > 0) {
+            InputStream is = new FileInputStream(file);
+            try {
+                byte[] buf = new byte[8192];
+                long left = matched;
+                while (left > 0) {
+                    int n = is.read(buf, 0, (int) Math.min(buf.length, left));
+                    if (n < 0) {
+                        break;
+                    }
+                    out.write(buf, 0, n);
+                    left -= n;
+                }
+            } finally {
+                is.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The layout of a struct on the wire, worked out once from the model so that every methods class can use it.  The
+ * fields of a struct are sent after those of the structs it extends, from the base struct down, so the layout covers
+ * the whole inheritance chain.  Sizes are of the fields only; every object is preceded by an
+ * {@link #OBJECT_HEADER_SIZE} byte header, and every message adds {@link #MESSAGE_OVERHEAD} bytes around its object.
+ * <p>
+ * A field has a fixed size if it is a number, bool, char or enum, or a fixed length array of one of those.  Every
+ * field up to the first one that is not fixed size is at a fixed offset.  The worst case size of a variable length
+ * array uses its MaxArrayLength, or the largest length its length prefix can hold if it has none.  A field that may
+ * hold a struct may hold any struct that extends it, so its worst case is that of the largest of them.
+ *
+ * @author default
+ */
+public final class WireLayout {
+
+    /** the null flag (1), series ID (8), type ID (4) and version (2) sent before the fields of an object */
+    public static final int OBJECT_HEADER_SIZE = 15;
+    /** the control string (4) and size (4) before the object of a message, and the checksum (4) after it */
+    public static final int MESSAGE_OVERHEAD = 12;
+    /** the size of a null object */
+    public static final int NULL_OBJECT_SIZE = 1;
+    /** the longest string, since strings have a 2 byte length */
+    public static final long MAX_STRING_LENGTH = 0xFFFF;
+    /** the longest array without LargeArray, since its length is 2 bytes */
+    public static final long MAX_ARRAY_LENGTH = 0xFFFF;
+    /** the longest array with LargeArray, since its length is 4 bytes */
+    public static final long MAX_LARGE_ARRAY_LENGTH = 0xFFFFFFFFL;
+    /** a worst case size for a struct that can hold any object, or itself, or that is too large for a long */
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    /** the struct */
+    public final StructInfo struct;
+    /** the structs whose fields are sent, from the base struct to this one */
+    public final List<StructInfo> chain;
+    /** the fields of the whole chain, in the order they are sent */
+    public final FieldInfo[] fields;
+    /** the size of each field, or -1 if it depends on the value */
+    public final int[] fixedSizes;
+    /** the offset of each field from the first field, or -1 if it follows a field that is not fixed size */
+    public final int[] offsets;
+    /** the number of bytes before the first field that is not fixed size */
+    public final int fixedPrefix;
+    /** true if every field is fixed size, so the fields always take fixedPrefix bytes */
+    public final boolean allFixed;
+    /** the variable length arrays that have no MaxArrayLength */
+    public final List<FieldInfo> unlimitedArrays;
+
+    /** the fewest bytes the fields can take */
+    public long minSize;
+    /** the most bytes the fields can take, or UNBOUNDED */
+    public long maxSize;
+    /** true if the struct can hold itself, directly or through other structs, so its size has no bound */
+    public boolean recursive;
+    private boolean sized;
+
+    private WireLayout(StructInfo struct, List<StructInfo> chain) {
+        this.struct = struct;
+        this.chain = Collections.unmodifiableList(new ArrayList<StructInfo>(chain));
+        ArrayList<FieldInfo> list = new ArrayList<FieldInfo>();
+        for (StructInfo st : chain) {
+            Collections.addAll(list, st.fields);
+        }
+        fields = list.toArray(new FieldInfo[list.size()]);
+        fixedSizes = new int[fields.length];
+        offsets = new int[fields.length];
+
+        ArrayList<FieldInfo> unlimited = new ArrayList<FieldInfo>();
+        int offset = 0;
+        boolean fixed = true;
+        for (int i = 0; i < fields.length; i++) {
+            fixedSizes[i] = getFixedSize(fields[i]);
+            offsets[i] = fixed ? offset : -1;
+            if (fixedSizes[i] < 0) {
+                fixed = false;
+            }
+            else if (fixed) {
+                offset += fixedSizes[i];
+            }
+            if (fields[i].isArray && fields[i].length < 0 && fields[i].maxArrayLength <= 0) {
+                unlimited.add(fields[i]);
+            }
+        }
+        fixedPrefix = offset;
+        allFixed = fixed;
+        unlimitedArrays = Collections.unmodifiableList(unlimited);
+    }
+
+    /** returns the offset of the named field from the first field, or -1 if it has no fixed offset or is not found */
+    public int getOffset(String fieldName) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].name.equals(fieldName)) {
+                return offsets[i];
+            }
+        }
+        return -1;
+    }
+
+    /** returns the most bytes a message with this struct as its object can take, or UNBOUNDED */
+    public long getMaxMessageSize() {
+        return add(maxSize, OBJECT_HEADER_SIZE + MESSAGE_OVERHEAD);
+    }
+
+    /** returns the fewest bytes a message with this struct as its object can take */
+    public long getMinMessageSize() {
+        return minSize + OBJECT_HEADER_SIZE + MESSAGE_OVERHEAD;
+    }
+
+    /** returns the size of a field if it is the same for every value, or else -1 */
+    public static int getFixedSize(FieldInfo f) {
+        TypeKind kind = TypeKind.of(f);
+        if (f.isMap || !kind.isFixedSize()) {
+            return -1;
+        }
+        if (f.isArray) {
+            return f.length < 0 ? -1 : f.length * kind.wireSize;
+        }
+        return kind.wireSize;
+    }
+
+    /**
+     * works out the layout of every struct in a checked set of MDMs and sets it on the struct.  A struct's sizes
+     * need those of every struct its fields may hold, so the structs are laid out with Tarjan's algorithm in an
+     * order that puts those first; structs that can hold each other are recursive.
+     */
+    public static void layOut(MDMInfo[] infos) throws Exception {
+        ArrayList<StructInfo> structs = new ArrayList<StructInfo>();
+        Map<StructInfo, Integer> index = new IdentityHashMap<StructInfo, Integer>();
+        for (MDMInfo info : infos) {
+            for (StructInfo st : info.structs) {
+                index.put(st, structs.size());
+                structs.add(st);
+                st.layout = new WireLayout(st, MDMInfo.getAllParents(infos, st));
+            }
+        }
+
+        // each struct depends on every struct that one of its fields may hold
+        int[][] edges = new int[structs.size()][];
+        for (int i = 0; i < edges.length; i++) {
+            LinkedHashSet<Integer> deps = new LinkedHashSet<Integer>();
+            for (FieldInfo f : structs.get(i).layout.fields) {
+                for (StructInfo candidate : getCandidates(infos, f)) {
+                    Integer dep = index.get(candidate);
+                    if (dep != null) {
+                        deps.add(dep);
+                    }
+                }
+            }
+            edges[i] = new int[deps.size()];
+            int j = 0;
+            for (int dep : deps) {
+                edges[i][j++] = dep;
+            }
+        }
+
+        for (int[] component : new DependencyGraph.Tarjan(edges).components) {
+            boolean recursive = component.length > 1;
+            for (int dep : edges[component[0]]) {
+                recursive |= dep == component[0];
+            }
+            for (int i : component) {
+                structs.get(i).layout.recursive = recursive;
+            }
+            for (int i : component) {
+                structs.get(i).layout.size(infos);
+            }
+        }
+    }
+
+    /** sets the sizes from the fields, once the structs the fields may hold have theirs */
+    private void size(MDMInfo[] infos) {
+        long min = 0;
+        long max = recursive ? UNBOUNDED : 0;
+        for (int i = 0; i < fields.length; i++) {
+            FieldInfo f = fields[i];
+            if (fixedSizes[i] >= 0) {
+                min += fixedSizes[i];
+                max = add(max, fixedSizes[i]);
+                continue;
+            }
+            if (f.isMap) {
+                max = UNBOUNDED;
+                continue;
+            }
+            long elementMin;
+            long elementMax;
+            TypeKind kind = TypeKind.of(f);
+            if (kind == TypeKind.STRING) {
+                elementMin = 2;
+                elementMax = 2 + MAX_STRING_LENGTH;
+            }
+            else if (kind == TypeKind.OBJECT) {
+                elementMin = f.isArray || f.isOptional ? NULL_OBJECT_SIZE : OBJECT_HEADER_SIZE;
+                elementMax = UNBOUNDED;
+            }
+            else if (kind == TypeKind.STRUCT) {
+                // a struct that is still being laid out is one this struct can hold, so it is recursive
+                long smallest = UNBOUNDED;
+                elementMax = 0;
+                for (StructInfo candidate : getCandidates(infos, f)) {
+                    WireLayout layout = candidate.layout;
+                    boolean done = layout != null && layout.sized;
+                    smallest = Math.min(smallest, done ? layout.minSize : 0);
+                    elementMax = Math.max(elementMax, done ? add(layout.maxSize, OBJECT_HEADER_SIZE) : UNBOUNDED);
+                }
+                if (smallest == UNBOUNDED) {
+                    smallest = 0;
+                }
+                elementMin = f.isArray || f.isOptional ? NULL_OBJECT_SIZE : OBJECT_HEADER_SIZE + smallest;
+            }
+            else {
+                elementMin = kind.wireSize;
+                elementMax = kind.wireSize;
+            }
+
+            if (!f.isArray) {
+                min += elementMin;
+                max = add(max, elementMax);
+            }
+            else if (f.length >= 0) {
+                min += f.length * elementMin;
+                max = add(max, multiply(f.length, elementMax));
+            }
+            else {
+                int prefix = f.isLargeArray ? 4 : 2;
+                long limit = f.isLargeArray ? MAX_LARGE_ARRAY_LENGTH : MAX_ARRAY_LENGTH;
+                if (f.maxArrayLength > 0) {
+                    limit = Math.min(limit, f.maxArrayLength);
+                }
+                min += prefix;
+                max = add(max, add(prefix, multiply(limit, elementMax)));
+            }
+        }
+        minSize = min;
+        maxSize = max;
+        sized = true;
+    }
+
+    /** returns the structs that a struct field may hold: its type and every struct that extends it */
+    static List<StructInfo> getCandidates(MDMInfo[] infos, FieldInfo f) {
+        ArrayList<StructInfo> list = new ArrayList<StructInfo>();
+        if (TypeKind.of(f) != TypeKind.STRUCT) {
+            return list;
+        }
+        StructInfo st = f.structType != null ? f.structType : MDMInfo.getStructByName(infos, f);
+        if (st != null) {
+            list.add(st);
+            list.addAll(MDMInfo.getAllChildren(infos, st));
+        }
+        return list;
+    }
+
+    /** adds two sizes, giving UNBOUNDED if either is or if the sum is too large */
+    public static long add(long a, long b) {
+        if (a == UNBOUNDED || b == UNBOUNDED || a > UNBOUNDED - b) {
+            return UNBOUNDED;
+        }
+        return a + b;
+    }
+
+    /** multiplies a count and a size, giving UNBOUNDED if the size is or if the product is too large */
+    public static long multiply(long count, long size) {
+        if (count == 0) {
+            return 0;
+        }
+        if (size == UNBOUNDED || size > UNBOUNDED / count) {
+            return UNBOUNDED;
+        }
+        return count * size;
+    }
+
+    @Override
+    public String toString() {
+        return struct.seriesName + "/" + struct.name + ": prefix " + fixedPrefix + (allFixed ? " (all fixed)" : "")
+                + ", min " + minSize + ", max " + (maxSize == UNBOUNDED ? "unbounded" : String.valueOf(maxSize));
+    }
+}
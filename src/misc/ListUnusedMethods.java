@@ -10,14 +10,10 @@
 package misc;
 
 import avtas.lmcp.lmcpgen.JavaMethods;
-import avtas.lmcp.lmcpgen.LmcpGen;
-import java.io.BufferedReader;
+import avtas.lmcp.lmcpgen.TagTable;
+import avtas.lmcp.lmcpgen.TemplateListing;
 import java.io.File;
-import java.io.FileReader;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -31,32 +27,12 @@ public class ListUnusedMethods {
     
     public static ArrayList<String> listUnusedMethods(Class methodsClass, File templateFile) {
         try {
-            List<Method> methods = Arrays.asList(methodsClass.getDeclaredMethods());
-            ArrayList<String> usedMethods = new ArrayList<String>();
-            
-            String str = LmcpGen.readFile(templateFile.toURI().toURL());
-            usedMethods.addAll(getMethodNames(str));
-            
-            BufferedReader reader = new BufferedReader(new FileReader(templateFile));
-            while(reader.ready()) {
-                String line = reader.readLine();
-                if (line.trim().startsWith("#") || line.trim().isEmpty())
-                    continue;
-                String[] splits = line.split("\\s+");
-                if (splits.length >= 2) {
-                    File newFile = new File(templateFile.getParentFile(), splits[1]);
-                    str = LmcpGen.readFile(newFile.toURI().toURL());
-                    usedMethods.addAll(getMethodNames(str));
-                } 
-            }
-            
+            TemplateListing listing = TemplateListing.read(templateFile.toURI().toURL());
             ArrayList<String> unusedMethods = new ArrayList<String>();
-            for (Method m : methods) {
-                if (!usedMethods.contains(m.getName())) {
-                    System.out.println(m.getName());
-                    unusedMethods.add(m.getName());
-                }
-            } 
+            for (String name : TagTable.getUnusedTags(methodsClass, listing)) {
+                System.out.println(name);
+                unusedMethods.add(name);
+            }
             return unusedMethods;
 
         } catch (Exception ex) {
@@ -66,20 +42,6 @@ public class ListUnusedMethods {
         
     }
 
-    static ArrayList<String> getMethodNames(String fileStr) {
-        ArrayList<String> retList = new ArrayList<String>();
-        try {
-            String[] splits = LmcpGen.splitString(fileStr);
-            while (!splits[1].isEmpty()) {
-                retList.add(splits[1]);
-                splits = LmcpGen.splitString(splits[2]);
-            }
-        } catch (Exception ex) {
-            Logger.getLogger(ListUnusedMethods.class.getName()).log(Level.SEVERE, null, ex);
-        }
-        return retList;
-    }
-
     public static void main(String[] args) {
         listUnusedMethods(JavaMethods.class, new File("./src/templates/java.tl"));
     }
@@ -0,0 +1,80 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+
+/**
+ * Checks that MDMCorpusGenerator makes inheritance chains: with every struct asked to extend another, the corpus has
+ * Extends attributes, no chain is longer than the inheritance depth, and the longest one reaches it.  The corpus is
+ * then generated, so that the MDMs are also checked.  Run it with "ant selftest".
+ *
+ * @author default
+ */
+public class CorpusInheritanceTest {
+
+    public static void main(String[] args) throws Exception {
+        for (int depth = 1; depth <= 3; depth++) {
+            MDMCorpusGenerator corpus = new MDMCorpusGenerator();
+            corpus.seed = 7;
+            corpus.structCount = 60;
+            corpus.seriesCount = 3;
+            corpus.extendsFraction = 1.0;
+            corpus.inheritanceDepth = depth;
+            MDMInfo[] infos = corpus.generate();
+
+            HashMap<String, StructInfo> structs = new HashMap<String, StructInfo>();
+            for (MDMInfo info : infos) {
+                for (StructInfo st : info.structs) {
+                    structs.put(st.seriesName + "." + st.name, st);
+                }
+            }
+            int extending = 0;
+            int longest = 0;
+            for (StructInfo st : structs.values()) {
+                int chain = 0;
+                for (StructInfo s = st; !s.extends_name.isEmpty(); chain++) {
+                    s = structs.get(s.extends_series + "." + s.extends_name);
+                    check(s != null, st.name + " extends a struct that is not in the corpus");
+                    check(chain < depth, st.name + " has more than " + depth + " parents");
+                }
+                if (chain > 0) {
+                    extending++;
+                }
+                longest = Math.max(longest, chain);
+            }
+            check(extending > 0, "no struct extends another at depth " + depth);
+            check(longest == depth, "the longest chain has " + longest + " parents, not " + depth);
+
+            File dir = Files.createTempDirectory("lmcpgen-corpus").toFile();
+            try {
+                LmcpGenerator generator = new LmcpGenerator();
+                for (File mdm : corpus.write(dir)) {
+                    generator.addMDM(mdm);
+                }
+                generator.addTarget("java", new MemorySink()).generate();
+            } finally {
+                for (File f : dir.listFiles()) {
+                    f.delete();
+                }
+                dir.delete();
+            }
+        }
+        System.out.println("CorpusInheritanceTest ok");
+    }
+
+    private static void check(boolean condition, String message) throws Exception {
+        if (!condition) {
+            throw new Exception("CorpusInheritanceTest failed: " + message);
+        }
+    }
+}
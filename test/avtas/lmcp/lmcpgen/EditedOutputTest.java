@@ -0,0 +1,92 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Checks that incremental generation restores generated files that were edited or deleted since they were written,
+ * and skips all of the others.  Run it with "ant selftest".
+ *
+ * @author default
+ */
+public class EditedOutputTest {
+
+    public static void main(String[] args) throws Exception {
+        File root = Files.createTempDirectory("lmcpgen-edited").toFile();
+        try {
+            MDMCorpusGenerator corpus = new MDMCorpusGenerator();
+            corpus.structCount = 10;
+            File[] mdms = corpus.write(new File(root, "mdm"));
+            File out = new File(root, "out");
+
+            LmcpGen.Target first = generate(mdms, out);
+            check(first.skipped == 0, "the first run skipped files");
+            LmcpGen.Target again = generate(mdms, out);
+            check(again.skipped == again.files, "an unchanged run generated files");
+
+            File edited = null;
+            File deleted = null;
+            for (String path : GenerationManifest.load(out, "java").getPaths()) {
+                if (path.endsWith(".java")) {
+                    if (edited == null) {
+                        edited = new File(out, path);
+                    }
+                    else if (deleted == null) {
+                        deleted = new File(out, path);
+                    }
+                }
+            }
+            byte[] original = Files.readAllBytes(edited.toPath());
+            Files.write(edited.toPath(), "// edited by hand\n".getBytes("UTF-8"));
+            check(deleted.delete(), "could not delete " + deleted);
+
+            LmcpGen.Target restored = generate(mdms, out);
+            check(restored.skipped == restored.files - 2, "expected 2 files to be generated, not "
+                    + (restored.files - restored.skipped));
+            check(Arrays.equals(Files.readAllBytes(edited.toPath()), original), "the edited file was not restored");
+            check(deleted.isFile(), "the deleted file was not restored");
+
+            LmcpGen.Target last = generate(mdms, out);
+            check(last.skipped == last.files, "the restored files were not recorded");
+
+            System.out.println("EditedOutputTest ok");
+        } finally {
+            delete(root);
+        }
+    }
+
+    private static LmcpGen.Target generate(File[] mdms, File dir) throws Exception {
+        LmcpGenerator generator = new LmcpGenerator().setThreads(2);
+        for (File mdm : mdms) {
+            generator.addMDM(mdm);
+        }
+        generator.addTarget("java", new DirectorySink(dir)).generate();
+        return generator.getTargets().get(0);
+    }
+
+    private static void check(boolean condition, String message) throws Exception {
+        if (!condition) {
+            throw new Exception("EditedOutputTest failed: " + message);
+        }
+    }
+
+    private static void delete(File f) {
+        File[] files = f.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        f.delete();
+    }
+}
@@ -0,0 +1,116 @@
+// ===============================================================================
+// Authors: AFRL/RQQA
+// Organization: Air Force Research Laboratory, Aerospace Systems Directorate, Power and Control Division
+//
+// Copyright (c) 2017 Government of the United State of America, as represented by
+// the Secretary of the Air Force.  No copyright is claimed in the United States under
+// Title 17, U.S. Code.  All Other Rights Reserved.
+// ===============================================================================
+
+package avtas.lmcp.lmcpgen;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Checks that targets generated into one output directory keep separate manifests: generating a second target, one
+ * after the other or at the same time, leaves the files of the first alone, and a target that generates fewer files
+ * only deletes its own.  Run it with "ant selftest".
+ *
+ * @author default
+ */
+public class SharedOutputDirTest {
+
+    public static void main(String[] args) throws Exception {
+        File root = Files.createTempDirectory("lmcpgen-shared").toFile();
+        try {
+            MDMCorpusGenerator corpus = new MDMCorpusGenerator();
+            corpus.structCount = 20;
+            File[] mdms = corpus.write(new File(root, "mdm"));
+            File shared = new File(root, "shared");
+
+            // one target after the other
+            generate(mdms, shared, "java");
+            Set<String> java = listFiles(shared);
+            generate(mdms, shared, "xsd");
+            Set<String> both = listFiles(shared);
+            check(both.containsAll(java), "generating xsd deleted java files");
+            check(both.size() > java.size(), "xsd wrote no files");
+            check(new File(shared, GenerationManifest.getFileName("java")).isFile()
+                    && new File(shared, GenerationManifest.getFileName("xsd")).isFile(), "each target has a manifest");
+
+            // generating java again from a smaller model deletes only java files
+            corpus.structCount = 10;
+            File[] fewer = corpus.write(new File(root, "fewer"));
+            generate(fewer, shared, "java");
+            Set<String> after = listFiles(shared);
+            Set<String> xsd = new TreeSet<String>(both);
+            xsd.removeAll(java);
+            check(after.containsAll(xsd), "generating java deleted xsd files");
+            check(after.size() < both.size(), "stale java files were not deleted");
+
+            // both targets at the same time
+            File parallel = new File(root, "parallel");
+            new LmcpGenerator().setThreads(4).addMDM(mdms[0]).addMDM(mdms[1])
+                    .addTarget("java", new DirectorySink(parallel)).addTarget("xsd", new DirectorySink(parallel))
+                    .generate();
+            check(listFiles(parallel).equals(both), "parallel targets differ from sequential ones");
+            for (String target : new String[]{"java", "xsd"}) {
+                Set<String> listed = GenerationManifest.load(parallel, target).getPaths();
+                check(!listed.isEmpty() && both.containsAll(listed), "the " + target + " manifest is wrong");
+            }
+
+            System.out.println("SharedOutputDirTest ok");
+        } finally {
+            delete(root);
+        }
+    }
+
+    private static void generate(File[] mdms, File dir, String target) throws Exception {
+        LmcpGenerator generator = new LmcpGenerator().setThreads(2);
+        for (File mdm : mdms) {
+            generator.addMDM(mdm);
+        }
+        generator.addTarget(target, new DirectorySink(dir)).generate();
+    }
+
+    /** returns the paths of the files under the directory, including the manifests */
+    private static Set<String> listFiles(File dir) {
+        TreeSet<String> paths = new TreeSet<String>();
+        addFiles(dir, "", paths);
+        return paths;
+    }
+
+    private static void addFiles(File dir, String prefix, Set<String> paths) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            if (f.isDirectory()) {
+                addFiles(f, prefix + f.getName() + "/", paths);
+            }
+            else {
+                paths.add(prefix + f.getName());
+            }
+        }
+    }
+
+    private static void check(boolean condition, String message) throws Exception {
+        if (!condition) {
+            throw new Exception("SharedOutputDirTest failed: " + message);
+        }
+    }
+
+    private static void delete(File f) {
+        File[] files = f.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        f.delete();
+    }
+}